@@ -0,0 +1,199 @@
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks for the hot paths of the BattleSweeper {@link Grid}.
+ * Each benchmark runs over board sizes from 5x5 to 4096x4096. Run {@link #main(String[])}
+ * to include the GC profiler, which reports allocation rates next to the timings.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GridBenchmark {
+    private static final int PROBES = 1024;  // Coordinates visited by the per-cell benchmarks
+    private static final double MINE_DENSITY = 0.15;  // Share of cells holding mines
+    private static final int SHIPS = 3;  // Ships placed on the grid, as in GameManager
+
+    @Param({"5", "64", "512", "4096"})
+    private int size;
+
+    private Grid<GameObject> grid;
+    private Player player;
+    private int[] xs;
+    private int[] ys;
+    private int mines;
+    private long seed;
+    private Ship ship;
+    private GridRenderer renderer;
+    private PrintStream nullSink;
+    private GridSnapshot snapshot;
+    private ScriptMoveSource script;
+    private Grid<GameObject> targetGrid;  // Half the probes revealed, for the shot filter
+    private int[] candidateXs;
+    private int[] candidateYs;
+
+    /**
+     * Builds a mined grid with a few ships and a set of random coordinates to probe.
+     */
+    @Setup
+    public void setUp() {
+        final SplittableRandom random = new SplittableRandom(42L);
+
+        grid = new Grid<>(size);
+        mines = (int) (size * size * MINE_DENSITY);
+        grid.placeRandomMines(mines, 42L);
+        for (int placed = 0; placed < SHIPS; ) {
+            final int x = random.nextInt(size);
+            final int y = random.nextInt(size);
+            if (grid.getCell(x, y).getValue() == null) {
+                grid.setCell(x, y, new Ship());
+                placed++;
+            }
+        }
+
+        xs = new int[PROBES];
+        ys = new int[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            xs[i] = random.nextInt(size);
+            ys[i] = random.nextInt(size);
+        }
+
+        player = new Player("Benchmark", size);
+        ship = new Ship();
+        renderer = new GridRenderer();
+        nullSink = new PrintStream(OutputStream.nullOutputStream());
+        snapshot = grid.snapshot();
+
+        final StringBuilder moves = new StringBuilder("# Probe coordinates, one shot per line\n");
+        for (int i = 0; i < PROBES; i++) {
+            moves.append(xs[i]).append(' ').append(ys[i]).append('\n');
+        }
+        script = new ScriptMoveSource(moves.toString().getBytes());
+        candidateXs = new int[PROBES];
+        candidateYs = new int[PROBES];
+        targetGrid = new Grid<>(size);
+        for (int i = 0; i < PROBES; i += 2) {
+            targetGrid.revealAt(xs[i] * size + ys[i]);  // So the filter has something to drop
+        }
+    }
+
+    @Benchmark
+    public Grid<GameObject> construct() {
+        return new Grid<>(size);
+    }
+
+    @Benchmark
+    public void getCell(final Blackhole blackhole) {
+        for (int i = 0; i < PROBES; i++) {
+            blackhole.consume(grid.getCell(xs[i], ys[i]).getValue());
+        }
+    }
+
+    @Benchmark
+    public void setCell() {
+        // Put a ship on each empty probe and take it off again, so the board is unchanged afterwards
+        for (int i = 0; i < PROBES; i++) {
+            if (grid.getCell(xs[i], ys[i]).getValue() == null) {
+                grid.setCell(xs[i], ys[i], ship);
+                grid.setCell(xs[i], ys[i], null);
+            }
+        }
+    }
+
+    @Benchmark
+    public int countNearbyMines() {
+        int total = 0;
+        for (int i = 0; i < PROBES; i++) {
+            total += grid.countNearbyMines(xs[i], ys[i]);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public Grid<GameObject> resetAndPlaceRandomMines() {
+        grid.reset();
+        grid.placeRandomMines(mines, seed++);
+        return grid;
+    }
+
+    @Benchmark
+    public Grid<GameObject> reset() {
+        grid.reset();
+        return grid;
+    }
+
+    @Benchmark
+    public void display() {
+        renderer.render(grid, true, nullSink);
+    }
+
+    @Benchmark
+    public void snapshotAfterShot(final Blackhole blackhole) {
+        // Fork the same snapshot once per probe, as a search branching on candidate shots does
+        for (int i = 0; i < PROBES; i++) {
+            blackhole.consume(snapshot.afterShot(xs[i] * size + ys[i]));
+        }
+    }
+
+    @Benchmark
+    public int scriptedMoves() {
+        // Read every probe back from an in-memory script, as a scripted regression game does
+        int total = 0;
+        script.rewind();
+        for (int i = 0; i < PROBES; i++) {
+            total += script.nextInt() ^ script.nextInt();
+        }
+        return total;
+    }
+
+    @Benchmark
+    public int filterShots() {
+        // Validate every probe as a candidate shot in one batch, as an AI or server screening moves does
+        System.arraycopy(xs, 0, candidateXs, 0, PROBES);
+        System.arraycopy(ys, 0, candidateYs, 0, PROBES);
+        return targetGrid.shotValidator().filterValid(candidateXs, candidateYs, PROBES);
+    }
+
+    @Benchmark
+    public boolean allShipsSunk() {
+        return player.allShipsSunk(grid);
+    }
+
+    /**
+     * Runs every benchmark in this class with the GC profiler attached.
+     *
+     * @param args Ignored.
+     * @throws RunnerException If JMH fails to run the benchmarks.
+     */
+    public static void main(final String[] args) throws RunnerException {
+        final Options options = new OptionsBuilder()
+                .include(GridBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+
+        new Runner(options).run();
+    }
+}
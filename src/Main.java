@@ -1,10 +1,18 @@
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Scanner;
 
 public class Main {
 
+    private static final int EVENT_CAPACITY = 1024;  // Game events the log and statistics may fall behind by
+    private static final String LOG_OPTION = "--log";  // Followed by a file to append BattleSweeper's play-by-play to
+
     public static void main(final String[] args) throws Exception {
 
         final Scanner sc;
+        final PrintStream eventLog = openEventLog(args);  // Null unless a log file was given
 
         boolean stillPlaying = true;
         sc = new Scanner(System.in);
@@ -17,7 +25,10 @@ public class Main {
             System.out.println("Type M to play BattleSweeper");
             System.out.println("Type Q to quit:");
 
-            String input = sc.nextLine();
+            String input = sc.nextLine().trim();
+            if (input.isEmpty()) {
+                continue;  // The rest of a line a game has already read from
+            }
 
             switch (input.toUpperCase()) {
 
@@ -35,8 +46,19 @@ public class Main {
 
                 case "M" -> {
                     final GameManager gameManager;
-                    gameManager = getGameManager();
-                    gameManager.startGame();
+                    gameManager = GameManager.forHumans(sc, System.out);  // Shares this scanner, not a second reader
+
+                    // The statistics, and the play-by-play if it goes to a file, are kept on their own threads
+                    final GameStatistics statistics = new GameStatistics();
+                    try (GameEventBus events = new GameEventBus(EVENT_CAPACITY)) {
+                        if (eventLog != null) {
+                            events.subscribe("battlesweeper-log", new GameEventLog(eventLog));
+                        }
+                        events.subscribe("battlesweeper-statistics", statistics);
+                        gameManager.setEventBus(events);
+                        gameManager.startGame();
+                    }
+                    System.out.print(statistics);
                 }
 
                 case "Q" -> stillPlaying = false;
@@ -44,21 +66,26 @@ public class Main {
                 default -> System.out.println("Invalid input, try again.");
             }
         }
+        if (eventLog != null) {
+            eventLog.close();
+        }
         System.out.println("Thank you for playing!");
     }
 
-    private static GameManager getGameManager() {
-
-        final int gridSize = 5;
-        final     Player player1;
-        final     Player player2;
-        final     GameManager gameManager;
-
-        // Create players & game instance
-        player1     = new HumanPlayer("Player 1", gridSize);
-        player2     = new HumanPlayer("Player 2", gridSize);
-        gameManager = new GameManager(player1, player2);
-
-        return gameManager;
+    /**
+     * Opens the file named after {@code --log} on the command line, so BattleSweeper's play-by-play
+     * is written there instead of between the prompts on the console.
+     *
+     * @param args The command-line arguments.
+     * @return The stream to append the log to, or null if no log file was given.
+     * @throws FileNotFoundException If the file cannot be opened for writing.
+     */
+    private static PrintStream openEventLog(final String[] args) throws FileNotFoundException {
+        for (int i = 0; i + 1 < args.length; i++) {
+            if (LOG_OPTION.equals(args[i])) {
+                return new PrintStream(new FileOutputStream(args[i + 1], true), false, StandardCharsets.UTF_8);
+            }
+        }
+        return null;
     }
 }
@@ -1,9 +1,46 @@
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
 /**
  * Represents a player controlled by artificial intelligence (AI).
- * This class extends {@link Player} and overrides the {@link Player#makeMove(Grid)} method
+ * This class extends {@link Player} and overrides the {@link Player#makeMove(Board)} method
  * to allow the AI to make moves on the game grid.
+ * <p>
+ * The AI only looks at what has been revealed on the opponent's grid. Every revealed empty cell
+ * gives a mine hint for its hidden neighbors, and hits make the cells around them more likely to
+ * hold more ship. From these it scores every hidden cell by the chance of a ship against the chance
+ * of a mine and fires at the best one it finds within its time budget. Part of the budget is always
+ * kept for scoring, and a uniformly random sample of hidden cells is scored however little time is
+ * left, so a short budget never turns into firing along the first rows. On large boards the scoring
+ * is split across cores with fork/join.
+ * <p>
+ * If it is told the lengths of the opponent's ships, the AI also weighs each cell by how many legal
+ * placements of those ships cover it, read from a {@link PlacementIndex} of the opponent's grid.
+ * <p>
+ * Before scoring, a {@link MineSolver} works out which hidden cells the hints prove to be mines or safe;
+ * those cells are scored as certain rather than by the share of mines around them.
  */
 class AIPlayer extends Player {
+    private static final int DEFAULT_EXPECTED_MINES = 3;  // Mines the AI assumes each grid holds
+    private static final long DEFAULT_TIME_BUDGET_NANOS = 500_000L;  // Half a millisecond per move
+    private static final int PARALLEL_THRESHOLD = 1 << 16;  // Cells before scoring is split across cores
+    private static final int CELLS_PER_TASK = 1 << 14;  // Roughly how many cells each fork/join task scores
+    private static final double SCORING_SHARE = 0.5;  // Share of each move's time budget kept for scoring cells
+    private static final int SAMPLE_DRAWS = 256;  // Random cells scored on every move, whatever the time
+    private static final float MINE_PENALTY = 4.0f;  // How much worse a mine is than a ship hit is good
+    private static final float HIT_NEIGHBOR_BONUS = 0.5f;  // Extra ship weight next to a revealed hit
+    private static final float JITTER = 1.0e-4f;  // Scale of the noise used to break ties between cells
+
+    private final int expectedMines;
+    private final long timeBudgetNanos;
+    private final long seed;
+    private final MineSolver solver;  // Settles what the hints prove, in the time left before scoring
+    private float[] hintDensity;  // Per cell: share of its hidden neighbors that must be mines, or -1
+    private float[] shipWeight;  // Per cell: chance of a ship from placement coverage, when the fleet is known
+    private final int[] sampleCells = new int[SAMPLE_DRAWS];  // Cells drawn for this move's random sample
+    private int[] opponentFleet;  // Lengths of the opponent's ships, or null if unknown
+    private int moveCount;
 
     /**
      * Constructs an {@code AIPlayer} object with a given name and grid size.
@@ -14,19 +51,446 @@ class AIPlayer extends Player {
      * @param gridSize The size of the game grid.
      */
     public AIPlayer(final String name, final int gridSize) {
+        this(name, gridSize, DEFAULT_EXPECTED_MINES, DEFAULT_TIME_BUDGET_NANOS, System.nanoTime());
+    }
+
+    /**
+     * Constructs an {@code AIPlayer} with explicit tuning.
+     *
+     * @param name            The name of the AI player.
+     * @param gridSize        The size of the game grid.
+     * @param expectedMines   How many mines the AI assumes the opponent's grid holds.
+     * @param timeBudgetNanos How long the AI may spend choosing one move.
+     * @param seed            The seed for ship placement and tie-breaking.
+     */
+    public AIPlayer(final String name,
+                    final int gridSize,
+                    final int expectedMines,
+                    final long timeBudgetNanos,
+                    final long seed) {
+
         super(name, gridSize);
+        this.expectedMines = expectedMines;
+        this.timeBudgetNanos = timeBudgetNanos;
+        this.seed = seed;
+        this.solver = new MineSolver(timeBudgetNanos);
     }
 
     /**
      * Makes a move on the opponent's grid by the AI player.
-     * The AI generates a random move. This is a simplified version, and
-     * more complex AI logic could be implemented here for smarter decision-making.
+     * The AI fires at the hidden cell with the best ship-versus-mine score.
      *
-     * @param opponentGrid The opponent's game grid where the move will be made.
+     * @param opponentBoard The opponent's game grid where the move will be made.
+     * @return The result of the move.
      * @throws GameException If an error occurs while making the move.
+     * @throws IllegalArgumentException If the board is not a {@link Grid}; the AI scores every cell of the board.
+     */
+    @Override
+    public MoveResult makeMove(final Board<GameObject> opponentBoard) throws GameException {
+        if (!(opponentBoard instanceof Grid<GameObject> opponentGrid)) {
+            throw new IllegalArgumentException(name + " can only play on a grid, not a "
+                                               + opponentBoard.getClass().getSimpleName());
+        }
+        out.println(name + " is making a move...");
+
+        final int target = chooseTarget(opponentGrid);
+        if (target < 0) {
+            out.println(name + " has no cells left to target.");
+            return MoveResult.REPEAT;
+        }
+
+        final int x = target / opponentGrid.getSize();
+        final int y = target % opponentGrid.getSize();
+        out.println(name + " fires at (" + x + ", " + y + ").");
+        return fireAt(opponentGrid, x, y);
+    }
+
+    /**
+     * Places ships on the AI's own grid at random empty cells chosen from the AI's seed.
+     *
+     * @param count The number of ships to place.
+     * @throws IllegalArgumentException If there are not enough empty cells.
+     */
+    public void placeShipsRandomly(final int count) {
+        placeShipsRandomly(count, new SplittableRandom(seed));
+    }
+
+    /**
+     * Places a fleet of multi-cell ships on the AI's own grid at random legal placements chosen from the AI's seed.
+     *
+     * @param lengths The length of each ship.
+     * @return The placed fleet.
+     * @throws IllegalArgumentException If the ships do not all fit.
+     */
+    public Fleet placeFleetRandomly(final int... lengths) {
+        return placeFleetRandomly(lengths, new SplittableRandom(seed));
+    }
+
+    /**
+     * Tells the AI the lengths of the opponent's ships, so it can aim where they fit.
+     *
+     * @param lengths The length of each of the opponent's ships, or null to forget them.
+     */
+    void setOpponentFleet(final int... lengths) {
+        this.opponentFleet = lengths == null ? null : lengths.clone();
+    }
+
+    /**
+     * The AI always places its own ships.
+     *
+     * @param count The number of ships to place.
+     * @return {@code true}.
+     */
+    @Override
+    public boolean placeShipsAutomatically(final int count) {
+        placeShipsRandomly(count);
+        return true;
+    }
+
+    /**
+     * Picks the hidden cell of the opponent's grid with the best score.
+     * The first pass over the hints, the placement weights and the solver share the part of the time
+     * budget not kept for scoring; whatever they leave of it is added to the scoring time.
+     *
+     * @param opponentGrid The opponent's game grid.
+     * @return The flat index of the chosen cell, or -1 if every cell is revealed.
      */
-    public void makeMove(final Grid<GameObject> opponentGrid) throws GameException {
-        // Generate random moves for the AI player (simplified logic)
-        System.out.println(name + " is making a move...");
+    int chooseTarget(final Grid<GameObject> opponentGrid) {
+        final long start = System.nanoTime();
+        final long deadline = start + timeBudgetNanos;
+        final long scoringStart = deadline - (long) (timeBudgetNanos * SCORING_SHARE);
+        final int size = opponentGrid.getSize();
+        final int cellCount = size * size;
+
+        if (hintDensity == null || hintDensity.length != cellCount) {
+            hintDensity = new float[cellCount];
+        }
+
+        // First pass: the mine share implied by every revealed hint, plus what is still hidden.
+        // It stops when scoring is due; the base rates are then estimated from the rows it reached.
+        int hidden = 0;
+        int knownMines = 0;
+        int rows = 0;
+        for (; rows < size && (rows == 0 || System.nanoTime() < scoringStart); rows++) {
+            for (int i = rows * size; i < (rows + 1) * size; i++) {
+                if (!opponentGrid.isRevealedAt(i)) {
+                    hidden++;
+                } else if (opponentGrid.isMineAt(i)) {
+                    knownMines++;
+                }
+                hintDensity[i] = hintAt(opponentGrid, i);
+            }
+        }
+        final boolean complete = rows == size;
+        if (hidden == 0 && complete) {
+            return -1;
+        }
+
+        // The placement weights and the solver look at the whole board, so they are skipped when the pass was cut
+        // short, and the solver only gets what is left before scoring
+        final float seenHidden = (float) Math.max(hidden, 1) * size / rows;
+        final float mineBase = Math.max(expectedMines - knownMines, 0) / seenHidden;
+        final float shipBase = opponentGrid.getRemainingShips() / seenHidden;
+        final float[] weights = opponentFleet != null && complete && System.nanoTime() < scoringStart
+                                ? placementWeights(opponentGrid, shipBase) : null;
+        final MineSolver.Solution solution = complete && System.nanoTime() < scoringStart
+                                             ? solver.solve(opponentGrid, scoringStart) : null;
+
+        // A row can only be scanned once the hints of the row below it are known
+        final int scannedRows = complete ? size : rows - 1;
+        final long salt = seed + moveCount++;
+        final ScoreTask task = new ScoreTask(opponentGrid, hintDensity, rows, weights, solution, mineBase, shipBase,
+                                             salt, deadline, 0, scannedRows);
+        final SplittableRandom random = new SplittableRandom(salt);
+        for (int n = 0; n < SAMPLE_DRAWS; n++) {
+            sampleCells[n] = random.nextInt(cellCount);
+        }
+        final int candidates = opponentGrid.shotValidator().filterValid(sampleCells, SAMPLE_DRAWS, size);
+        final Best sampled = task.scoreCells(sampleCells, candidates);
+        final Best scanned = cellCount >= PARALLEL_THRESHOLD ? ForkJoinPool.commonPool().invoke(task) : task.compute();
+        final Best best = scanned.score >= sampled.score ? scanned : sampled;
+        if (best.index >= 0) {
+            return best.index;
+        }
+
+        // Nothing hidden was drawn or reached in time, so take the first hidden cell
+        for (int i = 0; i < cellCount; i++) {
+            if (!opponentGrid.isRevealedAt(i)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Spreads the chance of a ship over the hidden cells in proportion to how many legal placements
+     * of the opponent's ships cover each one. A hidden cell no ship can reach gets no weight at all.
+     *
+     * @param grid     The opponent's grid.
+     * @param shipBase The average chance of a ship in a hidden cell.
+     * @return The chance of a ship per cell, by flat index.
+     */
+    private float[] placementWeights(final Grid<GameObject> grid,
+                                     final float shipBase) {
+
+        final int cellCount = grid.getSize() * grid.getSize();
+        final PlacementIndex index = PlacementIndex.forTargeting(grid);
+        final int[] covered = new int[cellCount];
+
+        for (final int length : opponentFleet) {
+            final int[] counts = index.coverage(length);
+            for (int i = 0; i < cellCount; i++) {
+                covered[i] += counts[i];
+            }
+        }
+
+        long total = 0;
+        int hidden = 0;
+        for (int i = 0; i < cellCount; i++) {
+            if (!grid.isRevealedAt(i)) {
+                total += covered[i];
+                hidden++;
+            }
+        }
+
+        if (shipWeight == null || shipWeight.length != cellCount) {
+            shipWeight = new float[cellCount];
+        }
+        final float scale = total == 0 ? 0.0f : shipBase * hidden / total;
+        for (int i = 0; i < cellCount; i++) {
+            shipWeight[i] = covered[i] * scale;
+        }
+        return shipWeight;
+    }
+
+    /**
+     * Works out what share of a cell's hidden neighbors must be mines, if the cell is a revealed hint.
+     *
+     * @param grid  The grid being scored.
+     * @param index The flat index of the cell.
+     * @return The share of hidden neighbors holding mines, or -1 if the cell is not a revealed empty cell
+     *         or has no hidden neighbors.
+     */
+    private static float hintAt(final Grid<GameObject> grid,
+                                final int index) {
+
+        if (!grid.isRevealedAt(index) || grid.isMineAt(index) || !grid.isEmptyAt(index)) {
+            return -1.0f;
+        }
+        return hintShare(grid, index);
+    }
+
+    /**
+     * Works out what share of a revealed empty cell's hidden neighbors must be mines.
+     *
+     * @param grid  The grid being scored.
+     * @param index The flat index of a revealed empty cell.
+     * @return The share of hidden neighbors holding mines, or -1 if it has no hidden neighbors.
+     */
+    private static float hintShare(final Grid<GameObject> grid,
+                                   final int index) {
+
+        final int size = grid.getSize();
+        final int x = index / size;
+        final int y = index - x * size;
+        int hiddenNeighbors = 0;
+        int revealedMines = 0;
+
+        for (int i = Math.max(x - 1, 0); i <= Math.min(x + 1, size - 1); i++) {
+            for (int j = Math.max(y - 1, 0); j <= Math.min(y + 1, size - 1); j++) {
+                final int neighbor = i * size + j;
+
+                if (!grid.isRevealedAt(neighbor)) {
+                    hiddenNeighbors++;
+                } else if (grid.isMineAt(neighbor)) {
+                    revealedMines++;
+                }
+            }
+        }
+        if (hiddenNeighbors == 0) {
+            return -1.0f;
+        }
+        return (grid.nearbyMinesAt(index) - revealedMines) / (float) hiddenNeighbors;
+    }
+
+    /**
+     * The best cell found by a scoring task.
+     */
+    private static final class Best {
+        private int index = -1;
+        private float score = Float.NEGATIVE_INFINITY;
+    }
+
+    /**
+     * Scores the hidden cells in a band of rows, splitting the band when it is large.
+     */
+    @SuppressWarnings("serial")  // Fork/join tasks are never serialized
+    private static final class ScoreTask extends RecursiveTask<Best> {
+        private final Grid<GameObject> grid;
+        private final float[] hintDensity;
+        private final int hintRows;  // Rows of hintDensity filled in this move; lower hints are worked out as needed
+        private final float[] shipWeight;  // Chance of a ship per cell, or null to use shipBase everywhere
+        private final MineSolver.Solution solution;  // Cells the hints prove to be mines or safe, or null
+        private final float mineBase;
+        private final float shipBase;
+        private final long salt;
+        private final long deadline;
+        private final int fromRow;
+        private final int toRow;
+
+        /**
+         * Constructs a task for the rows from {@code fromRow} up to, but not including, {@code toRow}.
+         */
+        private ScoreTask(final Grid<GameObject> grid,
+                          final float[] hintDensity,
+                          final int hintRows,
+                          final float[] shipWeight,
+                          final MineSolver.Solution solution,
+                          final float mineBase,
+                          final float shipBase,
+                          final long salt,
+                          final long deadline,
+                          final int fromRow,
+                          final int toRow) {
+
+            this.grid = grid;
+            this.hintDensity = hintDensity;
+            this.hintRows = hintRows;
+            this.shipWeight = shipWeight;
+            this.solution = solution;
+            this.mineBase = mineBase;
+            this.shipBase = shipBase;
+            this.salt = salt;
+            this.deadline = deadline;
+            this.fromRow = fromRow;
+            this.toRow = toRow;
+        }
+
+        @Override
+        protected Best compute() {
+            final int size = grid.getSize();
+
+            if ((long) (toRow - fromRow) * size > CELLS_PER_TASK && toRow - fromRow > 1
+                    && getPool() != null) {
+                final int middle = (fromRow + toRow) >>> 1;
+                final ScoreTask upper = new ScoreTask(grid, hintDensity, hintRows, shipWeight, solution, mineBase,
+                                                      shipBase, salt, deadline, fromRow, middle);
+                final ScoreTask lower = new ScoreTask(grid, hintDensity, hintRows, shipWeight, solution, mineBase,
+                                                      shipBase, salt, deadline, middle, toRow);
+                upper.fork();
+                final Best lowerBest = lower.compute();
+                final Best upperBest = upper.join();
+                return upperBest.score >= lowerBest.score ? upperBest : lowerBest;
+            }
+
+            final Best best = new Best();
+            for (int x = fromRow; x < toRow && System.nanoTime() < deadline; x++) {
+                for (int y = 0; y < size; y++) {
+                    if (!grid.isRevealedAt(x * size + y)) {
+                        consider(best, x, y, size);
+                    }
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Scores a list of hidden cells, however much time is left.
+         *
+         * @param cells The flat indices of the cells, which have passed the grid's shot validator.
+         * @param count The number of cells, from the start of the array.
+         * @return The best of the cells, or an empty result if there are none.
+         */
+        private Best scoreCells(final int[] cells,
+                                final int count) {
+
+            final int size = grid.getSize();
+            final Best best = new Best();
+            for (int n = 0; n < count; n++) {
+                consider(best, cells[n] / size, cells[n] % size, size);
+            }
+            return best;
+        }
+
+        /**
+         * Scores a hidden cell and keeps it if it beats the best so far.
+         *
+         * @param best The best cell so far.
+         * @param x    The row index of the cell.
+         * @param y    The column index of the cell.
+         * @param size The size of the grid.
+         */
+        private void consider(final Best best,
+                              final int x,
+                              final int y,
+                              final int size) {
+
+            final int index = x * size + y;
+            final float score = score(x, y, size) + jitter(index);
+            if (score > best.score) {
+                best.score = score;
+                best.index = index;
+            }
+        }
+
+        /**
+         * Scores one hidden cell from the hints and hits around it.
+         *
+         * @param x    The row index of the cell.
+         * @param y    The column index of the cell.
+         * @param size The size of the grid.
+         * @return The score of the cell; higher is better.
+         */
+        private float score(final int x,
+                            final int y,
+                            final int size) {
+
+            final int index = x * size + y;
+            if (solution != null && solution.isMine(index)) {
+                return -MINE_PENALTY;
+            }
+
+            float maxShare = -1.0f;
+            boolean safe = solution != null && solution.isSafe(index);
+            boolean nextToHit = false;
+
+            for (int i = Math.max(x - 1, 0); i <= Math.min(x + 1, size - 1); i++) {
+                for (int j = Math.max(y - 1, 0); j <= Math.min(y + 1, size - 1); j++) {
+                    final int neighbor = i * size + j;
+
+                    if (!grid.isRevealedAt(neighbor)) {
+                        continue;
+                    }
+                    final float share = i < hintRows ? hintDensity[neighbor] : hintAt(grid, neighbor);
+                    if (share == 0.0f) {
+                        safe = true;  // A satisfied hint rules out a mine here
+                    } else if (share > maxShare) {
+                        maxShare = share;
+                    }
+                    if (!grid.isEmptyAt(neighbor) && !grid.isMineAt(neighbor)) {
+                        nextToHit = true;
+                    }
+                }
+            }
+
+            final float mineChance = safe ? 0.0f : (maxShare >= 0.0f ? Math.min(maxShare, 1.0f) : mineBase);
+            float shipChance = (1.0f - mineChance) * (shipWeight == null ? shipBase : shipWeight[index]);
+            if (nextToHit) {
+                shipChance *= 1.0f + HIT_NEIGHBOR_BONUS;
+            }
+            return shipChance - MINE_PENALTY * mineChance;
+        }
+
+        /**
+         * Returns a small, repeatable amount of noise for a cell, so ties are not always broken the same way.
+         *
+         * @param index The flat index of the cell.
+         * @return Noise between 0 and {@link #JITTER}.
+         */
+        private float jitter(final int index) {
+            long h = (index + salt) * 0x9E3779B97F4A7C15L;
+            h ^= h >>> 32;
+            return (h & 0xFFFF) * (JITTER / 0x10000);
+        }
     }
 }
@@ -0,0 +1,309 @@
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Plays BattleSweeper games between two {@link AIPlayer}s without any console input or output.
+ * Games run in parallel on every core, each with its own seed derived from a base seed, so a run
+ * of many games can be repeated exactly. The results are summed into a {@link Report}.
+ */
+final class BattleSimulator {
+    private static final int DEFAULT_GRID_SIZE = 10;  // Board size when none is given
+    private static final int DEFAULT_MINES = 3;  // Mines per grid, as in GameManager
+    private static final int DEFAULT_SHIPS = 3;  // Ships per grid, as in GameManager
+    private static final int DEFAULT_GAMES = 10_000;  // Games to play when none is given
+    private static final long TIME_BUDGET_NANOS = 1_000_000_000L;  // Generous, so the AI is never cut short
+    private static final int PLAYER_ONE = 1;
+    private static final int PLAYER_TWO = 2;
+    private static final int DRAW = 0;
+
+    private final int gridSize;
+    private final int mines;
+    private final int ships;
+
+    /**
+     * Constructs a simulator for boards of the given shape.
+     *
+     * @param gridSize The size of each player's grid.
+     * @param mines    The number of mines placed on each grid; hitting this many loses the game.
+     * @param ships    The number of ships placed on each grid.
+     * @throws IllegalArgumentException If the mines and ships do not fit on the grid.
+     */
+    BattleSimulator(final int gridSize,
+                    final int mines,
+                    final int ships) {
+
+        if (gridSize <= 0 || mines < 1 || ships < 1 || mines + ships > gridSize * gridSize) {
+            throw new IllegalArgumentException("Cannot fit " + mines + " mines and " + ships
+                                               + " ships on a grid of size " + gridSize);
+        }
+        this.gridSize = gridSize;
+        this.mines = mines;
+        this.ships = ships;
+    }
+
+    /**
+     * Plays a number of games in parallel on every core.
+     *
+     * @param games    The number of games to play.
+     * @param baseSeed The seed every game's own seed is derived from.
+     * @return The summary of all games.
+     */
+    Report run(final int games,
+               final long baseSeed) {
+
+        final byte[] winners = new byte[games];
+        final int[] turns = new int[games];
+        final byte[] mineHits = new byte[2 * games];
+        final long start = System.nanoTime();
+
+        final ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        try {
+            pool.submit(() -> IntStream.range(0, games).parallel().forEach(game ->
+                    playGame(gameSeed(baseSeed, game), game, winners, turns, mineHits))).join();
+        } finally {
+            pool.shutdown();
+        }
+
+        return new Report(games, System.nanoTime() - start, winners, turns, mineHits, mines);
+    }
+
+    /**
+     * Derives a well-mixed seed for one game from the base seed.
+     *
+     * @param baseSeed The seed of the whole run.
+     * @param game     The index of the game.
+     * @return The seed for that game.
+     */
+    static long gameSeed(final long baseSeed,
+                         final int game) {
+
+        return new SplittableRandom(baseSeed + game * 0x9E3779B97F4A7C15L).nextLong();
+    }
+
+    /**
+     * Plays one game and stores its result at the game's index.
+     *
+     * @param seed     The seed for this game.
+     * @param game     The index of the game in the result arrays.
+     * @param winners  Receives the winner: 1, 2, or 0 for a draw.
+     * @param turns    Receives the number of shots fired.
+     * @param mineHits Receives the mines hit by player 1 and player 2, two entries per game.
+     */
+    private void playGame(final long seed,
+                          final int game,
+                          final byte[] winners,
+                          final int[] turns,
+                          final byte[] mineHits) {
+
+        final SplittableRandom random = new SplittableRandom(seed);
+        final AIPlayer player1 = new AIPlayer("AI 1", gridSize, mines, TIME_BUDGET_NANOS, random.nextLong());
+        final AIPlayer player2 = new AIPlayer("AI 2", gridSize, mines, TIME_BUDGET_NANOS, random.nextLong());
+        final int[] counts = new int[3];
+
+        winners[game] = (byte) duel(player1, player2, mines, ships, random, counts);
+        turns[game] = counts[0];
+        mineHits[2 * game] = (byte) counts[1];
+        mineHits[2 * game + 1] = (byte) counts[2];
+    }
+
+    /**
+     * Places mines and ships on two fresh players' grids and plays a game between them, without printing anything.
+     * Player 1 shoots first.
+     *
+     * @param player1 The player who shoots first.
+     * @param player2 The player who shoots second.
+     * @param mines   The number of mines placed on each grid; hitting this many loses the game.
+     * @param ships   The number of ships placed on each grid.
+     * @param random  The source of the mine layouts.
+     * @param counts  Receives the shots fired and the mines hit by player 1 and player 2, or null.
+     * @return The winner: 1, 2, or 0 for a draw.
+     */
+    static int duel(final AIPlayer player1,
+                    final AIPlayer player2,
+                    final int mines,
+                    final int ships,
+                    final SplittableRandom random,
+                    final int[] counts) {
+
+        player1.getGrid().placeRandomMines(mines, random.split());
+        player2.getGrid().placeRandomMines(mines, random.split());
+        player1.placeShipsRandomly(ships);
+        player2.placeShipsRandomly(ships);
+
+        int winner = DRAW;
+        int shots = 0;
+        int player1Mines = 0;
+        int player2Mines = 0;
+
+        while (true) {
+            final int shot1 = player1.chooseTarget(player2.getGrid());
+            final int shot2;
+
+            if (shot1 < 0) {
+                break;  // Nothing left to shoot at
+            }
+            shots++;
+            if (resolveShot(player1, player2.getGrid(), shot1) && ++player1Mines >= mines) {
+                winner = PLAYER_TWO;
+                break;
+            }
+            if (player2.getGrid().getRemainingShips() == 0) {
+                winner = PLAYER_ONE;
+                break;
+            }
+
+            shot2 = player2.chooseTarget(player1.getGrid());
+            if (shot2 < 0) {
+                break;
+            }
+            shots++;
+            if (resolveShot(player2, player1.getGrid(), shot2) && ++player2Mines >= mines) {
+                winner = PLAYER_ONE;
+                break;
+            }
+            if (player1.getGrid().getRemainingShips() == 0) {
+                winner = PLAYER_TWO;
+                break;
+            }
+        }
+
+        if (counts != null) {
+            counts[0] = shots;
+            counts[1] = player1Mines;
+            counts[2] = player2Mines;
+        }
+        return winner;
+    }
+
+    /**
+     * Resolves a shot with {@link Player#shoot(Board, int, int)} and opens the empty area around a zero-hint miss,
+     * as a move in a real game does, without printing anything.
+     *
+     * @param shooter The player firing the shot.
+     * @param grid    The grid being shot at.
+     * @param index   The flat index of the target cell.
+     * @return {@code true} if the shot hit a mine.
+     */
+    private static boolean resolveShot(final Player shooter,
+                                       final Grid<GameObject> grid,
+                                       final int index) {
+
+        final int x = index / grid.getSize();
+        final int y = index % grid.getSize();
+        final MoveResult result;
+
+        try {
+            result = shooter.shoot(grid, x, y);
+        } catch (final GameException e) {
+            throw new IllegalStateException("Simulated shot failed", e);
+        }
+
+        if (result.getOutcome() == MoveOutcome.MISS && result.getHint() == 0) {
+            grid.revealEmptyArea(x, y);
+        }
+        return result.getOutcome() == MoveOutcome.MINE;
+    }
+
+    /**
+     * The summary of a simulation run.
+     */
+    static final class Report {
+        private final int games;
+        private final long elapsedNanos;
+        private final int[] wins;  // Indexed by DRAW, PLAYER_ONE and PLAYER_TWO
+        private final double averageTurns;
+        private final long[] mineHitCounts;  // How many player-games ended with each number of mine hits
+
+        /**
+         * Sums the per-game results of a run.
+         */
+        private Report(final int games,
+                       final long elapsedNanos,
+                       final byte[] winners,
+                       final int[] turns,
+                       final byte[] mineHits,
+                       final int mines) {
+
+            this.games = games;
+            this.elapsedNanos = elapsedNanos;
+            this.wins = new int[3];
+            this.mineHitCounts = new long[mines + 1];
+
+            long totalTurns = 0;
+            for (int game = 0; game < games; game++) {
+                wins[winners[game]]++;
+                totalTurns += turns[game];
+            }
+            for (final byte hits : mineHits) {
+                mineHitCounts[hits]++;
+            }
+            this.averageTurns = games == 0 ? 0.0 : (double) totalTurns / games;
+        }
+
+        /**
+         * Returns the number of games played per second of wall-clock time.
+         *
+         * @return The throughput of the run.
+         */
+        double gamesPerSecond() {
+            return elapsedNanos == 0 ? 0.0 : games * 1.0e9 / elapsedNanos;
+        }
+
+        /**
+         * Returns the average number of shots fired per game.
+         *
+         * @return The average game length.
+         */
+        double averageTurns() {
+            return averageTurns;
+        }
+
+        /**
+         * Returns the share of games won by a player.
+         *
+         * @param player 1 or 2 for a player, 0 for draws.
+         * @return The share of games, between 0 and 1.
+         */
+        double winRate(final int player) {
+            return games == 0 ? 0.0 : (double) wins[player] / games;
+        }
+
+        /**
+         * Returns how many times a player finished a game having hit each number of mines.
+         * Each game counts once for each player.
+         *
+         * @return A copy of the counts, indexed by number of mines hit.
+         */
+        long[] mineHitDistribution() {
+            return Arrays.copyOf(mineHitCounts, mineHitCounts.length);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d games in %.2f s (%.0f games/sec)%n"
+                                 + "Average turns: %.2f%n"
+                                 + "Player 1 wins: %.2f%%, Player 2 wins: %.2f%%, Draws: %.2f%%%n"
+                                 + "Mine hits per player-game: %s",
+                                 games, elapsedNanos / 1.0e9, gamesPerSecond(), averageTurns,
+                                 100 * winRate(PLAYER_ONE), 100 * winRate(PLAYER_TWO), 100 * winRate(DRAW),
+                                 Arrays.toString(mineHitCounts));
+        }
+    }
+
+    /**
+     * Runs a simulation from the command line.
+     * Arguments, all optional: number of games, grid size, base seed.
+     *
+     * @param args The command-line arguments.
+     */
+    public static void main(final String[] args) {
+        final int games = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_GAMES;
+        final int size = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_GRID_SIZE;
+        final long seed = args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime();
+
+        final BattleSimulator simulator = new BattleSimulator(size, DEFAULT_MINES, DEFAULT_SHIPS);
+        System.out.println(simulator.run(games, seed));
+    }
+}
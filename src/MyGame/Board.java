@@ -0,0 +1,118 @@
+import java.io.PrintStream;
+
+/**
+ * The side of a board that players fire at and that games display. A {@link Grid} is a square board
+ * with every cell stored; an {@link InfiniteGrid} has no edges and derives its cells as they are looked at.
+ * Cells are addressed by row and column, so anything written against this interface plays on either.
+ *
+ * @param <T> The type of object the board's cells hold.
+ */
+interface Board<T> {
+
+    /**
+     * Returns the number of rows and columns of the board.
+     *
+     * @return The size of the board, or 0 if it has no edges.
+     */
+    int getSize();
+
+    /**
+     * Returns whether a cell is on the board.
+     *
+     * @param x The row of the cell.
+     * @param y The column of the cell.
+     * @return {@code true} if the cell exists; {@code false} if it is past an edge.
+     */
+    boolean contains(int x,
+                     int y);
+
+    /**
+     * Returns whether a cell has been revealed.
+     *
+     * @param x The row of the cell.
+     * @param y The column of the cell.
+     * @return {@code true} if the cell is revealed; {@code false} otherwise.
+     */
+    boolean isRevealedAt(int x,
+                         int y);
+
+    /**
+     * Returns the rule a shot at this board must pass: the cell must be on the board and not yet revealed.
+     *
+     * @return The shot rules.
+     */
+    MoveValidator shotValidator();
+
+    /**
+     * Returns the object in a cell.
+     *
+     * @param x The row of the cell.
+     * @param y The column of the cell.
+     * @return The object, or null if the cell is empty or the board does not keep objects.
+     */
+    T objectAt(int x,
+               int y);
+
+    /**
+     * Reveals a cell that a shot landed on and lets whatever is in it react to the shooter.
+     * The shot must already have passed {@link #shotValidator()}.
+     * Misses do not open up the surrounding empty area; see {@link #revealEmptyArea(int, int)}.
+     *
+     * @param shooter The player who fired.
+     * @param x       The row of the cell.
+     * @param y       The column of the cell.
+     * @return The result of the shot.
+     * @throws GameException If the object in the cell could not be interacted with.
+     */
+    MoveResult resolveShot(Player shooter,
+                           int x,
+                           int y) throws GameException;
+
+    /**
+     * Reveals an empty cell and, if it has no mines around it, the connected area of empty cells around it.
+     *
+     * @param x The row of the starting cell.
+     * @param y The column of the starting cell.
+     * @return The number of cells that were newly revealed.
+     */
+    int revealEmptyArea(int x,
+                        int y);
+
+    /**
+     * Returns whether every ship on the board has been hit.
+     *
+     * @return {@code true} if no ship is left; always {@code false} on a board with endless ships.
+     */
+    boolean allShipsSunk();
+
+    /**
+     * Prints the board, or the part of it in view.
+     *
+     * @param showObjects If true, shows objects like ships and mines; otherwise, hides them.
+     * @param out         The stream to print the board to.
+     */
+    void display(boolean showObjects,
+                 PrintStream out);
+
+    /**
+     * Returns how many rows and columns {@link #display} shows of a board larger than that.
+     *
+     * @return The viewport, or 0 if the whole board is always shown.
+     */
+    int getViewport();
+
+    /**
+     * Moves the part of the board {@link #display} shows. The view jumps back to the last shot
+     * when the next one is fired.
+     *
+     * @param rows    How many rows to move down; negative moves up.
+     * @param columns How many columns to move right; negative moves left.
+     */
+    void scrollViewport(int rows,
+                        int columns);
+
+    /**
+     * Clears the board for a new game.
+     */
+    void reset();
+}
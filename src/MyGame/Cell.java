@@ -1,19 +1,26 @@
 /**
  * Represents a single cell in the game grid that can store a value and track whether it's revealed or not.
+ * A cell is a lightweight view onto the packed storage of its {@link Grid}; it holds no state of its own,
+ * so reading or changing it through this view reads or changes the grid directly.
  *
  * @param <T> The type of value the cell can store (e.g., {@link Ship}, {@link Mine}, or null for empty).
  */
 final class Cell<T> {
-    private T value;  // The value stored in the cell (e.g., a Ship, Mine, or null)
-    private boolean revealed;  // Whether the cell has been revealed during gameplay
+    private final Grid<T> grid;  // The grid that owns the storage for this cell
+    private final int index;  // Flat index of the cell in the grid (x * size + y)
     private static final int FIRST_CHAR = 0;  // Index for extracting the first character of the value's string representation
 
     /**
-     * Constructs a new {@code Cell} with no value and as not revealed.
+     * Constructs a new {@code Cell} view onto the given grid position.
+     *
+     * @param grid  The grid that owns the cell.
+     * @param index The flat index of the cell in the grid.
      */
-    public Cell() {
-        this.value = null;
-        this.revealed = false;
+    Cell(final Grid<T> grid,
+         final int index) {
+
+        this.grid = grid;
+        this.index = index;
     }
 
     /**
@@ -22,7 +29,7 @@ final class Cell<T> {
      * @return The value of the cell (e.g., Ship, Mine, or null).
      */
     public T getValue() {
-        return value;
+        return grid.valueAt(index);
     }
 
     /**
@@ -31,7 +38,7 @@ final class Cell<T> {
      * @param value The value to store in the cell (e.g., a Ship, Mine, or null).
      */
     public void setValue(T value) {
-        this.value = value;
+        grid.storeAt(index, value);
     }
 
     /**
@@ -40,14 +47,14 @@ final class Cell<T> {
      * @return {@code true} if the cell is revealed; {@code false} otherwise.
      */
     public boolean isRevealed() {
-        return revealed;
+        return grid.isRevealedAt(index);
     }
 
     /**
      * Reveals the cell, marking it as visible to the player.
      */
     public void reveal() {
-        this.revealed = true;
+        grid.revealAt(index);
     }
 
     /**
@@ -61,7 +68,8 @@ final class Cell<T> {
      */
     @Override
     public String toString() {
-        if (revealed) {
+        if (isRevealed()) {
+            T value = getValue();
             if (value == null) {
                 return "O"; // 'O' for miss if the cell has no value
             }
@@ -0,0 +1,108 @@
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * The ships placed on one grid. Each {@link Vessel} counts its own hits, so the fleet can tell how many
+ * ships are sunk without looking at any cells.
+ */
+final class Fleet {
+    private final Vessel[] vessels;
+
+    /**
+     * Constructs a fleet of ships that are already on a grid.
+     *
+     * @param vessels The ships.
+     */
+    private Fleet(final Vessel[] vessels) {
+        this.vessels = vessels;
+    }
+
+    /**
+     * Places a fleet on a grid, each ship at a placement picked uniformly from those still legal.
+     * The longest ships go first, since they are the hardest to fit once the grid fills up.
+     * If some ship does not fit anywhere, the ships placed so far are taken off again.
+     *
+     * @param grid    The grid to place the fleet on.
+     * @param lengths The length of each ship.
+     * @param random  The generator used to pick placements.
+     * @return The placed fleet, longest ship first.
+     * @throws IllegalArgumentException If the ships cannot all be placed.
+     */
+    static Fleet placeRandomly(final Grid<GameObject> grid,
+                               final int[] lengths,
+                               final SplittableRandom random) {
+
+        final int size = grid.getSize();
+        final int[] order = lengths.clone();
+        final PlacementIndex index = PlacementIndex.forPlacement(grid);
+        final Vessel[] vessels = new Vessel[order.length];
+
+        Arrays.sort(order);
+        for (int i = 0; i < order.length; i++) {
+            final int length = order[order.length - 1 - i];
+            final long placement = length < 1 ? -1L : index.randomPlacement(length, random);
+
+            if (placement < 0) {
+                for (int j = 0; j < i; j++) {
+                    for (int segment = 0; segment < vessels[j].getLength(); segment++) {
+                        grid.storeAt(vessels[j].cellAt(segment, size), null);
+                    }
+                }
+                throw new IllegalArgumentException("No room for a ship of length " + length);
+            }
+
+            final int start = (int) (placement >>> 1);
+            final boolean horizontal = (placement & 1) == 0;
+            vessels[i] = Vessel.place(grid, start / size, start % size, length, horizontal);
+            for (int segment = 0; segment < length; segment++) {
+                final int cell = vessels[i].cellAt(segment, size);
+                index.close(cell / size, cell % size);
+            }
+        }
+        return new Fleet(vessels);
+    }
+
+    /**
+     * Returns the number of ships in the fleet.
+     *
+     * @return The fleet size.
+     */
+    int size() {
+        return vessels.length;
+    }
+
+    /**
+     * Returns one ship of the fleet.
+     *
+     * @param i The position of the ship, longest first.
+     * @return The ship.
+     */
+    Vessel get(final int i) {
+        return vessels[i];
+    }
+
+    /**
+     * Counts the ships that have been sunk.
+     *
+     * @return The number of sunk ships.
+     */
+    int sunkCount() {
+        int sunk = 0;
+
+        for (final Vessel vessel : vessels) {
+            if (vessel.isSunk()) {
+                sunk++;
+            }
+        }
+        return sunk;
+    }
+
+    /**
+     * Returns whether every ship in the fleet has been sunk.
+     *
+     * @return {@code true} if the whole fleet is sunk; {@code false} otherwise.
+     */
+    boolean isSunk() {
+        return sunkCount() == vessels.length;
+    }
+}
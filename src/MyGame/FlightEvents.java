@@ -0,0 +1,120 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Java Flight Recorder events for the phases of a BattleSweeper turn, plus setup and reset.
+ * Each event is begun before the code it times and committed after it, with its fields set only once
+ * {@link Event#shouldCommit()} says it will be recorded. When no recording is running, or the event is
+ * disabled, {@code shouldCommit} is false and the JIT removes the unused event object, so the timing costs
+ * next to nothing.
+ * <p>
+ * Record a game with {@code java -XX:StartFlightRecording:filename=game.jfr ...} and read it with
+ * {@code jfr print --categories BattleSweeper game.jfr} or JDK Mission Control.
+ */
+final class FlightEvents {
+
+    private FlightEvents() {
+    }
+
+    @Name("battlesweeper.InputWait")
+    @Label("Input Wait")
+    @Category({"BattleSweeper", "Turn"})
+    @Description("Time spent waiting for a player to type a number")
+    static final class InputWait extends Event {
+        @Label("Board Size")
+        int boardSize;
+
+        @Label("Value")
+        int value;
+    }
+
+    @Name("battlesweeper.MakeMove")
+    @Label("Make Move")
+    @Category({"BattleSweeper", "Turn"})
+    @Description("One player's move, from choosing the target to resolving the shot")
+    static final class MakeMove extends Event {
+        @Label("Board Size")
+        int boardSize;
+
+        @Label("Player")
+        String player;
+
+        @Label("Outcome")
+        String outcome;
+    }
+
+    @Name("battlesweeper.CountNearbyMines")
+    @Label("Count Nearby Mines")
+    @Category({"BattleSweeper", "Turn"})
+    @Description("Looking up the mine hint of a cell")
+    static final class CountNearbyMines extends Event {
+        @Label("Board Size")
+        int boardSize;
+
+        @Label("Mines")
+        int mines;
+    }
+
+    @Name("battlesweeper.RevealEmptyArea")
+    @Label("Reveal Empty Area")
+    @Category({"BattleSweeper", "Turn"})
+    @Description("Opening up the empty area around a miss with no mines nearby")
+    static final class RevealEmptyArea extends Event {
+        @Label("Board Size")
+        int boardSize;
+
+        @Label("Cells Opened")
+        int cellsOpened;
+    }
+
+    @Name("battlesweeper.AllShipsSunk")
+    @Label("All Ships Sunk")
+    @Category({"BattleSweeper", "Turn"})
+    @Description("Checking whether a grid has any ships left")
+    static final class AllShipsSunk extends Event {
+        @Label("Board Size")
+        int boardSize;
+
+        @Label("Sunk")
+        boolean sunk;
+    }
+
+    @Name("battlesweeper.Display")
+    @Label("Display")
+    @Category({"BattleSweeper", "Turn"})
+    @Description("Drawing a grid")
+    static final class Display extends Event {
+        @Label("Board Size")
+        int boardSize;
+
+        @Label("Show Objects")
+        boolean showObjects;
+    }
+
+    @Name("battlesweeper.Placement")
+    @Label("Placement")
+    @Category({"BattleSweeper", "Setup"})
+    @Description("Placing mines or ships on a grid")
+    static final class Placement extends Event {
+        @Label("Board Size")
+        int boardSize;
+
+        @Label("Object Type")
+        String objectType;
+
+        @Label("Count")
+        int count;
+    }
+
+    @Name("battlesweeper.Reset")
+    @Label("Reset")
+    @Category({"BattleSweeper", "Setup"})
+    @Description("Clearing a grid for a new game")
+    static final class Reset extends Event {
+        @Label("Board Size")
+        int boardSize;
+    }
+}
@@ -0,0 +1,89 @@
+/**
+ * One event read from a {@link GameEventBus}. Each subscriber reuses a single instance for every event,
+ * so an event is only valid during the {@link GameEventHandler#onEvent(GameEvent, boolean)} call it is passed to.
+ */
+final class GameEvent {
+    private long sequence;
+    private GameEventType type;
+    private int player;
+    private int x;
+    private int y;
+    private int value;
+
+    /**
+     * Fills the event with the fields of one published event.
+     */
+    void set(final long sequence,
+             final GameEventType type,
+             final int player,
+             final int x,
+             final int y,
+             final int value) {
+
+        this.sequence = sequence;
+        this.type = type;
+        this.player = player;
+        this.x = x;
+        this.y = y;
+        this.value = value;
+    }
+
+    /**
+     * Returns the position of the event in the bus, counting from 0.
+     *
+     * @return The sequence number.
+     */
+    long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Returns what happened.
+     *
+     * @return The event type.
+     */
+    GameEventType getType() {
+        return type;
+    }
+
+    /**
+     * Returns the player the event is about: the shooter, or the winner at the end of a game.
+     *
+     * @return The player's index, 0 or 1.
+     */
+    int getPlayer() {
+        return player;
+    }
+
+    /**
+     * Returns the x-coordinate of the shot, or -1 for the end of a game, which is not about a cell.
+     *
+     * @return The x-coordinate.
+     */
+    int getX() {
+        return x;
+    }
+
+    /**
+     * Returns the y-coordinate of the shot, or -1 for the end of a game, which is not about a cell.
+     *
+     * @return The y-coordinate.
+     */
+    int getY() {
+        return y;
+    }
+
+    /**
+     * Returns the extra value of the event: the mine hint of a miss or the length of a sunk ship.
+     *
+     * @return The value, or 0 for events that have none.
+     */
+    int getValue() {
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return "#" + sequence + " " + type + " player " + player + " (" + x + ", " + y + ") " + value;
+    }
+}
@@ -0,0 +1,277 @@
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Carries game events from the thread that plays a game to any number of subscribers, such as renderers,
+ * loggers and statistics, each reading on its own thread.
+ * <p>
+ * Events are written into a ring of pre-allocated primitive arrays, so publishing allocates nothing and
+ * takes no lock. The publisher never waits for subscribers: a subscriber that falls a whole ring behind
+ * skips ahead to the oldest event still held and counts what it missed, so a slow display can cost itself
+ * events but never adds latency to the game. Each slot carries the sequence number of the event in it,
+ * which readers check before and after copying the slot, so an event overwritten mid-read is never
+ * delivered half old and half new.
+ * <p>
+ * Only one thread may publish.
+ */
+final class GameEventBus implements AutoCloseable {
+    private static final VarHandle SLOT_SEQUENCES = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final VarHandle PUBLISHED;
+    private static final int SPINS_BEFORE_PARKING = 200;  // Empty polls a subscriber spins through before sleeping
+    private static final long PARK_NANOS = 100_000L;  // How long an idle subscriber sleeps between polls
+
+    static {
+        try {
+            PUBLISHED = MethodHandles.lookup().findVarHandle(GameEventBus.class, "published", long.class);
+        } catch (final ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final int mask;
+    private final long[] slotSequences;  // Sequence of the event in each slot, or -1 while it is being written
+    private final byte[] types;
+    private final byte[] players;
+    private final int[] xs;
+    private final int[] ys;
+    private final int[] values;
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    @SuppressWarnings("unused")  // Accessed through PUBLISHED
+    private volatile long published = -1L;  // Sequence of the newest event readers may see
+    private long next;  // Sequence of the next event; touched only by the publisher
+
+    /**
+     * Constructs a bus holding up to the given number of unread events, rounded up to a power of two.
+     *
+     * @param capacity The number of events a subscriber may fall behind before it starts missing them.
+     * @throws IllegalArgumentException If the capacity is not between 2 and 2^30.
+     */
+    GameEventBus(final int capacity) {
+        if (capacity < 2 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacity must be between 2 and 2^30: " + capacity);
+        }
+
+        final int slots = Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = slots - 1;
+        this.slotSequences = new long[slots];
+        this.types = new byte[slots];
+        this.players = new byte[slots];
+        this.xs = new int[slots];
+        this.ys = new int[slots];
+        this.values = new int[slots];
+        Arrays.fill(slotSequences, -1L);
+    }
+
+    /**
+     * Publishes an event. Must only be called from the one publishing thread.
+     *
+     * @param type   What happened.
+     * @param player The player the event is about, 0 or 1.
+     * @param x      The x-coordinate of the shot, or -1.
+     * @param y      The y-coordinate of the shot, or -1.
+     * @param value  The mine hint, ship length or other value of the event, or 0.
+     */
+    void publish(final GameEventType type,
+                 final int player,
+                 final int x,
+                 final int y,
+                 final int value) {
+
+        final long sequence = next++;
+        final int slot = (int) sequence & mask;
+
+        // Mark the slot as being written before touching it, so readers of the old event see the change
+        SLOT_SEQUENCES.setOpaque(slotSequences, slot, -1L);
+        VarHandle.storeStoreFence();
+        types[slot] = (byte) type.ordinal();
+        players[slot] = (byte) player;
+        xs[slot] = x;
+        ys[slot] = y;
+        values[slot] = value;
+        SLOT_SEQUENCES.setRelease(slotSequences, slot, sequence);
+        PUBLISHED.setRelease(this, sequence);
+    }
+
+    /**
+     * Returns the number of events published so far.
+     *
+     * @return The event count.
+     */
+    long getPublished() {
+        return (long) PUBLISHED.getAcquire(this) + 1;
+    }
+
+    /**
+     * Starts delivering events to a handler on a new daemon thread, beginning with the next event published.
+     *
+     * @param name    The name of the subscriber's thread.
+     * @param handler The handler to call for every event.
+     * @return The subscription, which stops delivery when closed.
+     */
+    Subscription subscribe(final String name,
+                           final GameEventHandler handler) {
+
+        final Subscription subscription = new Subscription(name, handler, getPublished());
+        subscriptions.add(subscription);
+        subscription.thread.start();
+        return subscription;
+    }
+
+    /**
+     * Lets every subscriber finish the events already published, then stops them.
+     */
+    @Override
+    public void close() {
+        for (final Subscription subscription : subscriptions) {
+            subscription.close();
+        }
+        subscriptions.clear();
+    }
+
+    /**
+     * Copies one event out of the ring, unless it has already been overwritten.
+     *
+     * @param sequence The sequence of the event.
+     * @param event    The event to fill.
+     * @return {@code true} if the event was copied whole; {@code false} if it was overwritten.
+     */
+    private boolean read(final long sequence,
+                         final GameEvent event) {
+
+        final int slot = (int) sequence & mask;
+        if ((long) SLOT_SEQUENCES.getAcquire(slotSequences, slot) != sequence) {
+            return false;
+        }
+
+        final int type = types[slot];
+        final int player = players[slot];
+        final int x = xs[slot];
+        final int y = ys[slot];
+        final int value = values[slot];
+
+        // If the slot still holds the same event after the copy, the publisher did not touch it meanwhile
+        VarHandle.loadLoadFence();
+        if ((long) SLOT_SEQUENCES.getAcquire(slotSequences, slot) != sequence) {
+            return false;
+        }
+        event.set(sequence, GameEventType.of(type), player, x, y, value);
+        return true;
+    }
+
+    /**
+     * One subscriber's delivery loop and counters.
+     */
+    final class Subscription implements AutoCloseable {
+        private final GameEventHandler handler;
+        private final GameEvent event = new GameEvent();  // Reused for every event delivered
+        private volatile long nextSequence;  // The next event to deliver
+        private volatile long delivered;
+        private volatile long missed;  // Events overwritten before this subscriber read them
+        private volatile boolean running = true;
+        private final Thread thread;
+
+        /**
+         * Constructs a subscription that starts at a given event, with its thread not yet started.
+         */
+        private Subscription(final String name,
+                             final GameEventHandler handler,
+                             final long firstSequence) {
+
+            this.handler = handler;
+            this.nextSequence = firstSequence;
+            this.thread = Thread.ofPlatform().name(name).daemon().unstarted(this::run);
+        }
+
+        /**
+         * Returns the number of events handed to the handler.
+         *
+         * @return The delivered count.
+         */
+        long getDelivered() {
+            return delivered;
+        }
+
+        /**
+         * Returns the number of events this subscriber fell too far behind to read.
+         *
+         * @return The missed count.
+         */
+        long getMissed() {
+            return missed;
+        }
+
+        /**
+         * Delivers the events already published, then stops the subscriber's thread and waits for it.
+         */
+        @Override
+        public void close() {
+            running = false;
+            LockSupport.unpark(thread);
+            boolean interrupted = false;
+            while (thread.isAlive()) {
+                try {
+                    thread.join();
+                } catch (final InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            subscriptions.remove(this);
+        }
+
+        /**
+         * Polls the ring until closed, delivering whatever has been published in one batch per poll.
+         */
+        private void run() {
+            int idle = 0;
+
+            while (true) {
+                final boolean stopping = !running;  // Read before polling, so a final drain sees every event
+                if (poll() > 0) {
+                    idle = 0;
+                } else if (stopping) {
+                    return;
+                } else if (++idle < SPINS_BEFORE_PARKING) {
+                    Thread.onSpinWait();
+                } else {
+                    LockSupport.parkNanos(PARK_NANOS);
+                }
+            }
+        }
+
+        /**
+         * Delivers every event published since the last poll.
+         *
+         * @return The number of events delivered.
+         */
+        private int poll() {
+            final long last = (long) PUBLISHED.getAcquire(GameEventBus.this);
+            long sequence = nextSequence;
+            int count = 0;
+
+            while (sequence <= last) {
+                // Skip past anything already overwritten, which the publisher may still be doing as we read
+                final long oldest = (long) PUBLISHED.getAcquire(GameEventBus.this) - mask;
+                if (sequence < oldest || !read(sequence, event)) {
+                    final long resume = Math.max(sequence + 1, oldest);
+                    missed += resume - sequence;
+                    sequence = resume;
+                    continue;
+                }
+
+                sequence++;
+                handler.onEvent(event, sequence > last);
+                count++;
+            }
+            nextSequence = sequence;
+            delivered += count;
+            return count;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+/**
+ * Receives the events of a {@link GameEventBus} on a subscriber's own thread.
+ */
+@FunctionalInterface
+interface GameEventHandler {
+
+    /**
+     * Handles one event. Events arrive in batches of everything published since the last batch;
+     * handlers that write somewhere slow should flush once at the end of each batch rather than per event.
+     *
+     * @param event      The event, valid only during this call.
+     * @param endOfBatch Whether this is the last event currently available.
+     */
+    void onEvent(GameEvent event,
+                 boolean endOfBatch);
+}
@@ -0,0 +1,47 @@
+import java.io.PrintStream;
+
+/**
+ * A {@link GameEventHandler} that writes a play-by-play line for every event, such as
+ * {@code Player 1 misses, 1 mine nearby, at (2, 3)}.
+ * It runs on a bus subscriber's thread, so a slow log never holds up the game. The lines of a
+ * batch are gathered in a reusable buffer and printed with a single write at the end of the batch.
+ */
+final class GameEventLog implements GameEventHandler {
+    private final PrintStream out;
+    private final StringBuilder batch = new StringBuilder();  // Lines not yet printed
+
+    /**
+     * Constructs a log that prints to a stream.
+     *
+     * @param out The stream to print the lines to.
+     */
+    GameEventLog(final PrintStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public void onEvent(final GameEvent event,
+                        final boolean endOfBatch) {
+
+        batch.append("Player ").append(event.getPlayer() + 1);
+        switch (event.getType()) {
+            case SHOT -> batch.append(" fires at ");
+            case HIT -> batch.append(" hits a ship at ");
+            case MISS -> batch.append(" misses, ").append(event.getValue())
+                              .append(event.getValue() == 1 ? " mine" : " mines").append(" nearby, at ");
+            case MINE -> batch.append(" hits a mine at ");
+            case SUNK -> batch.append(" sinks a ship of length ").append(event.getValue()).append(" at ");
+            case GAME_OVER -> batch.append(" wins");
+        }
+        if (event.getType() != GameEventType.GAME_OVER) {  // Shots on an unbounded board may be at negative cells
+            batch.append('(').append(event.getX()).append(", ").append(event.getY()).append(')');
+        }
+        batch.append(System.lineSeparator());
+
+        if (endOfBatch) {
+            out.print(batch);
+            out.flush();
+            batch.setLength(0);
+        }
+    }
+}
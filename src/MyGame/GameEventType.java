@@ -0,0 +1,29 @@
+/**
+ * The kinds of event a game publishes on a {@link GameEventBus}.
+ */
+enum GameEventType {
+    /** A player fired at a cell inside the opponent's grid. */
+    SHOT,
+    /** The shot hit a ship. */
+    HIT,
+    /** The shot landed on an empty cell; the value is the mine hint. */
+    MISS,
+    /** The shot hit a mine. */
+    MINE,
+    /** The hit sank a whole ship; the value is the ship's length. */
+    SUNK,
+    /** The game ended; the player is the winner. */
+    GAME_OVER;
+
+    private static final GameEventType[] VALUES = values();  // Shared, so decoding an event allocates nothing
+
+    /**
+     * Returns the event type with an ordinal.
+     *
+     * @param ordinal The ordinal.
+     * @return The event type.
+     */
+    static GameEventType of(final int ordinal) {
+        return VALUES[ordinal];
+    }
+}
@@ -0,0 +1,235 @@
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Loads a {@link GameServer} with many concurrent games and measures how long each move takes.
+ * Every game runs on its own virtual thread, fires at the cells of the board in a random order,
+ * and times each move from sending {@code FIRE} until the server asks for the next move or ends the game.
+ */
+final class GameLoadClient {
+    private static final String DEFAULT_HOST = "localhost";  // Server used when none is given
+    private static final int DEFAULT_PORT = 5522;  // Port used when none is given
+    private static final int DEFAULT_GAMES = 10_000;  // Concurrent games when none is given
+
+    private GameLoadClient() {
+    }
+
+    /**
+     * Plays a number of games against the server at the same time.
+     *
+     * @param host  The server's host name.
+     * @param port  The server's port.
+     * @param games The number of games to play at once.
+     * @param seed  The seed for the order each game fires in.
+     * @return The move latencies and counts of the run.
+     * @throws InterruptedException If interrupted while waiting for the games.
+     */
+    static Report run(final String host,
+                      final int port,
+                      final int games,
+                      final long seed) throws InterruptedException {
+
+        final List<Future<long[]>> results = new ArrayList<>(games);
+        final LongAdder failures = new LongAdder();
+        final long start = System.nanoTime();
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int game = 0; game < games; game++) {
+                final long gameSeed = BattleSimulator.gameSeed(seed, game);
+                results.add(clients.submit(() -> playGame(host, port, gameSeed)));
+            }
+        }
+
+        // Gather every game's latencies into one array
+        long[] latencies = new long[0];
+        int count = 0;
+        for (final Future<long[]> result : results) {
+            try {
+                final long[] game = result.get();
+                if (count + game.length > latencies.length) {
+                    latencies = Arrays.copyOf(latencies, Math.max(2 * latencies.length, count + game.length));
+                }
+                System.arraycopy(game, 0, latencies, count, game.length);
+                count += game.length;
+            } catch (final Exception e) {
+                failures.increment();
+            }
+        }
+
+        return new Report(games, (int) failures.sum(), Arrays.copyOf(latencies, count), System.nanoTime() - start);
+    }
+
+    /**
+     * Plays one game against the server.
+     *
+     * @param host The server's host name.
+     * @param port The server's port.
+     * @param seed The seed for the order this game fires in.
+     * @return The latency of each move, in nanoseconds.
+     * @throws IOException If the connection fails or the server breaks the protocol.
+     */
+    private static long[] playGame(final String host,
+                                   final int port,
+                                   final long seed) throws IOException {
+
+        try (Socket socket = new Socket(host, port);
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(),
+                                                                          StandardCharsets.US_ASCII));
+             BufferedWriter out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(),
+                                                                            StandardCharsets.US_ASCII))) {
+
+            socket.setTcpNoDelay(true);
+
+            final String welcome = in.readLine();
+            if (welcome == null || !welcome.startsWith("WELCOME ")) {
+                throw new IOException("Unexpected greeting: " + welcome);
+            }
+            final String[] fields = welcome.split(" ");
+            final int size = Integer.parseInt(fields[1]);
+            final int[] order = shuffledCells(size * size, new SplittableRandom(seed));
+
+            long[] latencies = new long[64];
+            int moves = 0;
+            int next = 0;
+            long sentAt = 0L;
+
+            for (String line = in.readLine(); line != null; line = in.readLine()) {
+                final boolean over = line.equals("WIN") || line.equals("LOSE");
+
+                if (sentAt != 0L && (over || line.equals("TURN"))) {
+                    if (moves == latencies.length) {
+                        latencies = Arrays.copyOf(latencies, moves * 2);
+                    }
+                    latencies[moves++] = System.nanoTime() - sentAt;
+                    sentAt = 0L;
+                }
+                if (over) {
+                    return Arrays.copyOf(latencies, moves);
+                }
+                if (line.equals("TURN")) {
+                    final int cell = order[next++ % order.length];
+                    out.write("FIRE " + cell / size + " " + cell % size + "\n");
+                    out.flush();
+                    sentAt = System.nanoTime();
+                }
+            }
+            throw new IOException("Server closed the connection before the game ended");
+        }
+    }
+
+    /**
+     * Returns every cell index of a board in a random order.
+     *
+     * @param cellCount The number of cells.
+     * @param random    The generator for the shuffle.
+     * @return The shuffled cell indices.
+     */
+    private static int[] shuffledCells(final int cellCount,
+                                       final SplittableRandom random) {
+
+        final int[] cells = new int[cellCount];
+        for (int i = 0; i < cellCount; i++) {
+            cells[i] = i;
+        }
+        for (int i = cellCount - 1; i > 0; i--) {
+            final int j = random.nextInt(i + 1);
+            final int swap = cells[i];
+            cells[i] = cells[j];
+            cells[j] = swap;
+        }
+        return cells;
+    }
+
+    /**
+     * The move latencies and counts of a load run.
+     */
+    static final class Report {
+        private final int games;
+        private final int failures;
+        private final long[] latencies;  // Sorted, in nanoseconds
+        private final long elapsedNanos;
+
+        /**
+         * Constructs a report, sorting the latencies.
+         */
+        private Report(final int games,
+                       final int failures,
+                       final long[] latencies,
+                       final long elapsedNanos) {
+
+            this.games = games;
+            this.failures = failures;
+            this.latencies = latencies;
+            this.elapsedNanos = elapsedNanos;
+            Arrays.sort(this.latencies);
+        }
+
+        /**
+         * Returns the number of games that could not be completed.
+         *
+         * @return The number of failed games.
+         */
+        int failures() {
+            return failures;
+        }
+
+        /**
+         * Returns the number of moves timed.
+         *
+         * @return The number of moves.
+         */
+        int moves() {
+            return latencies.length;
+        }
+
+        /**
+         * Returns a latency percentile.
+         *
+         * @param percentile The percentile, between 0 and 100.
+         * @return The latency at that percentile in nanoseconds, or 0 if no moves were timed.
+         */
+        long percentileNanos(final double percentile) {
+            if (latencies.length == 0) {
+                return 0L;
+            }
+            final int rank = (int) Math.ceil(percentile / 100.0 * latencies.length) - 1;
+            return latencies[Math.max(0, Math.min(rank, latencies.length - 1))];
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d games (%d failed), %d moves in %.2f s%n"
+                                 + "Move latency p50: %.1f us, p99: %.1f us",
+                                 games, failures, latencies.length, elapsedNanos / 1.0e9,
+                                 percentileNanos(50) / 1.0e3, percentileNanos(99) / 1.0e3);
+        }
+    }
+
+    /**
+     * Runs a load test from the command line.
+     * Arguments, all optional: host, port, number of concurrent games.
+     *
+     * @param args The command-line arguments.
+     * @throws InterruptedException If interrupted while waiting for the games.
+     */
+    public static void main(final String[] args) throws InterruptedException {
+        final String host = args.length > 0 ? args[0] : DEFAULT_HOST;
+        final int port = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_PORT;
+        final int games = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_GAMES;
+
+        System.out.println(run(host, port, games, System.nanoTime()));
+    }
+}
@@ -1,148 +1,428 @@
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.util.InputMismatchException;
+import java.util.NoSuchElementException;
 import java.util.Scanner;
 
 class GameManager {
 
     private final Player player1;
     private final Player player2;
+    private final PrintStream out;
+    private MoveLog moveLog;  // Records the game as it is played, or null
+    private boolean moveLogUsed;  // Whether a game has already been recorded in the move log
+    private MoveSource input = MoveSource.console();  // Where setup coordinates and answers come from
+    private GameEventBus events;  // Where shots and their results are published, or null
 
-    private static GameManager instance;
     private static final int MAX_MINES = 3;
+    private static final int MAX_SHIPS = 3;
+    private static final int DEFAULT_GRID_SIZE = 5;  // Board size when none is entered
+    private static final int MAX_GRID_SIZE = 1000;  // Largest board size that may be entered
+    private static final double UNBOUNDED_MINE_DENSITY = 0.15;  // Share of mine cells on an unbounded board
+    private static final double UNBOUNDED_SHIP_DENSITY = 0.05;  // Share of ship cells on an unbounded board
 
     GameManager(final Player player1,
                final Player player2) {
 
-       this.player1 = player1;
-       this.player2 = player2;
+       this(player1, player2, System.out);
     }
 
-    public static synchronized GameManager getInstance(final Player player1,
-                                                       final Player player2) {
-        if (instance == null) {
-            instance = new GameManager(player1, player2);
+    GameManager(final Player player1,
+                final Player player2,
+                final PrintStream out) {
+
+        this.player1 = player1;
+        this.player2 = player2;
+        this.out = out;
+    }
+
+    /**
+     * Asks for the size of the boards and sets up a game between two human players at one console.
+     * The size and every move are read from the same scanner, so input typed or piped ahead is never
+     * split between two readers. A size of 0 gives each player an {@link InfiniteGrid} to be fired at.
+     *
+     * @param sc  The scanner to read answers and moves from.
+     * @param out The stream to print prompts and boards to.
+     * @return The game, ready to start.
+     */
+    static GameManager forHumans(final Scanner sc,
+                                 final PrintStream out) {
+
+        final int gridSize = readGridSize(sc, out);
+        final Player player1 = new HumanPlayer("Player 1", gridSize);
+        final Player player2 = new HumanPlayer("Player 2", gridSize);
+        player1.setOutput(out);
+        player2.setOutput(out);
+        if (gridSize == 0) {
+            final long seed = System.nanoTime();
+            player1.setBoard(new InfiniteGrid(seed, UNBOUNDED_MINE_DENSITY, UNBOUNDED_SHIP_DENSITY));
+            player2.setBoard(new InfiniteGrid(~seed, UNBOUNDED_MINE_DENSITY, UNBOUNDED_SHIP_DENSITY));
         }
-        return instance;
+
+        final GameManager gameManager = new GameManager(player1, player2, out);
+        gameManager.setMoveSource(new ScannerMoveSource(sc));
+        return gameManager;
+    }
+
+    /**
+     * Asks for the size of the boards until a valid one is entered.
+     * Boards larger than the screen are shown as a window around the last shot.
+     *
+     * @param sc  The scanner to read the answer from.
+     * @param out The stream to print the prompt to.
+     * @return The chosen size, 0 for unbounded boards, or the default if the answer is blank.
+     */
+    private static int readGridSize(final Scanner sc,
+                                    final PrintStream out) {
+
+        while (true) {
+            out.println("Enter the board size (" + DEFAULT_GRID_SIZE + "-" + MAX_GRID_SIZE
+                        + ", 0 for unbounded, blank for " + DEFAULT_GRID_SIZE + "):");
+            final String answer = sc.nextLine().trim();
+
+            if (answer.isEmpty()) {
+                return DEFAULT_GRID_SIZE;
+            }
+            try {
+                final int size = Integer.parseInt(answer);
+                if (size == 0 || size >= DEFAULT_GRID_SIZE && size <= MAX_GRID_SIZE) {
+                    return size;
+                }
+            } catch (final NumberFormatException e) {
+                // Fall through to the retry message
+            }
+            out.println("Invalid size, try again.");
         }
+    }
+
+    /**
+     * Records the next game in a move log, which can later be replayed with {@link MoveReplay}.
+     * Mines are then placed from the log's seed, so the log does not have to store them.
+     * A log holds a single game, so a new log must be set before each further game is played.
+     *
+     * @param moveLog The log to append to, or null to stop recording.
+     */
+    void setMoveLog(final MoveLog moveLog) {
+        this.moveLog = moveLog;
+        this.moveLogUsed = false;
+    }
 
+    /**
+     * Reads setup coordinates and answers from a source, and hands the same source to both players,
+     * so that a single script can drive whole games.
+     *
+     * @param input The source of typed input.
+     */
+    void setMoveSource(final MoveSource input) {
+        this.input = input;
+        player1.setMoveSource(input);
+        player2.setMoveSource(input);
+    }
 
-    public void startGame() {
+    /**
+     * Publishes every shot, its result and the end of each game on an event bus, for loggers such as
+     * {@link GameEventLog} and tallies such as {@link GameStatistics} to read on their own threads.
+     * Publishing never waits for them. The boards and prompts players need before their next move
+     * are still printed by the game itself.
+     *
+     * @param events The bus to publish to, or null to stop publishing.
+     */
+    void setEventBus(final GameEventBus events) {
+        this.events = events;
+    }
 
-        final Scanner scanner;
-        scanner = new Scanner(System.in);
+    /**
+     * Plays games until the players choose to stop.
+     *
+     * @throws GameException If a move fails with an error rather than an outcome.
+     */
+    public void startGame() throws GameException {
 
         while (true) {
-            System.out.println("Welcome to the Game!");
+            playGame();
 
-            // Place 3 random mines on each grid
-            System.out.println("Placing mines on the grids...");
+            // After the game ends, prompt if they want to play again
+            out.print("Do you want to play again? (y/n): ");
+            String replayChoice = input.next();
 
-            player1.getGrid().placeRandomMines(MAX_MINES);
-            player2.getGrid().placeRandomMines(MAX_MINES);
+            if (!replayChoice.equalsIgnoreCase("y")) {
 
-            // Setup phase: Players place ships
+                out.println("Thanks for playing!");
+                break; // Exit the game loop if the user doesn't want to play again
+            } else {
+
+                // Reset the players' boards for a new game
+                player1.getBoard().reset();
+                player2.getBoard().reset();
+            }
+        }
+    }
+
+    /**
+     * Plays a single game from setup to the end, without asking to play again.
+     * Mines and ships are only placed on players' grids; a board set in place of a grid, such as an
+     * {@link InfiniteGrid}, comes with its own.
+     *
+     * @return The player who won the game.
+     * @throws GameException If a move fails with an error rather than an outcome.
+     * @throws IllegalStateException If the move log set for this game already holds an earlier game,
+     *                               was made for another grid size or number of mines,
+     *                               or a player plays on a board the log cannot record.
+     */
+    public Player playGame() throws GameException {
+        if (moveLog != null) {
+            if (!hasGrid(player1) || !hasGrid(player2)) {
+                throw new IllegalStateException("Move logs can only record games played on grids");
+            }
+            if (moveLogUsed) {
+                throw new IllegalStateException("The move log already holds a game; set a new log for the next one");
+            }
+            // Replays rebuild the grids from the log's header, so it has to describe this game
+            final int size = player1.getGrid().getSize();
+            if (moveLog.getGridSize() != size || player2.getGrid().getSize() != size) {
+                throw new IllegalStateException("The move log is for grids of size " + moveLog.getGridSize()
+                                                + ", not " + size + " and " + player2.getGrid().getSize());
+            }
+            if (moveLog.getMines() != MAX_MINES) {
+                throw new IllegalStateException("The move log is for " + moveLog.getMines() + " mines per grid, not "
+                                                + MAX_MINES);
+            }
+            moveLogUsed = true;
+        }
+        out.println("Welcome to the Game!");
+
+        // Place 3 random mines on each grid
+        out.println("Placing mines on the grids...");
+
+        if (moveLog != null) {
+            player1.getGrid().placeRandomMines(MAX_MINES, moveLog.mineSeed(0));
+            player2.getGrid().placeRandomMines(MAX_MINES, moveLog.mineSeed(1));
+        } else {
+            if (hasGrid(player1)) {
+                player1.getGrid().placeRandomMines(MAX_MINES);
+            }
+            if (hasGrid(player2)) {
+                player2.getGrid().placeRandomMines(MAX_MINES);
+            }
+        }
+
+        // Setup phase: Players place ships
+        if (hasGrid(player1)) {
             setupPhase(player1);
+        }
+        if (hasGrid(player2)) {
             setupPhase(player2);
+        }
+        logPlacements(player1, 0);
+        logPlacements(player2, 1);
 
-            System.out.println("Game started!");
+        out.println("Game started!");
 
-            int player1MineHits   = 0;
-            int player2MineHits   = 0;
-            final int maxMineHits = MAX_MINES; // Game over if a player hits this many mines
+        int player1MineHits   = 0;
+        int player2MineHits   = 0;
+        final int maxMineHits = MAX_MINES; // Game over if a player hits this many mines
 
-            while (true) {
-                try {
-                    System.out.println("Player 1's grid:");
-                    player1.getGrid().display(false); // Don't show hidden objects
-                    System.out.println("Player 1's turn:");
-                    player1.makeMove(player2.getGrid());
+        while (true) {
+            out.println("Player 1's grid:");
+            player1.getBoard().display(false, out); // Don't show hidden objects
+            out.println("Player 1's turn:");
 
-                    // Check if Player 1 hit a mine
-                    if (player1.getLastMove() != null) {
+            if (takeTurn(player1, player2).getOutcome() == MoveOutcome.MINE) {
+                player1MineHits++;
+                out.println("Player 1 hit a mine! Total mines hit: " + player1MineHits);
 
-                        int[] move = player1.getLastMove();
+                // Show both players' grids with mines revealed
+                player1.getBoard().display(true, out);
+                player2.getBoard().display(true, out);
 
-                        if (player2.getGrid().getCell(move[0], move[1]).getValue() instanceof Mine) {
+                if (player1MineHits >= maxMineHits) {
+                    out.println("Player 1 loses! You hit too many mines.");
+                    return gameOver(player2);
+                }
+            }
 
-                            System.out.println("Player 1 hit a mine! Mines revealed.");
+            if (player1.allShipsSunk(player2.getBoard())) {
+                out.println("Player 1 wins! All of Player 2's ships have been sunk.");
+                return gameOver(player1);
+            }
 
-                            // Show both players' grids with mines revealed
-                            player1.getGrid().display(true);
-                            player2.getGrid().display(true);
-                        }
-                    }
+            out.println("Player 2's grid:");
+            player2.getBoard().display(false, out); // Don't show hidden objects
+            out.println("Player 2's turn:");
 
-                    if (player1.allShipsSunk(player2.getGrid())) {
-                        System.out.println("Player 1 wins! All of Player 2's ships have been sunk.");
-                        break;
-                    }
+            if (takeTurn(player2, player1).getOutcome() == MoveOutcome.MINE) {
+                player2MineHits++;
+                out.println("Player 2 hit a mine! Total mines hit: " + player2MineHits);
 
-                } catch (GameException e) {
-                    player1MineHits++;
-                    System.out.println("Player 1 hit a mine! Total mines hit: " + player1MineHits);
+                // Show both players' grids with mines revealed
+                player1.getBoard().display(true, out);
+                player2.getBoard().display(true, out);
 
-                    if (player1MineHits >= maxMineHits) {
-                        System.out.println("Player 1 loses! You hit too many mines.");
-                        break;
-                    }
+                if (player2MineHits >= maxMineHits) {
+                    out.println("Player 2 loses! You hit too many mines.");
+                    return gameOver(player1);
                 }
+            }
+
+            if (player2.allShipsSunk(player1.getBoard())) {
+                out.println("Player 2 wins! All of Player 1's ships have been sunk.");
+                return gameOver(player2);
+            }
+        }
+    }
 
+    /**
+     * Lets a player make one move against the opponent's grid.
+     * Repeated and out-of-bounds shots come back as results; only real errors are thrown.
+     *
+     * @param player   The player whose turn it is.
+     * @param opponent The player being fired at.
+     * @return The result of the move.
+     * @throws GameException If the move fails with an error rather than an outcome.
+     */
+    private MoveResult takeTurn(final Player player,
+                                final Player opponent) throws GameException {
+        final FlightEvents.MakeMove event = new FlightEvents.MakeMove();
+
+        event.begin();
+        final MoveResult result = player.makeMove(opponent.getBoard());
+        if (event.shouldCommit()) {
+            event.boardSize = opponent.getBoard().getSize();
+            event.player = player.getName();
+            event.outcome = result.getOutcome().name();
+            event.commit();
+        }
+
+        // Let the opponent know where the shot landed
+        final int[] move = player.getLastMove();
+        if (move != null && result.getOutcome() != MoveOutcome.OUT_OF_BOUNDS) {
+            opponent.opponentMoved(move[0], move[1], result);
+            if (moveLog != null) {
                 try {
-                    System.out.println("Player 2's grid:");
-                    player2.getGrid().display(false); // Don't show hidden objects
-
-                    System.out.println("Player 2's turn:");
-                    player2.makeMove(player1.getGrid());
-
-                    // Check if Player 2 hit a mine
-                    if (player2.getLastMove() != null) {
-                        int[] move = player2.getLastMove();
-
-                        if (player1.getGrid().getCell(move[0], move[1]).getValue() instanceof Mine) {
-                            System.out.println("Player 2 hit a mine! Mines revealed.");
-
-                            // Show both players' grids with mines revealed
-                            player1.getGrid().display(true);
-                            player2.getGrid().display(true);
-                        }
-                    }
-
-                    if (player2.allShipsSunk(player1.getGrid())) {
-                        System.out.println("Player 2 wins! All of Player 1's ships have been sunk.");
-                        break;
-                    }
-                } catch (GameException e) {
-                    player2MineHits++;
-                    System.out.println("Player 2 hit a mine! Total mines hit: " + player2MineHits);
-
-                    if (player2MineHits >= maxMineHits) {
-                        System.out.println("Player 2 loses! You hit too many mines.");
-                        break;
-                    }
+                    moveLog.appendShot(player == player1 ? 0 : 1, move[0], move[1], result);
+                } catch (final IOException e) {
+                    throw new UncheckedIOException(e);
                 }
             }
+            if (events != null) {
+                publishShot(player == player1 ? 0 : 1, move[0], move[1], result, opponent.getBoard());
+            }
+        }
+        return result;
+    }
 
-            // After the game ends, prompt if they want to play again
-            System.out.print("Do you want to play again? (y/n): ");
-            String replayChoice = scanner.next();
+    /**
+     * Publishes a shot and what it did on the event bus.
+     *
+     * @param shooter       The index of the player who fired, 0 or 1.
+     * @param x             The x-coordinate of the shot.
+     * @param y             The y-coordinate of the shot.
+     * @param result        The result of the shot.
+     * @param opponentBoard The board that was fired at.
+     */
+    private void publishShot(final int shooter,
+                             final int x,
+                             final int y,
+                             final MoveResult result,
+                             final Board<GameObject> opponentBoard) {
+
+        events.publish(GameEventType.SHOT, shooter, x, y, 0);
+        switch (result.getOutcome()) {
+            case HIT -> {
+                events.publish(GameEventType.HIT, shooter, x, y, 0);
+                if (opponentBoard.objectAt(x, y) instanceof Ship ship && ship.isSunk()) {
+                    final int length = ship.getVessel() == null ? 1 : ship.getVessel().getLength();
+                    events.publish(GameEventType.SUNK, shooter, x, y, length);
+                }
+            }
+            case MISS -> events.publish(GameEventType.MISS, shooter, x, y, result.getHint());
+            case MINE -> events.publish(GameEventType.MINE, shooter, x, y, 0);
+            default -> { }
+        }
+    }
 
-            if (!replayChoice.equalsIgnoreCase("y")) {
+    /**
+     * Publishes the end of a game on the event bus, if one is set.
+     *
+     * @param winner The player who won.
+     * @return The winner, so callers can return it directly.
+     */
+    private Player gameOver(final Player winner) {
+        if (events != null) {
+            events.publish(GameEventType.GAME_OVER, winner == player1 ? 0 : 1, -1, -1, 0);
+        }
+        return winner;
+    }
 
-                System.out.println("Thanks for playing!");
-                break; // Exit the game loop if the user doesn't want to play again
-            } else {
+    /**
+     * Appends the ships a player placed during setup to the move log, if one is set.
+     *
+     * @param player The player who placed the ships.
+     * @param owner  The player's index in the log, 0 or 1.
+     */
+    private void logPlacements(final Player player,
+                               final int owner) {
+
+        if (moveLog == null) {
+            return;
+        }
 
-                // Reset the players and grids for a new game
-                player1.getGrid().reset();
-                player2.getGrid().reset();
+        final Grid<GameObject> grid = player.getGrid();
+        final int size = grid.getSize();
+        try {
+            for (int index = 0; index < size * size; index++) {
+                if (grid.valueAt(index) instanceof Ship) {
+                    moveLog.appendPlacement(owner, index / size, index % size, MoveLog.SHIP);
+                }
             }
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
         }
     }
 
+    /**
+     * Returns whether a player plays on their own grid, which has to be set up before the game,
+     * rather than on a generated board.
+     *
+     * @param player The player.
+     * @return {@code true} if opponents fire at the player's grid.
+     */
+    private static boolean hasGrid(final Player player) {
+        return player.getBoard() == player.getGrid();
+    }
+
     private void setupPhase(final Player player) {
-        System.out.println(player.getName() + ", place your ships!");
+        final FlightEvents.Placement event = new FlightEvents.Placement();
+        event.begin();
+
+        placeShips(player);
+
+        if (event.shouldCommit()) {
+            event.boardSize = player.getGrid().getSize();
+            event.objectType = "Ship";
+            event.count = MAX_SHIPS;
+            event.commit();
+        }
+    }
+
+    /**
+     * Has a player place their ships, prompting for each one unless the player places them automatically.
+     *
+     * @param player The player placing ships.
+     */
+    private void placeShips(final Player player) {
+        // Some players, such as the AI, place their own ships without prompting
+        if (player.placeShipsAutomatically(MAX_SHIPS)) {
+            out.println(player.getName() + " has placed its ships.");
+            return;
+        }
+
+        out.println(player.getName() + ", place your ships!");
         player.displayGrid(true); // Show grid with ships during setup
 
-        for (int i = 1; i <= 3; i++) {
-            System.out.println("Placing ship " + i + ":");
+        for (int i = 1; i <= MAX_SHIPS; i++) {
+            out.println("Placing ship " + i + ":");
             while (true) {
                 try {
 
@@ -152,8 +432,12 @@ class GameManager {
                     player.placeObject(x, y, new Ship());
                     break;
 
+                } catch (final InputMismatchException e) {
+                    out.println("Invalid position. Try again.");
+                } catch (final NoSuchElementException e) {
+                    throw e;  // Out of input, so asking again would never end
                 } catch (final Exception e) {
-                    System.out.println("Invalid position. Try again.");
+                    out.println("Invalid position. Try again.");
                 }
             }
             player.displayGrid(true); // Update grid after each placement
@@ -161,9 +445,19 @@ class GameManager {
     }
 
     private int getInput(final String prompt) {
-        System.out.print(prompt);
-        final Scanner scanner = new Scanner(System.in);
-        return scanner.nextInt();
+        out.print(prompt);
+
+        final FlightEvents.InputWait event = new FlightEvents.InputWait();
+        event.begin();
+
+        final int value = input.nextInt();
+
+        if (event.shouldCommit()) {
+            event.boardSize = player1.getGrid().getSize();
+            event.value = value;
+            event.commit();
+        }
+        return value;
     }
 
 
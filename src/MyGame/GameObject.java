@@ -11,10 +11,14 @@ abstract class GameObject {
      * This method must be implemented by subclasses to specify
      * how different game objects interact with players.
      *
+     * Ordinary game events, such as hitting a mine, are reported through the returned
+     * {@link MoveResult} rather than thrown.
+     *
      * @param player The player interacting with the game object.
+     * @return The result of the interaction.
      * @throws GameException If the interaction results in an error or invalid action.
      */
-    public abstract void interact(final Player player) throws GameException;
+    public abstract MoveResult interact(final Player player) throws GameException;
 
     /**
      * Returns a string representation of the game object.
@@ -0,0 +1,226 @@
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Serves BattleSweeper over TCP. Every connection plays one game as a {@link RemotePlayer}
+ * against an {@link AIPlayer}, driven by its own {@link GameManager} on its own virtual thread,
+ * so thousands of games can wait on their clients at once without tying up platform threads.
+ * <p>
+ * Every game is held in a {@link GameSessionRegistry}, which caps how many games may run at once
+ * and closes the connections of games whose clients have gone quiet.
+ * <p>
+ * When a client connects, the server sends {@code WELCOME size id}, or {@code BUSY} if it is full.
+ * The game then follows the protocol described in {@link RemotePlayer} and ends with {@code WIN} or {@code LOSE},
+ * or with {@code ERROR message} if a move failed with an error.
+ */
+final class GameServer implements AutoCloseable {
+    private static final int DEFAULT_PORT = 5522;  // Port used when none is given
+    private static final int DEFAULT_GRID_SIZE = 10;  // Board size used when none is given
+    private static final int BACKLOG = 16_384;  // Connections the operating system may queue
+    private static final int AI_MINES = 3;  // Mines the AI expects, as in GameManager
+    private static final long AI_TIME_BUDGET_NANOS = 500_000L;  // Time the AI may think per move
+    private static final int DEFAULT_MAX_SESSIONS = 100_000;  // Games that may run at once
+    private static final Duration DEFAULT_IDLE_TIMEOUT = Duration.ofMinutes(5);  // Quiet time before a game is dropped
+
+    private final int gridSize;
+    private final ServerSocket serverSocket;
+    private final ExecutorService sessions;
+    private final GameSessionRegistry registry;
+    private final AtomicLong nextSeed;
+    private final LongAdder finishedGames;
+
+    /**
+     * Opens the server socket. Call {@link #start()} to begin accepting connections.
+     *
+     * @param port     The port to listen on, or 0 for any free port.
+     * @param gridSize The size of every game's grids.
+     * @throws IOException If the port cannot be opened.
+     */
+    GameServer(final int port,
+               final int gridSize) throws IOException {
+
+        this(port, gridSize, DEFAULT_MAX_SESSIONS, DEFAULT_IDLE_TIMEOUT);
+    }
+
+    /**
+     * Opens the server socket with explicit session limits. Call {@link #start()} to begin accepting connections.
+     *
+     * @param port        The port to listen on, or 0 for any free port.
+     * @param gridSize    The size of every game's grids.
+     * @param maxSessions The most games that may run at once.
+     * @param idleTimeout How long a client may stay quiet before its game is dropped.
+     * @throws IOException If the port cannot be opened.
+     */
+    GameServer(final int port,
+               final int gridSize,
+               final int maxSessions,
+               final Duration idleTimeout) throws IOException {
+
+        this.gridSize = gridSize;
+        this.serverSocket = new ServerSocket(port, BACKLOG);
+        this.sessions = Executors.newVirtualThreadPerTaskExecutor();
+        this.registry = new GameSessionRegistry(maxSessions, idleTimeout);
+        this.nextSeed = new AtomicLong(System.nanoTime());
+        this.finishedGames = new LongAdder();
+    }
+
+    /**
+     * Starts accepting connections on a background thread.
+     */
+    void start() {
+        Thread.ofPlatform().name("battlesweeper-acceptor").start(this::acceptConnections);
+    }
+
+    /**
+     * Returns the port the server is listening on.
+     *
+     * @return The local port.
+     */
+    int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Returns the number of games currently being played.
+     *
+     * @return The number of open sessions.
+     */
+    long getActiveGames() {
+        return registry.size();
+    }
+
+    /**
+     * Returns the number of games that have ended, however they ended.
+     *
+     * @return The number of closed sessions.
+     */
+    long getFinishedGames() {
+        return finishedGames.sum();
+    }
+
+    /**
+     * Stops accepting connections, drops every running game and waits for their threads to end.
+     *
+     * @throws IOException If the server socket cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        registry.close();
+        sessions.close();
+    }
+
+    /**
+     * Accepts connections until the server socket is closed, starting a session for each.
+     */
+    private void acceptConnections() {
+        while (!serverSocket.isClosed()) {
+            try {
+                final Socket socket = serverSocket.accept();
+                sessions.submit(() -> serve(socket));
+            } catch (final SocketException e) {
+                return;  // The server socket was closed
+            } catch (final IOException e) {
+                System.err.println("Could not accept a connection: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Plays one game with the client on the other end of a socket.
+     *
+     * @param socket The client's connection.
+     */
+    private void serve(final Socket socket) {
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(),
+                                                                          StandardCharsets.US_ASCII));
+             BufferedWriter toClient = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(),
+                                                                                 StandardCharsets.US_ASCII))) {
+
+            socket.setTcpNoDelay(true);
+
+            final long seed = nextSeed.getAndIncrement();
+            final PrintStream silent = new PrintStream(OutputStream.nullOutputStream());
+            final RemotePlayer remote = new RemotePlayer("Remote", gridSize, in, toClient, seed);
+            final AIPlayer ai = new AIPlayer("Server AI", gridSize, AI_MINES, AI_TIME_BUDGET_NANOS, ~seed);
+            remote.setOutput(silent);
+            ai.setOutput(silent);
+
+            final GameSession session = registry.open(new GameManager(remote, ai, silent), () -> closeQuietly(socket));
+            if (session == null) {
+                remote.send("BUSY");
+                remote.flush();
+                return;
+            }
+
+            try {
+                remote.setActivityListener(session::touch);
+                remote.send("WELCOME " + gridSize + " " + session.getId());
+
+                final Player winner = session.withManager(manager -> {
+                    try {
+                        return manager.playGame();
+                    } catch (final GameException e) {
+                        remote.send("ERROR " + e.getMessage());
+                        return null;
+                    }
+                });
+                if (winner != null) {
+                    remote.send(winner == remote ? "WIN" : "LOSE");
+                }
+                remote.flush();
+            } finally {
+                registry.close(session.getId());
+            }
+        } catch (final IOException | UncheckedIOException e) {
+            // The client went away; there is nobody left to tell
+        } finally {
+            finishedGames.increment();
+        }
+    }
+
+    /**
+     * Closes a client connection, ignoring any error.
+     *
+     * @param socket The connection to close.
+     */
+    private static void closeQuietly(final Socket socket) {
+        try {
+            socket.close();
+        } catch (final IOException e) {
+            // Already broken; nothing more to release
+        }
+    }
+
+    /**
+     * Runs the server until the process is stopped.
+     * Arguments, all optional: port, grid size.
+     *
+     * @param args The command-line arguments.
+     * @throws IOException If the port cannot be opened.
+     */
+    public static void main(final String[] args) throws IOException {
+        final int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        final int size = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_GRID_SIZE;
+
+        final GameServer server = new GameServer(port, size);
+        server.start();
+        System.out.println("BattleSweeper server listening on port " + server.getPort());
+    }
+}
@@ -0,0 +1,102 @@
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * One game held by a {@link GameSessionRegistry}.
+ * All work on the session's {@link GameManager} goes through {@link #withManager(Function)},
+ * which runs it under the session's own lock, so a game is only ever touched by one thread at a time
+ * and separate games never wait on each other.
+ */
+final class GameSession {
+    private final long id;
+    private final GameManager manager;
+    private final Runnable onClose;
+    private final ReentrantLock lock;
+    private volatile long lastActiveNanos;
+    private volatile boolean closed;
+
+    /**
+     * Constructs a session; only the registry creates sessions.
+     *
+     * @param id      The session's ID.
+     * @param manager The game played in this session.
+     * @param onClose Releases anything tied to the session, such as a client connection.
+     */
+    GameSession(final long id,
+                final GameManager manager,
+                final Runnable onClose) {
+
+        this.id = id;
+        this.manager = manager;
+        this.onClose = onClose;
+        this.lock = new ReentrantLock();
+        this.lastActiveNanos = System.nanoTime();
+    }
+
+    /**
+     * Returns the session's ID.
+     *
+     * @return The ID used to look the session up in its registry.
+     */
+    long getId() {
+        return id;
+    }
+
+    /**
+     * Runs an action on the session's game while holding the session's lock.
+     *
+     * @param action The work to do with the game.
+     * @param <R>    The type of the action's result.
+     * @return The action's result.
+     * @throws IllegalStateException If the session has been closed.
+     */
+    <R> R withManager(final Function<GameManager, R> action) {
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Session " + id + " is closed");
+            }
+            touch();
+            return action.apply(manager);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records activity, so the session is not evicted as idle.
+     */
+    void touch() {
+        lastActiveNanos = System.nanoTime();
+    }
+
+    /**
+     * Returns how long the session has been idle.
+     *
+     * @param now The current {@link System#nanoTime()}.
+     * @return The time since the last activity, in nanoseconds.
+     */
+    long idleNanos(final long now) {
+        return now - lastActiveNanos;
+    }
+
+    /**
+     * Returns whether the session has been closed.
+     *
+     * @return {@code true} if the session is closed.
+     */
+    boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Closes the session and releases what is tied to it. Closing twice does nothing.
+     * This does not wait for the lock, so an idle session can be closed while its thread is blocked.
+     */
+    void close() {
+        if (!closed) {
+            closed = true;
+            onClose.run();
+        }
+    }
+}
@@ -0,0 +1,134 @@
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Holds every running {@link GameSession}, keyed by game ID.
+ * Sessions live in a {@link ConcurrentHashMap}, so opening, finding and closing games never
+ * contend on a single monitor. The number of sessions is capped, and a background sweep closes
+ * sessions that have been idle for longer than the timeout, so their games can be garbage-collected.
+ */
+final class GameSessionRegistry implements AutoCloseable {
+    private final ConcurrentHashMap<Long, GameSession> sessions;
+    private final AtomicInteger size;
+    private final AtomicLong nextId;
+    private final int maxSessions;
+    private final long idleTimeoutNanos;
+    private final ScheduledExecutorService sweeper;
+
+    /**
+     * Constructs a registry and starts its idle sweep.
+     *
+     * @param maxSessions The most sessions that may be open at once.
+     * @param idleTimeout How long a session may go without activity before it is closed.
+     * @throws IllegalArgumentException If the limit or timeout is not positive.
+     */
+    GameSessionRegistry(final int maxSessions,
+                        final Duration idleTimeout) {
+
+        if (maxSessions <= 0 || idleTimeout.isNegative() || idleTimeout.isZero()) {
+            throw new IllegalArgumentException("Session limit and idle timeout must be positive");
+        }
+        this.sessions = new ConcurrentHashMap<>();
+        this.size = new AtomicInteger();
+        this.nextId = new AtomicLong(1L);
+        this.maxSessions = maxSessions;
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+
+        final long period = Math.max(idleTimeoutNanos / 2, TimeUnit.MILLISECONDS.toNanos(1));
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(task -> {
+            final Thread thread = new Thread(task, "battlesweeper-session-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.sweeper.scheduleWithFixedDelay(this::evictIdle, period, period, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Opens a session for a game.
+     *
+     * @param manager The game to hold.
+     * @param onClose Releases anything tied to the session when it is closed or evicted.
+     * @return The new session, or null if the registry is full.
+     */
+    GameSession open(final GameManager manager,
+                     final Runnable onClose) {
+
+        // Reserve a slot first, so the cap holds even when many sessions open at once
+        if (size.incrementAndGet() > maxSessions) {
+            size.decrementAndGet();
+            return null;
+        }
+
+        final GameSession session = new GameSession(nextId.getAndIncrement(), manager, onClose);
+        sessions.put(session.getId(), session);
+        return session;
+    }
+
+    /**
+     * Finds an open session.
+     *
+     * @param id The session's ID.
+     * @return The session, or null if there is no open session with that ID.
+     */
+    GameSession get(final long id) {
+        return sessions.get(id);
+    }
+
+    /**
+     * Closes a session and removes it from the registry. Closing an unknown ID does nothing.
+     *
+     * @param id The session's ID.
+     */
+    void close(final long id) {
+        final GameSession session = sessions.remove(id);
+        if (session != null) {
+            size.decrementAndGet();
+            session.close();
+        }
+    }
+
+    /**
+     * Returns the number of open sessions.
+     *
+     * @return The number of sessions.
+     */
+    int size() {
+        return size.get();
+    }
+
+    /**
+     * Closes every session that has been idle for longer than the timeout.
+     * This runs on its own in the background, but can also be called directly.
+     *
+     * @return The number of sessions closed.
+     */
+    int evictIdle() {
+        final long now = System.nanoTime();
+        int evicted = 0;
+
+        for (final GameSession session : sessions.values()) {
+            if (session.idleNanos(now) > idleTimeoutNanos && sessions.remove(session.getId(), session)) {
+                size.decrementAndGet();
+                session.close();
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    /**
+     * Stops the idle sweep and closes every session.
+     */
+    @Override
+    public void close() {
+        sweeper.shutdownNow();
+        for (final Long id : sessions.keySet()) {
+            close(id);
+        }
+    }
+}
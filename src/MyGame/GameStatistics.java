@@ -0,0 +1,51 @@
+/**
+ * A {@link GameEventHandler} that tallies shots, results and wins for each player.
+ * It runs on a bus subscriber's thread; read its totals after the subscription is closed.
+ */
+final class GameStatistics implements GameEventHandler {
+    private final long[][] counts = new long[2][GameEventType.values().length];  // Per player, per event type
+
+    @Override
+    public void onEvent(final GameEvent event,
+                        final boolean endOfBatch) {
+
+        counts[event.getPlayer()][event.getType().ordinal()]++;
+    }
+
+    /**
+     * Returns how many events of a type were about a player.
+     * For {@link GameEventType#GAME_OVER} this is the number of games the player won.
+     *
+     * @param player The player's index, 0 or 1.
+     * @param type   The event type.
+     * @return The number of events.
+     */
+    long count(final int player,
+               final GameEventType type) {
+
+        return counts[player][type.ordinal()];
+    }
+
+    /**
+     * Returns the share of a player's shots that hit a ship.
+     *
+     * @param player The player's index, 0 or 1.
+     * @return The hit rate, between 0 and 1.
+     */
+    double hitRate(final int player) {
+        final long shots = count(player, GameEventType.SHOT);
+        return shots == 0 ? 0.0 : (double) count(player, GameEventType.HIT) / shots;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder text = new StringBuilder();
+        for (int player = 0; player < counts.length; player++) {
+            text.append(String.format("Player %d: %d shots, %d hits, %d misses, %d mines, %d sunk, %d wins%n",
+                                      player + 1, count(player, GameEventType.SHOT), count(player, GameEventType.HIT),
+                                      count(player, GameEventType.MISS), count(player, GameEventType.MINE),
+                                      count(player, GameEventType.SUNK), count(player, GameEventType.GAME_OVER)));
+        }
+        return text.toString();
+    }
+}
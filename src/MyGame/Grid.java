@@ -1,32 +1,86 @@
+import java.io.PrintStream;
 import java.util.*;
-import java.util.stream.IntStream;
 
 /**
  * Represents a game grid that holds cells containing game objects.
  * The grid is used for placing and displaying ships, mines, and other game objects.
  * This class provides methods for managing and interacting with the grid,
  * including placing mines, displaying the grid, and counting nearby mines.
+ * It is the bounded kind of {@link Board}, with every cell stored.
+ * <p>
+ * Cells are stored in a flat {@code byte[]} indexed by {@code x * size + y}. Each byte encodes
+ * what kind of value the cell holds and whether it has been revealed, so a board costs close to
+ * one byte per cell. Mines carry no state of their own, so every mine cell shares one instance;
+ * any other value (such as a {@link Ship}) is kept in a sparse side table keyed by cell index.
+ * Mines are also tracked in a bitset, and a per-cell table of adjacent mine counts is kept up to
+ * date as mines are placed or removed, so hint lookups are a single array read.
+ * Revealed cells are mirrored in a bitset as well, which makes "already targeted" checks and copies
+ * of the revealed state cheap, and counted per 32x32 region, so a summary of a large board such as
+ * the minimap of {@link GridRenderer} does not need to look at every cell.
+ * The grid also counts the ships placed on it that have not been revealed yet, so checking
+ * whether every ship has been sunk does not need a scan of the board.
+ * <p>
+ * A Zobrist hash of the board (which cells hold mines or other values, and which are revealed) is kept
+ * up to date as cells change, so a search can recognize a position it has already evaluated in O(1).
  *
  * @param <T> The type of the objects placed in the grid (e.g., Ship, Mine).
  */
-class Grid<T> {
+class Grid<T> implements Board<T> {
 
-    private final List<List<Cell<T>>> grid;
+    private static final byte EMPTY = 0;  // Cell holds no value
+    private static final byte MINE = 1;  // Cell holds the shared mine value
+    private static final byte OBJECT = 2;  // Cell holds a value from the side table
+    private static final byte KIND_MASK = 0x03;  // Bits that encode the kind of value
+    private static final byte REVEALED = 0x04;  // Bit set once the cell has been revealed
+    private static final int MAX_SIZE = 46_340;  // Largest size whose cell count fits in an int
+    private static final long ZOBRIST_SALT = 0x2545F4914F6CDD1DL;  // Mixed into every Zobrist key
+    private static final int DEFAULT_VIEWPORT = 20;  // Rows and columns display shows of a larger board
+    static final int REGION_SHIFT = 5;  // Regions are 2^5 = 32 cells on a side
+    static final byte REGION_SHIP = 1;  // Region mark: a ship in the region has been revealed
+    static final byte REGION_MINE = 2;  // Region mark: a mine in the region has been revealed
+
+    private final int size;
+    private final byte[] cells;
+    private final Map<Integer, T> objects;  // Non-mine values, keyed by flat cell index
+    private final long[] mineBits;  // One bit per cell, set where a mine is placed
+    private final long[] revealedBits;  // One bit per cell, set where the cell has been revealed
+    private final byte[] nearbyMines;  // Number of mines in the eight cells around each cell
+    private T mine;  // The value returned for every mine cell
+    private int remainingShips;  // Ships on the grid that have not been revealed yet
+    private boolean consistencyChecks;  // Whether to verify the ship counter against a full scan
+    private long hash;  // Zobrist hash of the kinds and revealed flags of every cell
+    private GridRenderer renderer;  // Reused by display, created on first use
+    private int viewport = DEFAULT_VIEWPORT;  // Rows and columns of a larger board that display shows
+    private int lastShot = -1;  // Flat index of the cell most recently revealed by a shot, or -1
+    private final int regionsPerSide;
+    private final short[] regionRevealed;  // Revealed cells in each region, row-major by region
+    private final byte[] regionMarks;  // REGION_SHIP and REGION_MINE flags of each region
+    private final MoveValidator boundsValidator;  // Accepts coordinates on the grid
+    private final MoveValidator shotValidator;  // Accepts cells on the grid that have not been revealed
+    private final MoveValidator placementValidator;  // Accepts cells on the grid that hold nothing
 
     /**
      * Constructs a grid of the given size, initializing each cell with a null value.
      *
      * @param size The size of the grid (number of rows and columns).
+     * @throws IllegalArgumentException If the size is negative or too large to index.
      */
     public Grid(final int size) {
-        grid = new ArrayList<>();
-        for (int i = 0; i < size; i++) {
-            List<Cell<T>> row = new ArrayList<>();
-            for (int j = 0; j < size; j++) {
-                row.add(new Cell<>());
-            }
-            grid.add(row);
+        if (size < 0 || size > MAX_SIZE) {
+            throw new IllegalArgumentException("Grid size must be between 0 and " + MAX_SIZE + ": " + size);
         }
+        this.size = size;
+        this.cells = new byte[size * size];
+        this.objects = new HashMap<>();
+        this.mineBits = new long[(size * size + Long.SIZE - 1) / Long.SIZE];
+        this.revealedBits = new long[mineBits.length];
+        this.nearbyMines = new byte[size * size];
+        this.regionsPerSide = (size + (1 << REGION_SHIFT) - 1) >> REGION_SHIFT;
+        this.regionRevealed = new short[regionsPerSide * regionsPerSide];
+        this.regionMarks = new byte[regionRevealed.length];
+        this.boundsValidator = MoveValidator.inBounds(size);
+        this.shotValidator = boundsValidator.and(MoveValidator.notRevealed(this));
+        this.placementValidator = boundsValidator.and(MoveValidator.emptyCell(this));
     }
 
     /**
@@ -34,8 +88,9 @@ class Grid<T> {
      *
      * @return The size of the grid.
      */
+    @Override
     public int getSize() {
-        return grid.size();
+        return size;
     }
 
     /**
@@ -48,7 +103,7 @@ class Grid<T> {
     public Cell<T> getCell(final int x,
                            final int y) {
 
-        return grid.get(x).get(y);
+        return new Cell<>(this, indexOf(x, y));
     }
 
     /**
@@ -62,7 +117,407 @@ class Grid<T> {
                         final int y,
                         final T value) {
 
-        grid.get(x).get(y).setValue(value);
+        storeAt(indexOf(x, y), value);
+    }
+
+    /**
+     * Converts coordinates to a flat cell index, rejecting positions outside the grid.
+     *
+     * @param x The row index of the cell.
+     * @param y The column index of the cell.
+     * @return The flat index of the cell.
+     * @throws IndexOutOfBoundsException If the coordinates are outside the grid.
+     */
+    private int indexOf(final int x,
+                        final int y) {
+
+        if (x < 0 || x >= size || y < 0 || y >= size) {
+            throw new IndexOutOfBoundsException("Cell (" + x + ", " + y + ") is outside a grid of size " + size);
+        }
+        return x * size + y;
+    }
+
+    /**
+     * Returns whether the coordinates are on the grid.
+     *
+     * @param x The row index of the cell.
+     * @param y The column index of the cell.
+     * @return {@code true} if the cell exists; {@code false} if it is outside the grid.
+     */
+    @Override
+    public boolean contains(final int x,
+                            final int y) {
+
+        return boundsValidator.isValidMove(x, y);
+    }
+
+    /**
+     * Returns whether the cell at the given coordinates has been revealed.
+     *
+     * @param x The row index of the cell.
+     * @param y The column index of the cell.
+     * @return {@code true} if the cell is revealed; {@code false} otherwise.
+     * @throws IndexOutOfBoundsException If the coordinates are outside the grid.
+     */
+    @Override
+    public boolean isRevealedAt(final int x,
+                                final int y) {
+
+        return isRevealedAt(indexOf(x, y));
+    }
+
+    /**
+     * Returns the value of the cell at the given coordinates.
+     *
+     * @param x The row index of the cell.
+     * @param y The column index of the cell.
+     * @return The value of the cell, or null if it is empty.
+     * @throws IndexOutOfBoundsException If the coordinates are outside the grid.
+     */
+    @Override
+    public T objectAt(final int x,
+                      final int y) {
+
+        return valueAt(indexOf(x, y));
+    }
+
+    /**
+     * Reveals the cell a shot landed on. An empty cell reports its mine hint; any other value
+     * is a {@link GameObject} that decides what the shot does, such as a ship being hit.
+     * The shot must already have passed {@link #shotValidator()}.
+     *
+     * @param shooter The player who fired.
+     * @param x       The row index of the cell.
+     * @param y       The column index of the cell.
+     * @return The result of the shot.
+     * @throws GameException If the cell holds something that is not a game object, or the object fails.
+     * @throws IndexOutOfBoundsException If the coordinates are outside the grid.
+     */
+    @Override
+    public MoveResult resolveShot(final Player shooter,
+                                  final int x,
+                                  final int y) throws GameException {
+
+        final int index = indexOf(x, y);
+        revealAt(index);
+        if (isEmptyAt(index)) {
+            return MoveResult.miss(nearbyMinesAt(index));
+        }
+        if (!(valueAt(index) instanceof GameObject object)) {
+            throw new GameException("Cell (" + x + ", " + y + ") holds no game object");
+        }
+        return object.interact(shooter);
+    }
+
+    /**
+     * Returns the value stored at a flat cell index.
+     *
+     * @param index The flat index of the cell.
+     * @return The value of the cell, or null if it is empty.
+     */
+    T valueAt(final int index) {
+        switch (cells[index] & KIND_MASK) {
+            case MINE:
+                return mine;
+            case OBJECT:
+                return objects.get(index);
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Stores a value at a flat cell index, keeping the revealed flag unchanged.
+     *
+     * @param index The flat index of the cell.
+     * @param value The value to store, or null to clear the cell.
+     */
+    void storeAt(final int index,
+                 final T value) {
+
+        final byte kind;
+        final int oldKind = cells[index] & KIND_MASK;
+
+        if (oldKind == OBJECT) {
+            detachShip(objects.remove(index));
+        }
+
+        if (value == null) {
+            kind = EMPTY;
+        } else if (value instanceof Mine) {
+            if (mine == null) {
+                mine = value;
+            }
+            kind = MINE;
+        } else {
+            objects.put(index, value);
+            attachShip(value);
+            kind = OBJECT;
+        }
+        cells[index] = (byte) ((cells[index] & REVEALED) | kind);
+        hash ^= zobristKey(index, oldKind) ^ zobristKey(index, kind);
+
+        // Keep the mine layer and the neighbor counts in step with the cell
+        if (oldKind == MINE && kind != MINE) {
+            mineBits[index >>> 6] &= ~(1L << index);
+            adjustNearbyMines(index, -1);
+        } else if (oldKind != MINE && kind == MINE) {
+            mineBits[index >>> 6] |= 1L << index;
+            adjustNearbyMines(index, 1);
+        }
+    }
+
+    /**
+     * Starts tracking a value as a ship on this grid if it is one.
+     *
+     * @param value The value that was just stored.
+     */
+    private void attachShip(final T value) {
+        if (value instanceof Ship ship) {
+            ship.setGrid(this);
+            if (!ship.isRevealed()) {
+                remainingShips++;
+            }
+        }
+    }
+
+    /**
+     * Stops tracking a value as a ship on this grid if it is one.
+     *
+     * @param value The value that was just removed.
+     */
+    private void detachShip(final T value) {
+        if (value instanceof Ship ship && ship.getGrid() == this) {
+            ship.setGrid(null);
+            if (!ship.isRevealed()) {
+                remainingShips--;
+            }
+        }
+    }
+
+    /**
+     * Called by a {@link Ship} on this grid when it is revealed for the first time.
+     */
+    void shipRevealed() {
+        remainingShips--;
+    }
+
+    /**
+     * Returns the number of ships on the grid that have not been revealed yet.
+     * When consistency checks are enabled, the counter is compared against a full scan of the grid.
+     *
+     * @return The number of remaining ships.
+     * @throws IllegalStateException If consistency checks are enabled and the counter is wrong.
+     */
+    public int getRemainingShips() {
+        if (consistencyChecks) {
+            final int scanned = countRemainingShipsByScan();
+            if (scanned != remainingShips) {
+                throw new IllegalStateException("Ship counter is " + remainingShips + " but a scan found " + scanned);
+            }
+        }
+        return remainingShips;
+    }
+
+    /**
+     * Returns whether every ship placed on the grid has been revealed.
+     *
+     * @return {@code true} if no ship is left.
+     */
+    @Override
+    public boolean allShipsSunk() {
+        return getRemainingShips() == 0;
+    }
+
+    /**
+     * Enables or disables checking the ship counter against a full scan on every read.
+     * This is meant for tests; it makes {@link #getRemainingShips()} O(n) again.
+     *
+     * @param enabled Whether to check the counter.
+     */
+    void setConsistencyChecks(final boolean enabled) {
+        this.consistencyChecks = enabled;
+    }
+
+    /**
+     * Counts the unrevealed ships by looking at every cell of the grid.
+     *
+     * @return The number of unrevealed ships found.
+     */
+    private int countRemainingShipsByScan() {
+        int count = 0;
+
+        for (int i = 0; i < cells.length; i++) {
+            if (valueAt(i) instanceof Ship ship && !ship.isRevealed()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Adds a delta to the nearby-mine count of every cell around a flat index.
+     *
+     * @param index The flat index of the cell whose mine was added or removed.
+     * @param delta The change to apply to each neighbor's count.
+     */
+    private void adjustNearbyMines(final int index,
+                                   final int delta) {
+
+        final int x = index / size;
+        final int y = index % size;
+        final int minX = Math.max(x - 1, 0);
+        final int maxX = Math.min(x + 1, size - 1);
+        final int minY = Math.max(y - 1, 0);
+        final int maxY = Math.min(y + 1, size - 1);
+
+        for (int i = minX; i <= maxX; i++) {
+            for (int j = minY; j <= maxY; j++) {
+                if (i != x || j != y) {
+                    final int neighbor = i * size + j;
+                    nearbyMines[neighbor] = (byte) (nearbyMines[neighbor] + delta);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns whether the cell at a flat index holds a mine.
+     *
+     * @param index The flat index of the cell.
+     * @return {@code true} if the cell holds a mine; {@code false} otherwise.
+     */
+    boolean isMineAt(final int index) {
+        return (mineBits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Returns whether the cell at a flat index holds no value.
+     *
+     * @param index The flat index of the cell.
+     * @return {@code true} if the cell is empty; {@code false} otherwise.
+     */
+    boolean isEmptyAt(final int index) {
+        return (cells[index] & KIND_MASK) == EMPTY;
+    }
+
+    /**
+     * Returns the number of mines around the cell at a flat index.
+     *
+     * @param index The flat index of the cell.
+     * @return The number of mines in neighboring cells.
+     */
+    int nearbyMinesAt(final int index) {
+        return nearbyMines[index];
+    }
+
+    /**
+     * Returns whether the cell at a flat index has been revealed.
+     *
+     * @param index The flat index of the cell.
+     * @return {@code true} if the cell is revealed; {@code false} otherwise.
+     */
+    boolean isRevealedAt(final int index) {
+        return (revealedBits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Returns the validator for shots at this grid: the cell must be on the grid and not yet revealed.
+     *
+     * @return The shot rules.
+     */
+    @Override
+    public MoveValidator shotValidator() {
+        return shotValidator;
+    }
+
+    /**
+     * Returns the validator for placing objects on this grid: the cell must be on the grid and hold nothing.
+     *
+     * @return The placement rules.
+     */
+    MoveValidator placementValidator() {
+        return placementValidator;
+    }
+
+    /**
+     * Marks the cell at a flat index as revealed.
+     *
+     * @param index The flat index of the cell.
+     */
+    void revealAt(final int index) {
+        if ((cells[index] & REVEALED) == 0) {
+            cells[index] |= REVEALED;
+            revealedBits[index >>> 6] |= 1L << index;
+            hash ^= zobristKey(index, REVEALED);
+            lastShot = index;
+
+            final int region = regionOf(index / size, index % size);
+            regionRevealed[region]++;
+            if ((cells[index] & KIND_MASK) == MINE) {
+                regionMarks[region] |= REGION_MINE;
+            } else if ((cells[index] & KIND_MASK) == OBJECT && objects.get(index) instanceof Ship) {
+                regionMarks[region] |= REGION_SHIP;
+            }
+        }
+    }
+
+    /**
+     * Returns the cell most recently revealed by a shot, which {@link #display} keeps in view.
+     * Cells opened up by {@link #revealEmptyArea(int, int)} do not count.
+     *
+     * @return The flat index of the cell, or -1 if nothing has been revealed since the grid was built or reset.
+     */
+    int getLastShot() {
+        return lastShot;
+    }
+
+    /**
+     * Returns the number of regions along each side of the grid; see {@link #REGION_SHIFT}.
+     *
+     * @return The regions per side.
+     */
+    int getRegionsPerSide() {
+        return regionsPerSide;
+    }
+
+    /**
+     * Returns how many cells of a region have been revealed.
+     *
+     * @param regionRow    The row of the region.
+     * @param regionColumn The column of the region.
+     * @return The revealed cell count.
+     */
+    int regionRevealedAt(final int regionRow,
+                         final int regionColumn) {
+
+        return regionRevealed[regionRow * regionsPerSide + regionColumn];
+    }
+
+    /**
+     * Returns what has been revealed in a region besides empty cells.
+     *
+     * @param regionRow    The row of the region.
+     * @param regionColumn The column of the region.
+     * @return The {@link #REGION_SHIP} and {@link #REGION_MINE} flags of the region.
+     */
+    byte regionMarksAt(final int regionRow,
+                       final int regionColumn) {
+
+        return regionMarks[regionRow * regionsPerSide + regionColumn];
+    }
+
+    /**
+     * Returns the region a cell is in.
+     *
+     * @param x The row index of the cell.
+     * @param y The column index of the cell.
+     * @return The index of the region, row-major by region.
+     */
+    private int regionOf(final int x,
+                         final int y) {
+
+        return (x >> REGION_SHIFT) * regionsPerSide + (y >> REGION_SHIFT);
     }
 
     /**
@@ -72,62 +527,152 @@ class Grid<T> {
      * @param numMines The number of mines to place.
      */
     public void placeRandomMines(final int numMines) {
+        placeRandomMines(numMines, new SplittableRandom());
+    }
 
-        Random random = new Random();
-        final Set<String> usedCoordinates = new HashSet<>(); // To ensure unique mine placements
+    /**
+     * Places a number of mines on the grid at positions chosen from a fixed seed,
+     * so the same seed always produces the same board.
+     *
+     * @param numMines The number of mines to place.
+     * @param seed     The seed for choosing mine positions.
+     */
+    public void placeRandomMines(final int numMines,
+                                 final long seed) {
 
-        IntStream.range(0, numMines).forEach(i -> {
-            int x, y;
-            do {
-                x = random.nextInt(getSize()); // Random row
-                y = random.nextInt(getSize()); // Random column
-            } while (usedCoordinates.contains(x + "," + y)); // Check if already used
+        placeRandomMines(numMines, new SplittableRandom(seed));
+    }
 
-            usedCoordinates.add(x + "," + y); // Mark this coordinate as used
-            setCell(x, y, (T) new Mine()); // Place a mine
-        });
+    /**
+     * Places a number of mines on the grid at unique positions drawn from the given generator.
+     * Positions are sampled with Floyd's algorithm over flat cell indices, which makes exactly
+     * one draw per mine no matter how dense the board is. The positions drawn so far are kept in a
+     * bitset over the cells, or in a hash set when there are fewer mines than words in that bitset,
+     * so a few mines on a very large board do not pay for a bit per cell.
+     *
+     * @param numMines The number of mines to place.
+     * @param random   The generator used to choose mine positions.
+     * @throws IllegalArgumentException If the number of mines is negative or exceeds the number of cells.
+     */
+    @SuppressWarnings("unchecked")
+    public void placeRandomMines(final int numMines,
+                                 final SplittableRandom random) {
+
+        final int cellCount = cells.length;
+
+        if (numMines < 0 || numMines > cellCount) {
+            throw new IllegalArgumentException("Cannot place " + numMines + " mines on " + cellCount + " cells");
+        }
+
+        final FlightEvents.Placement event = new FlightEvents.Placement();
+        event.begin();
+
+        // To ensure unique mine placements: a bitset for dense boards, a hash set for sparse ones
+        final boolean sparse = numMines < mineBits.length;
+        final long[] chosenBits = sparse ? null : new long[mineBits.length];
+        final LongMap<Boolean> chosenSet = sparse ? new LongMap<>() : null;
+        final T newMine = (T) new Mine();
+
+        for (int j = cellCount - numMines; j < cellCount; j++) {
+            int index = random.nextInt(j + 1);
+
+            // If the draw was already taken, j itself has never been a candidate before, so take it instead
+            if (sparse ? chosenSet.get(index) != null : (chosenBits[index >>> 6] & (1L << index)) != 0) {
+                index = j;
+            }
+            if (sparse) {
+                chosenSet.put(index, Boolean.TRUE);
+            } else {
+                chosenBits[index >>> 6] |= 1L << index;
+            }
+            storeAt(index, newMine); // Place a mine
+        }
+
+        if (event.shouldCommit()) {
+            event.boardSize = size;
+            event.objectType = "Mine";
+            event.count = numMines;
+            event.commit();
+        }
     }
 
     /**
      * Displays the grid in a user-friendly format.
      * Shows or hides objects based on the provided `showObjects` flag.
+     * The whole frame is formatted into a reusable buffer and printed with a single write.
+     * A board larger than the viewport is shown as a window around the last shot plus a minimap
+     * of the whole board; see {@link #setViewport(int)}.
      *
      * @param showObjects If true, shows objects like ships and mines; otherwise, hides them.
      */
     public void display(final boolean showObjects) {
-        System.out.print("     ");
+        display(showObjects, System.out);
+    }
 
-        for (int j = 0; j < grid.size(); j++) {
-            System.out.print(j + "   ");
-        }
-        System.out.println();
+    /**
+     * Displays the grid on the given stream in the same format as {@link #display(boolean)}.
+     *
+     * @param showObjects If true, shows objects like ships and mines; otherwise, hides them.
+     * @param out         The stream to print the grid to.
+     */
+    @Override
+    public void display(final boolean showObjects,
+                        final PrintStream out) {
+
+        final FlightEvents.Display event = new FlightEvents.Display();
+        event.begin();
 
-        System.out.print("   ");
-        System.out.println("-".repeat(4 * grid.size() + 1));
+        if (renderer == null) {
+            renderer = new GridRenderer(false, viewport);
+        }
+        renderer.render(this, showObjects, out);
 
-        for (int i = 0; i < grid.size(); i++) {
-            System.out.print(" " + i + " |");
+        if (event.shouldCommit()) {
+            event.boardSize = size;
+            event.showObjects = showObjects;
+            event.commit();
+        }
+    }
 
-            for (int j = 0; j < grid.get(i).size(); j++) {
+    /**
+     * Sets how many rows and columns {@link #display} shows of a board larger than that.
+     *
+     * @param viewport The number of rows and columns in view, or 0 to always show the whole board.
+     * @throws IllegalArgumentException If the viewport is negative.
+     */
+    public void setViewport(final int viewport) {
+        if (viewport < 0) {
+            throw new IllegalArgumentException("Viewport must not be negative: " + viewport);
+        }
+        this.viewport = viewport;
+        this.renderer = null;
+    }
 
-                T value = grid.get(i).get(j).getValue();
+    /**
+     * Returns how many rows and columns {@link #display} shows of a board larger than that.
+     *
+     * @return The viewport, or 0 if the whole board is always shown.
+     */
+    @Override
+    public int getViewport() {
+        return viewport;
+    }
 
-                if (value instanceof Ship ship) {
-                    // Show ship if revealed or during setup
-                    System.out.print((showObjects || ship.isRevealed()) ? " S |" : "   |");
-                } else if (value instanceof Mine) {
-                    // Show mine during setup or on hit
-                    System.out.print(showObjects ? " M |" : "   |");
-                } else {
-                    // Empty cell
-                    System.out.print("   |");
-                }
-            }
+    /**
+     * Moves the window {@link #display} shows of a large board. The window jumps back to the
+     * last shot when the next one is fired.
+     *
+     * @param rows    How many rows to move down; negative moves up.
+     * @param columns How many columns to move right; negative moves left.
+     */
+    @Override
+    public void scrollViewport(final int rows,
+                               final int columns) {
 
-            System.out.println();
-            System.out.print("   ");
-            System.out.println("-".repeat(4 * grid.size() + 1));
+        if (renderer == null) {
+            renderer = new GridRenderer(false, viewport);
         }
+        renderer.scroll(this, rows, columns);
     }
 
     /**
@@ -140,21 +685,325 @@ class Grid<T> {
     public int countNearbyMines(final int x,
                                 final int y) {
 
-        final int[] dx = {-1, -1, -1, 0, 0, 1, 1, 1};
-        final int[] dy = {-1, 0, 1, -1, 1, -1, 0, 1};
+        final FlightEvents.CountNearbyMines event = new FlightEvents.CountNearbyMines();
+        event.begin();
 
-        return (int) IntStream.range(0, dx.length)
-                .mapToObj(i -> new int[]{x + dx[i], y + dy[i]})
-                .filter(pos -> pos[0] >= 0 && pos[0] < grid.size() && pos[1] >= 0 && pos[1] < grid.size())
-                .map(pos -> getCell(pos[0], pos[1]).getValue())
-                .filter(value -> value instanceof Mine)
-                .count();  // Counting the mines
+        final int mines = nearbyMines[indexOf(x, y)];
+
+        if (event.shouldCommit()) {
+            event.boardSize = size;
+            event.mines = mines;
+            event.commit();
+        }
+        return mines;
     }
 
     /**
-     * Resets the grid by clearing all cells, removing any objects (mines, ships).
+     * Reveals the empty cell at the given coordinates and, if none of its neighbors hold a mine,
+     * every empty cell connected to it through other zero-hint cells, as in Minesweeper.
+     * Empty cells on the edge of the area are revealed but not expanded, and cells holding
+     * ships or mines are never revealed. The area is filled one row span at a time from a
+     * primitive queue of seeds, so even a fully empty board is handled without recursion.
+     *
+     * @param x The row index of the starting cell.
+     * @param y The column index of the starting cell.
+     * @return The number of cells that were newly revealed.
      */
+    @Override
+    public int revealEmptyArea(final int x,
+                               final int y) {
+
+        final FlightEvents.RevealEmptyArea event = new FlightEvents.RevealEmptyArea();
+        event.begin();
+
+        final int opened = openEmptyArea(indexOf(x, y));
+
+        if (event.shouldCommit()) {
+            event.boardSize = size;
+            event.cellsOpened = opened;
+            event.commit();
+        }
+        return opened;
+    }
+
+    /**
+     * Reveals the empty area around a cell, as described by {@link #revealEmptyArea(int, int)}.
+     *
+     * @param start The flat index of the cell.
+     * @return The number of cells revealed.
+     */
+    private int openEmptyArea(final int start) {
+
+        if ((cells[start] & KIND_MASK) != EMPTY) {
+            return 0;
+        }
+        if (nearbyMines[start] != 0) {
+            return revealAndCount(start / size, start % size);
+        }
+
+        final IntQueue seeds = new IntQueue();
+        int revealed = 0;
+        seeds.add(start);
+
+        while (!seeds.isEmpty()) {
+            final int seed = seeds.poll();
+
+            // A seed may have been filled by another span since it was queued
+            if (seed != start && cells[seed] != EMPTY) {
+                continue;
+            }
+
+            final int row = seed / size;
+            final int rowStart = row * size;
+            int left = seed - rowStart;
+            int right = left;
+
+            // Widen the span while the neighboring cells are hidden, empty and have no mines nearby
+            while (left > 0 && isHiddenZero(rowStart + left - 1)) {
+                left--;
+            }
+            while (right < size - 1 && isHiddenZero(rowStart + right + 1)) {
+                right++;
+            }
+            // Count the span region by region rather than cell by cell
+            final int regionStart = (row >> REGION_SHIFT) * regionsPerSide;
+            for (int j = left; j <= right; ) {
+                final int chunkEnd = Math.min(right, j | ((1 << REGION_SHIFT) - 1));
+                int opened = 0;
+                for (; j <= chunkEnd; j++) {
+                    opened += revealHiddenEmpty(rowStart + j);
+                }
+                regionRevealed[regionStart + (chunkEnd >> REGION_SHIFT)] += (short) opened;
+                revealed += opened;
+            }
+            if (left > 0) {
+                revealed += revealAndCount(row, left - 1);
+            }
+            if (right < size - 1) {
+                revealed += revealAndCount(row, right + 1);
+            }
+
+            // Look at the rows above and below, diagonals included
+            final int from = Math.max(left - 1, 0);
+            final int to = Math.min(right + 1, size - 1);
+
+            for (int nextRow = row - 1; nextRow <= row + 1; nextRow += 2) {
+                if (nextRow < 0 || nextRow >= size) {
+                    continue;
+                }
+                final int nextStart = nextRow * size;
+                boolean inRun = false;
+
+                for (int j = from; j <= to; j++) {
+                    final int index = nextStart + j;
+
+                    if (cells[index] != EMPTY) {
+                        inRun = false;
+                    } else if (nearbyMines[index] == 0) {
+                        // Queue one seed per run; the run is revealed when the seed is widened
+                        if (!inRun) {
+                            seeds.add(index);
+                            inRun = true;
+                        }
+                    } else {
+                        cells[index] = REVEALED;
+                        revealedBits[index >>> 6] |= 1L << index;
+                        hash ^= zobristKey(index, REVEALED);
+                        regionRevealed[regionOf(nextRow, j)]++;
+                        revealed++;
+                        inRun = false;
+                    }
+                }
+            }
+        }
+        return revealed;
+    }
+
+    /**
+     * Returns whether the cell at a flat index is hidden, empty and has no mines around it.
+     *
+     * @param index The flat index of the cell.
+     * @return {@code true} if the cell can be widened into during an area reveal.
+     */
+    private boolean isHiddenZero(final int index) {
+        return cells[index] == EMPTY && nearbyMines[index] == 0;
+    }
+
+    /**
+     * Reveals the cell at a flat index if it is hidden and empty.
+     * The caller counts the cell in its region.
+     *
+     * @param index The flat index of the cell.
+     * @return 1 if the cell was revealed, 0 otherwise.
+     */
+    private int revealHiddenEmpty(final int index) {
+        if (cells[index] == EMPTY) {
+            cells[index] = REVEALED;
+            revealedBits[index >>> 6] |= 1L << index;
+            hash ^= zobristKey(index, REVEALED);
+            return 1;
+        }
+        return 0;
+    }
+
+    /**
+     * Reveals a cell if it is hidden and empty, and counts it in its region.
+     *
+     * @param x The row index of the cell.
+     * @param y The column index of the cell.
+     * @return 1 if the cell was revealed, 0 otherwise.
+     */
+    private int revealAndCount(final int x,
+                               final int y) {
+
+        final int opened = revealHiddenEmpty(x * size + y);
+        regionRevealed[regionOf(x, y)] += (short) opened;
+        return opened;
+    }
+
+    /**
+     * Returns a bitset with one bit per cell, set where the cell has been revealed.
+     *
+     * @return A new bitset of the revealed cells, indexed like the cells.
+     */
+    long[] copyRevealedBits() {
+        return Arrays.copyOf(revealedBits, revealedBits.length);
+    }
+
+    /**
+     * Takes an immutable snapshot of the grid for search.
+     * This scans the grid once; snapshots forked from it with {@link GridSnapshot#afterShot(int)}
+     * share its layout and only copy the revealed cells.
+     *
+     * @return A snapshot of the grid as it is now.
+     */
+    GridSnapshot snapshot() {
+        final long[] shipBits = new long[mineBits.length];
+
+        for (final Map.Entry<Integer, T> entry : objects.entrySet()) {
+            if (entry.getValue() instanceof Ship) {
+                final int index = entry.getKey();
+                shipBits[index >>> 6] |= 1L << index;
+            }
+        }
+        return new GridSnapshot(size, Arrays.copyOf(mineBits, mineBits.length), shipBits,
+                                Arrays.copyOf(nearbyMines, nearbyMines.length), copyRevealedBits(), remainingShips,
+                                hash);
+    }
+
+    /**
+     * Reveals every cell whose bit is set, as if it had been shot; ships in those cells are revealed too.
+     *
+     * @param bits A bitset of cells to reveal, as returned by {@link #copyRevealedBits()}.
+     */
+    void revealAll(final long[] bits) {
+        for (int word = 0; word < bits.length; word++) {
+            for (long rest = bits[word]; rest != 0; rest &= rest - 1) {
+                final int index = (word << 6) + Long.numberOfTrailingZeros(rest);
+
+                revealAt(index);
+                if (valueAt(index) instanceof Ship ship) {
+                    ship.reveal();
+                }
+            }
+        }
+    }
+
+    /**
+     * Resets the grid by clearing all cells, removing any objects (mines, ships)
+     * and hiding every cell again.
+     */
+    @Override
     public void reset() {
-        grid.forEach(row -> row.forEach(cell -> cell.setValue(null))); // Clear all cells
+        final FlightEvents.Reset event = new FlightEvents.Reset();
+        event.begin();
+
+        Arrays.fill(cells, EMPTY); // Clear all cells in one pass
+        Arrays.fill(mineBits, 0L);
+        Arrays.fill(revealedBits, 0L);
+        Arrays.fill(nearbyMines, (byte) 0);
+        Arrays.fill(regionRevealed, (short) 0);
+        Arrays.fill(regionMarks, (byte) 0);
+        lastShot = -1;
+        objects.values().forEach(this::detachShip);
+        objects.clear();
+        mine = null;
+        remainingShips = 0;
+        hash = 0L;
+
+        if (event.shouldCommit()) {
+            event.boardSize = size;
+            event.commit();
+        }
+    }
+
+    /**
+     * Returns the Zobrist hash of the board: which cells hold mines or other values, and which are revealed.
+     * Two grids of the same size in the same state have the same hash, whatever order they got there in.
+     *
+     * @return The hash of the board.
+     */
+    long zobristHash() {
+        return hash;
+    }
+
+    /**
+     * Returns the Zobrist key of one feature of one cell. Keys are derived from the index instead of being
+     * stored in a table, so boards of any size share them.
+     *
+     * @param index   The flat index of the cell.
+     * @param feature {@code MINE} or {@code OBJECT} for what the cell holds, {@code REVEALED} for its flag,
+     *                or {@code EMPTY}, whose key is 0.
+     * @return The key to XOR into the hash.
+     */
+    private static long zobristKey(final int index,
+                                   final int feature) {
+
+        if (feature == EMPTY) {
+            return 0L;
+        }
+
+        // The finalizer of SplitMix64
+        long z = (((long) index << 3) | feature) * 0x9E3779B97F4A7C15L + ZOBRIST_SALT;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Returns the Zobrist key XORed into the hash when the cell at a flat index is revealed.
+     *
+     * @param index The flat index of the cell.
+     * @return The key of the cell's revealed flag.
+     */
+    static long revealKey(final int index) {
+        return zobristKey(index, REVEALED);
+    }
+
+    /**
+     * Works out the Zobrist hash a grid would have for a layout given as bitsets.
+     *
+     * @param mineBits  One bit per cell, set where a mine is.
+     * @param shipBits  One bit per cell, set where a ship is.
+     * @param revealed  One bit per cell, set where the cell has been revealed.
+     * @return The hash of the layout.
+     */
+    static long hashLayout(final long[] mineBits,
+                           final long[] shipBits,
+                           final long[] revealed) {
+
+        long hash = 0L;
+        for (int word = 0; word < mineBits.length; word++) {
+            for (long rest = mineBits[word]; rest != 0; rest &= rest - 1) {
+                hash ^= zobristKey((word << 6) + Long.numberOfTrailingZeros(rest), MINE);
+            }
+            for (long rest = shipBits[word]; rest != 0; rest &= rest - 1) {
+                hash ^= zobristKey((word << 6) + Long.numberOfTrailingZeros(rest), OBJECT);
+            }
+            for (long rest = revealed[word]; rest != 0; rest &= rest - 1) {
+                hash ^= zobristKey((word << 6) + Long.numberOfTrailingZeros(rest), REVEALED);
+            }
+        }
+        return hash;
     }
 }
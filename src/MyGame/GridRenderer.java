@@ -0,0 +1,562 @@
+import java.io.PrintStream;
+import java.util.Arrays;
+
+/**
+ * Draws a {@link Grid} as text in the same layout as {@link Grid#display(boolean)}.
+ * Each frame is formatted into a reusable byte buffer and written to the output in a single call.
+ * <p>
+ * In diff mode, the renderer remembers the last frame it drew and, as long as nothing else has been
+ * printed below it, uses ANSI cursor movement to rewrite only the lines that changed since then.
+ * <p>
+ * With a viewport, a board larger than the viewport is drawn as a window of that many rows and columns,
+ * centred on the grid's last shot and scrollable from there, followed by a minimap that shows each
+ * block of the board as one character. The window costs time in proportion to its own size, and the
+ * minimap reads the grid's per-region counters rather than its cells, so a frame of a 1000x1000 board
+ * costs about as much as one of a 20x20 board.
+ */
+final class GridRenderer {
+    private static final byte[] CELL_SHIP = {' ', 'S', ' ', '|'};  // A ship that is revealed or shown
+    private static final byte[] CELL_MINE = {' ', 'M', ' ', '|'};  // A mine that is shown
+    private static final byte[] CELL_BLANK = {' ', ' ', ' ', '|'};  // An empty or hidden cell
+    private static final byte ESCAPE = 0x1B;  // Starts an ANSI control sequence
+    private static final int INITIAL_CAPACITY = 256;  // Starting size of the frame buffers
+    private static final int MINIMAP_SIZE = 32;  // Most blocks along each side of the minimap
+
+    private final boolean diff;
+    private final int viewport;  // Rows and columns drawn of a larger board, or 0 to draw the whole board
+    private int viewRow;  // Top row of the window
+    private int viewColumn;  // Left column of the window
+    private int followedShot = -1;  // The last shot the window was centred on
+    private byte[] frame;  // The frame being drawn
+    private int[] lineEnds;  // Offset just past each line of the frame being drawn
+    private int length;  // Bytes used in the frame being drawn
+    private int lineCount;  // Lines in the frame being drawn
+    private byte[] previous;  // The last frame that was written
+    private int[] previousLineEnds;  // Line offsets of the last frame that was written
+    private int previousLineCount;  // Lines in the last frame, or 0 if nothing was written yet
+    private byte[] output;  // The bytes sent to the stream in diff mode
+
+    /**
+     * Constructs a renderer that redraws the whole grid on every frame.
+     */
+    GridRenderer() {
+        this(false);
+    }
+
+    /**
+     * Constructs a renderer, optionally in ANSI diff mode.
+     *
+     * @param diff If true, later frames only rewrite the lines that changed.
+     */
+    GridRenderer(final boolean diff) {
+        this(diff, 0);
+    }
+
+    /**
+     * Constructs a renderer that draws boards larger than a viewport as a window and a minimap.
+     *
+     * @param diff     If true, later frames only rewrite the lines that changed.
+     * @param viewport The number of rows and columns in the window, or 0 to draw whole boards.
+     */
+    GridRenderer(final boolean diff,
+                 final int viewport) {
+
+        this.diff = diff;
+        this.viewport = viewport;
+        this.frame = new byte[INITIAL_CAPACITY];
+        this.lineEnds = new int[16];
+        this.previous = new byte[INITIAL_CAPACITY];
+        this.previousLineEnds = new int[16];
+        this.output = new byte[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Draws the grid to the given stream with a single write.
+     *
+     * @param grid        The grid to draw.
+     * @param showObjects If true, shows objects like ships and mines; otherwise, hides them.
+     * @param out         The stream to write the frame to.
+     */
+    void render(final Grid<?> grid,
+                final boolean showObjects,
+                final PrintStream out) {
+
+        format(grid, showObjects);
+
+        if (diff && previousLineCount == lineCount) {
+            final int written = formatChangedLines();
+            out.write(output, 0, written);
+        } else {
+            out.write(frame, 0, length);
+        }
+        out.flush();
+
+        if (diff) {
+            keepFrame();
+        }
+    }
+
+    /**
+     * Forgets the last frame, so the next one is drawn in full.
+     * This should be called whenever other output has been printed below the grid.
+     */
+    void invalidate() {
+        previousLineCount = 0;
+    }
+
+    /**
+     * Moves the window over a large board. The window is kept on the board when it is drawn,
+     * and jumps back to the grid's last shot when a new shot is fired.
+     *
+     * @param grid    The grid being viewed.
+     * @param rows    How many rows to move down; negative moves up.
+     * @param columns How many columns to move right; negative moves left.
+     */
+    void scroll(final Grid<?> grid,
+                final int rows,
+                final int columns) {
+
+        followLastShot(grid);  // Scroll from the latest shot even if it has not been drawn yet
+        viewRow += rows;
+        viewColumn += columns;
+    }
+
+    /**
+     * Centres the window on the grid's last shot if a new shot has been fired since it was last centred.
+     *
+     * @param grid The grid being viewed.
+     */
+    private void followLastShot(final Grid<?> grid) {
+        final int size = grid.getSize();
+        final int shot = grid.getLastShot();
+        if (shot != followedShot) {
+            followedShot = shot;
+            viewRow = shot < 0 ? 0 : shot / size - viewport / 2;
+            viewColumn = shot < 0 ? 0 : shot % size - viewport / 2;
+        }
+    }
+
+    /**
+     * Formats the whole grid into the frame buffer.
+     *
+     * @param grid        The grid to format.
+     * @param showObjects If true, shows objects like ships and mines; otherwise, hides them.
+     */
+    private void format(final Grid<?> grid,
+                        final boolean showObjects) {
+
+        final int size = grid.getSize();
+        final int ruleLength = 4 * size + 1;
+
+        length = 0;
+        lineCount = 0;
+
+        if (viewport > 0 && size > viewport) {
+            formatWindow(grid, showObjects);
+            formatMinimap(grid);
+            return;
+        }
+
+        // Column numbers
+        append(' ', 5);
+        for (int j = 0; j < size; j++) {
+            appendInt(j);
+            append(' ', 3);
+        }
+        endLine();
+        appendRule(ruleLength);
+
+        for (int i = 0; i < size; i++) {
+            append(' ', 1);
+            appendInt(i);
+            append(' ', 1);
+            append('|', 1);
+
+            final int rowStart = i * size;
+            for (int j = 0; j < size; j++) {
+                append(symbolAt(grid, rowStart + j, showObjects));
+            }
+            endLine();
+            appendRule(ruleLength);
+        }
+    }
+
+    /**
+     * Formats the window of a large board, with its position on the board above it.
+     *
+     * @param grid        The grid to format.
+     * @param showObjects If true, shows objects like ships and mines; otherwise, hides them.
+     */
+    private void formatWindow(final Grid<?> grid,
+                              final boolean showObjects) {
+
+        final int size = grid.getSize();
+        followLastShot(grid);
+        viewRow = Math.max(0, Math.min(viewRow, size - viewport));
+        viewColumn = Math.max(0, Math.min(viewColumn, size - viewport));
+
+        final int labelWidth = digits(size - 1);
+        append("Rows ");
+        appendInt(viewRow);
+        append("-");
+        appendInt(viewRow + viewport - 1);
+        append(", columns ");
+        appendInt(viewColumn);
+        append("-");
+        appendInt(viewColumn + viewport - 1);
+        append(" of ");
+        appendInt(size);
+        endLine();
+
+        // Column numbers, shortened to their last three digits so each fits over its cell
+        append(' ', labelWidth + 2);
+        for (int j = viewColumn; j < viewColumn + viewport; j++) {
+            final int label = j % 1000;
+            append(' ', 1);
+            appendInt(label);
+            append(' ', 3 - digits(label));
+        }
+        endLine();
+        appendRule(labelWidth, 4 * viewport + 1);
+
+        for (int i = viewRow; i < viewRow + viewport; i++) {
+            append(' ', 1 + labelWidth - digits(i));
+            appendInt(i);
+            append(' ', 1);
+            append('|', 1);
+
+            final int rowStart = i * size;
+            for (int j = viewColumn; j < viewColumn + viewport; j++) {
+                append(symbolAt(grid, rowStart + j, showObjects));
+            }
+            endLine();
+            appendRule(labelWidth, 4 * viewport + 1);
+        }
+    }
+
+    /**
+     * Formats a minimap of a large board from its per-region counters. Each character stands for a square
+     * block of regions: '.' if nothing in it has been revealed, '-' if some of it, '+' if most of it, '#' if
+     * all of it, or 'S' or 'M' if a ship or a mine in it has been hit. Arrows mark where the window is.
+     *
+     * @param grid The grid to format.
+     */
+    private void formatMinimap(final Grid<?> grid) {
+        final int size = grid.getSize();
+        final int regions = grid.getRegionsPerSide();
+        final int regionsPerBlock = (regions + MINIMAP_SIZE - 1) / MINIMAP_SIZE;
+        final int blocks = (regions + regionsPerBlock - 1) / regionsPerBlock;
+        final int cellsPerBlock = regionsPerBlock << Grid.REGION_SHIFT;
+        final int firstBlockRow = viewRow / cellsPerBlock;
+        final int lastBlockRow = (viewRow + viewport - 1) / cellsPerBlock;
+        final int firstBlockColumn = viewColumn / cellsPerBlock;
+        final int lastBlockColumn = (viewColumn + viewport - 1) / cellsPerBlock;
+
+        endLine();
+        append("Minimap, ");
+        appendInt(cellsPerBlock);
+        append(" cells a side per mark: . - + # share revealed, S ship hit, M mine hit");
+        endLine();
+        append(" +");
+        append('-', blocks);
+        append('+', 1);
+        endLine();
+
+        for (int blockRow = 0; blockRow < blocks; blockRow++) {
+            append(" |");
+            for (int blockColumn = 0; blockColumn < blocks; blockColumn++) {
+                append(blockSymbol(grid, size, regionsPerBlock, blockRow, blockColumn), 1);
+            }
+            append('|', 1);
+            if (blockRow >= firstBlockRow && blockRow <= lastBlockRow) {
+                append(" <");
+            }
+            endLine();
+        }
+
+        append(" +");
+        append('-', blocks);
+        append('+', 1);
+        endLine();
+        append(' ', 2 + firstBlockColumn);
+        append('^', lastBlockColumn - firstBlockColumn + 1);
+        endLine();
+    }
+
+    /**
+     * Sums the regions of one minimap block into the character drawn for it.
+     *
+     * @param grid            The grid being drawn.
+     * @param size            The size of the grid.
+     * @param regionsPerBlock The number of regions along each side of a block.
+     * @param blockRow        The row of the block.
+     * @param blockColumn     The column of the block.
+     * @return The character for the block.
+     */
+    private static char blockSymbol(final Grid<?> grid,
+                                    final int size,
+                                    final int regionsPerBlock,
+                                    final int blockRow,
+                                    final int blockColumn) {
+
+        final int regions = grid.getRegionsPerSide();
+        final int fromRow = blockRow * regionsPerBlock;
+        final int fromColumn = blockColumn * regionsPerBlock;
+        final int toRow = Math.min(fromRow + regionsPerBlock, regions);
+        final int toColumn = Math.min(fromColumn + regionsPerBlock, regions);
+        long revealed = 0;
+        int marks = 0;
+
+        for (int r = fromRow; r < toRow; r++) {
+            for (int c = fromColumn; c < toColumn; c++) {
+                revealed += grid.regionRevealedAt(r, c);
+                marks |= grid.regionMarksAt(r, c);
+            }
+        }
+        if ((marks & Grid.REGION_MINE) != 0) {
+            return 'M';
+        }
+        if ((marks & Grid.REGION_SHIP) != 0) {
+            return 'S';
+        }
+
+        // The last blocks can run past the edge of the board, so count only the cells that exist
+        final long rows = Math.min(size, toRow << Grid.REGION_SHIFT) - ((long) fromRow << Grid.REGION_SHIFT);
+        final long columns = Math.min(size, toColumn << Grid.REGION_SHIFT) - ((long) fromColumn << Grid.REGION_SHIFT);
+        if (revealed == 0) {
+            return '.';
+        }
+        if (revealed == rows * columns) {
+            return '#';
+        }
+        return 2 * revealed >= rows * columns ? '+' : '-';
+    }
+
+    /**
+     * Chooses the four bytes drawn for a cell.
+     *
+     * @param grid        The grid being drawn.
+     * @param index       The flat index of the cell.
+     * @param showObjects If true, shows objects like ships and mines; otherwise, hides them.
+     * @return The bytes to draw for the cell.
+     */
+    private static byte[] symbolAt(final Grid<?> grid,
+                                   final int index,
+                                   final boolean showObjects) {
+
+        if (grid.isMineAt(index)) {
+            return showObjects ? CELL_MINE : CELL_BLANK; // Show mine during setup or on hit
+        }
+
+        final Object value = grid.valueAt(index);
+        if (value instanceof Ship ship) {
+            return (showObjects || ship.isRevealed()) ? CELL_SHIP : CELL_BLANK; // Show ship if revealed or during setup
+        }
+        return CELL_BLANK; // Empty cell
+    }
+
+    /**
+     * Writes the changed lines of the frame, with cursor movement, into the output buffer.
+     * The cursor is assumed to sit on the line just below the last frame.
+     *
+     * @return The number of bytes to write.
+     */
+    private int formatChangedLines() {
+        ensureOutput(length + 16 * lineCount);
+
+        int written = cursorMove(0, lineCount, 'A'); // Back up to the top of the frame
+        int skipped = 0;
+        int lineStart = 0;
+        int previousStart = 0;
+
+        for (int line = 0; line < lineCount; line++) {
+            final int lineEnd = lineEnds[line];
+            final int previousEnd = previousLineEnds[line];
+
+            if (Arrays.equals(frame, lineStart, lineEnd, previous, previousStart, previousEnd)) {
+                skipped++;
+            } else {
+                written = cursorMove(written, skipped, 'B');
+                skipped = 0;
+
+                // Rewrite the line from its first column and clear anything left over to its right
+                output[written++] = '\r';
+                final int contentLength = lineEnd - lineStart - 1;
+                System.arraycopy(frame, lineStart, output, written, contentLength);
+                written += contentLength;
+                output[written++] = ESCAPE;
+                output[written++] = '[';
+                output[written++] = 'K';
+                output[written++] = '\n';
+            }
+            lineStart = lineEnd;
+            previousStart = previousEnd;
+        }
+        return cursorMove(written, skipped, 'B');
+    }
+
+    /**
+     * Appends an ANSI cursor up or down sequence to the output buffer.
+     *
+     * @param offset    Where to write the sequence.
+     * @param lines     How many lines to move; nothing is written for zero.
+     * @param direction 'A' to move up or 'B' to move down.
+     * @return The offset just past the sequence.
+     */
+    private int cursorMove(final int offset,
+                           final int lines,
+                           final char direction) {
+
+        if (lines == 0) {
+            return offset;
+        }
+
+        int written = offset;
+        output[written++] = ESCAPE;
+        output[written++] = '[';
+        final String count = Integer.toString(lines);
+        for (int i = 0; i < count.length(); i++) {
+            output[written++] = (byte) count.charAt(i);
+        }
+        output[written++] = (byte) direction;
+        return written;
+    }
+
+    /**
+     * Keeps the frame just drawn so the next one can be compared against it.
+     */
+    private void keepFrame() {
+        final byte[] frameBuffer = previous;
+        final int[] lineBuffer = previousLineEnds;
+
+        previous = frame;
+        previousLineEnds = lineEnds;
+        previousLineCount = lineCount;
+        frame = frameBuffer.length >= previous.length ? frameBuffer : new byte[previous.length];
+        lineEnds = lineBuffer.length >= previousLineEnds.length ? lineBuffer : new int[previousLineEnds.length];
+    }
+
+    /**
+     * Appends a horizontal rule line.
+     *
+     * @param ruleLength The number of dashes in the rule.
+     */
+    private void appendRule(final int ruleLength) {
+        appendRule(1, ruleLength);
+    }
+
+    /**
+     * Appends a horizontal rule line that lines up with row labels of a given width.
+     *
+     * @param labelWidth The number of digits in the row labels.
+     * @param ruleLength The number of dashes in the rule.
+     */
+    private void appendRule(final int labelWidth,
+                            final int ruleLength) {
+
+        append(' ', labelWidth + 2);
+        append('-', ruleLength);
+        endLine();
+    }
+
+    /**
+     * Appends a character a number of times.
+     *
+     * @param c     The character to append.
+     * @param count How many times to append it.
+     */
+    private void append(final char c,
+                        final int count) {
+
+        ensureFrame(count);
+        Arrays.fill(frame, length, length + count, (byte) c);
+        length += count;
+    }
+
+    /**
+     * Appends a run of bytes.
+     *
+     * @param bytes The bytes to append.
+     */
+    private void append(final byte[] bytes) {
+        ensureFrame(bytes.length);
+        System.arraycopy(bytes, 0, frame, length, bytes.length);
+        length += bytes.length;
+    }
+
+    /**
+     * Appends text made only of ASCII characters.
+     *
+     * @param text The text to append.
+     */
+    private void append(final String text) {
+        ensureFrame(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            frame[length++] = (byte) text.charAt(i);
+        }
+    }
+
+    /**
+     * Appends the decimal digits of a non-negative number.
+     *
+     * @param value The number to append.
+     */
+    private void appendInt(final int value) {
+        final int digits = digits(value);
+
+        ensureFrame(digits);
+        int rest = value;
+        for (int i = length + digits - 1; i >= length; i--) {
+            frame[i] = (byte) ('0' + rest % 10);
+            rest /= 10;
+        }
+        length += digits;
+    }
+
+    /**
+     * Returns how many decimal digits a non-negative number has.
+     *
+     * @param value The number.
+     * @return The number of digits, at least 1.
+     */
+    private static int digits(final int value) {
+        int digits = 1;
+        for (int rest = value / 10; rest > 0; rest /= 10) {
+            digits++;
+        }
+        return digits;
+    }
+
+    /**
+     * Ends the current line and records where it stops.
+     */
+    private void endLine() {
+        append('\n', 1);
+        if (lineCount == lineEnds.length) {
+            lineEnds = Arrays.copyOf(lineEnds, lineCount * 2);
+        }
+        lineEnds[lineCount++] = length;
+    }
+
+    /**
+     * Grows the frame buffer so it can take a number of extra bytes.
+     *
+     * @param extra The number of bytes about to be appended.
+     */
+    private void ensureFrame(final int extra) {
+        if (length + extra > frame.length) {
+            frame = Arrays.copyOf(frame, Math.max(frame.length * 2, length + extra));
+        }
+    }
+
+    /**
+     * Grows the output buffer so it can take a number of bytes.
+     *
+     * @param capacity The number of bytes needed.
+     */
+    private void ensureOutput(final int capacity) {
+        if (output.length < capacity) {
+            output = new byte[capacity];
+        }
+    }
+}
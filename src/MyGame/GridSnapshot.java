@@ -0,0 +1,236 @@
+import java.util.Arrays;
+
+/**
+ * An immutable copy of a {@link Grid} for search: where the mines and ships are and which cells have been revealed.
+ * The layout of mines, ships and mine hints never changes once a snapshot is taken, so every snapshot forked from
+ * it shares those arrays and only owns a bitset of revealed cells. Applying a shot copies that bitset, which takes
+ * O(cells / 64) time, and leaves the original untouched, so a search can branch from any state as often as it likes.
+ */
+final class GridSnapshot {
+    private final int size;
+    private final long[] mineBits;  // Shared: one bit per cell, set where a mine is
+    private final long[] shipBits;  // Shared: one bit per cell, set where a ship is
+    private final byte[] nearbyMines;  // Shared: number of mines around each cell
+    private final long[] revealed;  // Owned: one bit per cell, set where the cell has been revealed
+    private final int remainingShips;
+    private final long hash;  // Zobrist hash, the same as a grid in this state would have
+
+    /**
+     * Constructs a snapshot over a shared layout; use {@link Grid#snapshot()} to take one.
+     */
+    GridSnapshot(final int size,
+                 final long[] mineBits,
+                 final long[] shipBits,
+                 final byte[] nearbyMines,
+                 final long[] revealed,
+                 final int remainingShips,
+                 final long hash) {
+
+        this.size = size;
+        this.mineBits = mineBits;
+        this.shipBits = shipBits;
+        this.nearbyMines = nearbyMines;
+        this.revealed = revealed;
+        this.remainingShips = remainingShips;
+        this.hash = hash;
+    }
+
+    /**
+     * Builds a snapshot of a hypothetical layout, such as one sampled by a search that cannot see the real board.
+     * The arrays are used as they are, not copied, so the caller must not change them afterwards.
+     *
+     * @param size           The size of the grid.
+     * @param mineBits       One bit per cell, set where a mine is.
+     * @param shipBits       One bit per cell, set where a ship is.
+     * @param revealed       One bit per cell, set where the cell has been revealed.
+     * @param remainingShips The number of ships that have not been revealed yet.
+     * @return The snapshot, with mine hints worked out from the mines.
+     */
+    static GridSnapshot of(final int size,
+                           final long[] mineBits,
+                           final long[] shipBits,
+                           final long[] revealed,
+                           final int remainingShips) {
+
+        final byte[] nearbyMines = new byte[size * size];
+
+        for (int word = 0; word < mineBits.length; word++) {
+            for (long rest = mineBits[word]; rest != 0; rest &= rest - 1) {
+                final int index = (word << 6) + Long.numberOfTrailingZeros(rest);
+                final int x = index / size;
+                final int y = index % size;
+
+                for (int i = Math.max(x - 1, 0); i <= Math.min(x + 1, size - 1); i++) {
+                    for (int j = Math.max(y - 1, 0); j <= Math.min(y + 1, size - 1); j++) {
+                        if (i != x || j != y) {
+                            nearbyMines[i * size + j]++;
+                        }
+                    }
+                }
+            }
+        }
+        return new GridSnapshot(size, mineBits, shipBits, nearbyMines, revealed, remainingShips,
+                                Grid.hashLayout(mineBits, shipBits, revealed));
+    }
+
+    /**
+     * Returns the size of the grid (number of rows or columns).
+     *
+     * @return The size of the grid.
+     */
+    int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the number of ships that have not been revealed yet.
+     *
+     * @return The number of remaining ships.
+     */
+    int getRemainingShips() {
+        return remainingShips;
+    }
+
+    /**
+     * Returns the Zobrist hash of the snapshot, equal to {@link Grid#zobristHash()} for a grid in the same state.
+     *
+     * @return The hash of the snapshot.
+     */
+    long zobristHash() {
+        return hash;
+    }
+
+    /**
+     * Returns whether the cell at a flat index has been revealed.
+     *
+     * @param index The flat index of the cell.
+     * @return {@code true} if the cell is revealed; {@code false} otherwise.
+     */
+    boolean isRevealedAt(final int index) {
+        return (revealed[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Returns whether the cell at a flat index holds a mine.
+     *
+     * @param index The flat index of the cell.
+     * @return {@code true} if the cell holds a mine; {@code false} otherwise.
+     */
+    boolean isMineAt(final int index) {
+        return (mineBits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Returns whether the cell at a flat index holds a ship.
+     *
+     * @param index The flat index of the cell.
+     * @return {@code true} if the cell holds a ship; {@code false} otherwise.
+     */
+    boolean isShipAt(final int index) {
+        return (shipBits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Returns the number of mines around the cell at a flat index.
+     *
+     * @param index The flat index of the cell.
+     * @return The number of mines in neighboring cells.
+     */
+    int nearbyMinesAt(final int index) {
+        return nearbyMines[index];
+    }
+
+    /**
+     * Returns a copy of the revealed cells, indexed like {@link Grid#copyRevealedBits()}.
+     *
+     * @return A new bitset of the revealed cells.
+     */
+    long[] copyRevealedBits() {
+        return Arrays.copyOf(revealed, revealed.length);
+    }
+
+    /**
+     * Returns what a shot at a cell would do, without changing anything.
+     *
+     * @param index The flat index of the target cell.
+     * @return The result the shot would have in a game.
+     */
+    MoveResult resultOf(final int index) {
+        if (isRevealedAt(index)) {
+            return MoveResult.REPEAT;
+        }
+        if (isMineAt(index)) {
+            return MoveResult.MINE;
+        }
+        if (isShipAt(index)) {
+            return MoveResult.HIT;
+        }
+        return MoveResult.miss(nearbyMines[index]);
+    }
+
+    /**
+     * Returns the snapshot after a shot at a cell, leaving this one unchanged.
+     * As in a game, a miss with no mines nearby also opens up the connected empty area
+     * the same way {@link Grid#revealEmptyArea(int, int)} does.
+     *
+     * @param index The flat index of the target cell.
+     * @return The new snapshot, or this one if the cell was already revealed.
+     */
+    GridSnapshot afterShot(final int index) {
+        if (isRevealedAt(index)) {
+            return this;
+        }
+
+        final long[] next = Arrays.copyOf(revealed, revealed.length);
+        long nextHash = hash ^ Grid.revealKey(index);
+        next[index >>> 6] |= 1L << index;
+
+        if (isShipAt(index)) {
+            return new GridSnapshot(size, mineBits, shipBits, nearbyMines, next, remainingShips - 1, nextHash);
+        }
+        if (!isMineAt(index) && nearbyMines[index] == 0) {
+            nextHash ^= openEmptyArea(index, next);
+        }
+        return new GridSnapshot(size, mineBits, shipBits, nearbyMines, next, remainingShips, nextHash);
+    }
+
+    /**
+     * Reveals the empty cells connected to a zero-hint cell through other zero-hint cells,
+     * plus the empty cells on the edge of that area.
+     *
+     * @param start The flat index of the zero-hint cell, already revealed.
+     * @param bits  The revealed bitset to update.
+     * @return The Zobrist keys of the newly revealed cells, XORed together.
+     */
+    private long openEmptyArea(final int start,
+                               final long[] bits) {
+
+        final IntQueue queue = new IntQueue();
+        long keys = 0L;
+        queue.add(start);
+
+        while (!queue.isEmpty()) {
+            final int index = queue.poll();
+            final int x = index / size;
+            final int y = index % size;
+
+            for (int i = Math.max(x - 1, 0); i <= Math.min(x + 1, size - 1); i++) {
+                for (int j = Math.max(y - 1, 0); j <= Math.min(y + 1, size - 1); j++) {
+                    final int neighbor = i * size + j;
+                    final long bit = 1L << neighbor;
+
+                    // Around a zero-hint cell there are no mines, so only ships and revealed cells stop the fill
+                    if ((bits[neighbor >>> 6] & bit) != 0 || (shipBits[neighbor >>> 6] & bit) != 0) {
+                        continue;
+                    }
+                    bits[neighbor >>> 6] |= bit;
+                    keys ^= Grid.revealKey(neighbor);
+                    if (nearbyMines[neighbor] == 0) {
+                        queue.add(neighbor);
+                    }
+                }
+            }
+        }
+        return keys;
+    }
+}
@@ -1,15 +1,20 @@
-import java.util.Scanner;
+import java.util.InputMismatchException;
 
 /**
  * Represents a human player in the game.
  * This player can interact with the game grid by making a move where the player enters coordinates.
+ * With the assist turned on, the player is also shown which cells the revealed hints prove to be safe.
+ * On a board too large to show whole, the player can scroll the view with {@code w}, {@code a}, {@code s}
+ * and {@code d} before typing a move.
  */
 class HumanPlayer extends Player {
-    private final Scanner scanner;
+    private static final int ASSIST_CELLS = 5;  // Safe cells listed before each move when assisting
+
+    private MineSolver solver;  // Works out the safe cells for the assist, or null when it is off
 
     /**
      * Constructs a new HumanPlayer with the specified name and grid size.
-     * Initializes the scanner to read user input.
+     * Moves are read from the shared console source unless another one is set.
      *
      * @param name The name of the player.
      * @param gridSize The size of the grid.
@@ -18,35 +23,96 @@ class HumanPlayer extends Player {
                        final int gridSize) {
 
         super(name, gridSize);
-        scanner = new Scanner(System.in);
     }
 
     /**
-     * Makes a move on the opponent's grid by prompting the user to enter the coordinates.
-     * If the coordinates correspond to an object, the player interacts with it.
-     * Otherwise, the player misses.
+     * Turns the assist on or off. When it is on, the player is shown a few cells that are
+     * certainly safe, and how many hidden mines are known, before each move.
+     *
+     * @param assist {@code true} to show the assist; {@code false} to hide it.
+     */
+    public void setAssist(final boolean assist) {
+        this.solver = assist ? new MineSolver() : null;
+    }
+
+    /**
+     * Makes a move on the opponent's board by prompting the user to enter the coordinates.
+     * The shot is resolved like any other player's: the cell is revealed, and any object
+     * in it interacts with the player. Scroll keys typed before the x-coordinate move the view of a large board.
+     * The assist only covers grids, whose every cell the solver can read.
      *
-     * @param opponentGrid The opponent's grid on which the move is made.
-     * @throws GameException If there is an error during the interaction (e.g., invalid move).
+     * @param opponentBoard The opponent's board on which the move is made.
+     * @return The result of the move.
+     * @throws GameException If there is an error during the interaction.
      */
     @Override
-    public void makeMove(final Grid<GameObject> opponentGrid) throws GameException {
+    public MoveResult makeMove(final Board<GameObject> opponentBoard) throws GameException {
 
-        System.out.println(name + ", enter your move (x y): ");
+        if (solver != null && opponentBoard instanceof Grid<GameObject> opponentGrid) {
+            showAssist(opponentGrid);
+        }
+        final int size = opponentBoard.getSize();
+        final int viewport = opponentBoard.getViewport();
+        final boolean scrollable = viewport > 0 && (size == 0 || size > viewport);
+        out.println(name + ", enter your move (x y)" + (scrollable ? " or w/a/s/d to scroll the view" : "") + ": ");
 
-        int x = scanner.nextInt();  // Read the x-coordinate
-        int y = scanner.nextInt();  // Read the y-coordinate
+        int x = scrollable ? readScrollOrInt(opponentBoard) : readInt(size);  // Read the x-coordinate
+        int y = readInt(size);  // Read the y-coordinate
 
-        // Retrieve the object at the specified coordinates on the opponent's grid
-        GameObject object = opponentGrid.getCell(x, y).getValue();
+        return fireAt(opponentBoard, x, y);
+    }
+
+    /**
+     * Reads a number, first scrolling the view of a large board by half a window and showing it again
+     * for every {@code w}, {@code a}, {@code s} or {@code d} typed before it.
+     *
+     * @param opponentBoard The opponent's board being viewed.
+     * @return The number.
+     * @throws InputMismatchException If a token is neither a number nor a scroll key.
+     */
+    private int readScrollOrInt(final Board<GameObject> opponentBoard) {
+        final int step = Math.max(1, opponentBoard.getViewport() / 2);
+
+        while (true) {
+            final String token = input.next();
+            switch (token) {
+                case "w" -> opponentBoard.scrollViewport(-step, 0);
+                case "s" -> opponentBoard.scrollViewport(step, 0);
+                case "a" -> opponentBoard.scrollViewport(0, -step);
+                case "d" -> opponentBoard.scrollViewport(0, step);
+                default -> {
+                    try {
+                        return Integer.parseInt(token);
+                    } catch (final NumberFormatException e) {
+                        throw new InputMismatchException("Expected a number or w/a/s/d");
+                    }
+                }
+            }
+            opponentBoard.display(false, out);
+        }
+    }
+
+    /**
+     * Prints the first few cells the hints prove to be safe, and the number of hidden cells they prove to be mines.
+     *
+     * @param opponentGrid The opponent's grid.
+     */
+    private void showAssist(final Grid<GameObject> opponentGrid) {
+        final MineSolver.Solution solution = solver.solve(opponentGrid);
+        final int size = opponentGrid.getSize();
+        final StringBuilder line = new StringBuilder("Safe cells:");
 
-        // If an object is found at the location, interact with it
-        if (object != null) {
-            object.interact(this);
+        int index = solution.nextSafe(0);
+        for (int shown = 0; index >= 0 && shown < ASSIST_CELLS; shown++) {
+            line.append(" (").append(index / size).append(", ").append(index % size).append(')');
+            index = solution.nextSafe(index + 1);
         }
-        else {
-            // If no object is found at the location, print a miss message
-            System.out.println("Miss!");
+        if (solution.getSafeCount() == 0) {
+            line.append(" none known");
+        } else if (solution.getSafeCount() > ASSIST_CELLS) {
+            line.append(" and ").append(solution.getSafeCount() - ASSIST_CELLS).append(" more");
         }
+        out.println(line);
+        out.println("Known mines: " + solution.getMineCount());
     }
 }
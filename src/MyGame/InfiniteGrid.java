@@ -0,0 +1,670 @@
+import java.io.PrintStream;
+
+/**
+ * An unbounded BattleSweeper board that spans the whole {@code int} range in both directions.
+ * What each cell holds is never stored: a seeded hash of its coordinates decides whether it holds a mine,
+ * a ship or nothing, so any cell can be looked at without generating the cells around it first.
+ * <p>
+ * The board is split into 32x32 chunks. A chunk is built on first use, with the contents and mine hints of
+ * its cells worked out from the hash, and kept in a cache of recently used chunks keyed by a primitive
+ * {@code long}. When the cache is full, the least recently used chunk is dropped; if any of its cells were
+ * revealed, only its 128-byte revealed bitset is kept. Memory use therefore grows with the explored area,
+ * not with the size of the board.
+ * <p>
+ * As a {@link Board}, it can stand in for a player's grid with {@link Player#setBoard(Board)}; mines and ships
+ * then come from the hash instead of being placed, and the game ends on mine hits alone, since the ships never
+ * run out. It is drawn as a window of cells around the last shot, which players can scroll.
+ */
+final class InfiniteGrid implements Board<GameObject> {
+    private static final int CHUNK_BITS = 5;  // Chunks are 2^5 = 32 cells on a side
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final int CHUNK_CELLS = CHUNK_SIZE * CHUNK_SIZE;
+    private static final int HALO_SIZE = CHUNK_SIZE + 2;  // A chunk plus a border of one cell for hints
+    private static final byte EMPTY = 0;
+    private static final byte MINE = 1;
+    private static final byte SHIP = 2;
+    private static final int DEFAULT_CACHED_CHUNKS = 1024;  // About 2 MB of built chunks
+    private static final int MAX_AREA_REVEAL = 1 << 20;  // Most cells one empty-area reveal opens
+    private static final double HASH_RANGE = 0x1.0p53;  // Cell hashes are compared as 53-bit fractions
+    private static final int VIEWPORT = 20;  // Rows and columns display shows
+    private static final byte[] CELL_SHIP = {' ', 'S', ' ', '|'};  // A ship that is revealed or shown
+    private static final byte[] CELL_MINE = {' ', 'M', ' ', '|'};  // A mine that is shown
+    private static final byte[] CELL_BLANK = {' ', ' ', ' ', '|'};  // An empty or hidden cell
+
+    private final long seed;
+    private final long mineLimit;  // Cells whose hash is below this hold a mine
+    private final long shipLimit;  // Cells whose hash is at least mineLimit and below this hold a ship
+    private final int maxCachedChunks;
+    private final LongMap<Chunk> chunks;  // Built chunks, keyed by chunk coordinates
+    private final LongMap<long[]> revealedChunks;  // Revealed bitsets of chunks dropped from the cache
+    private Chunk newest;  // Most recently used chunk
+    private Chunk oldest;  // Least recently used chunk, the next to be dropped
+    private long revealedCells;
+    private long shipsHit;
+    private long minesHit;
+    private long viewRow = -VIEWPORT / 2;  // Top row of the window display shows
+    private long viewColumn = -VIEWPORT / 2;  // Left column of the window display shows
+    private final MoveValidator shotValidator = (x, y) -> !isRevealedAt(x, y);  // Every cell is on the board
+
+    /**
+     * Constructs an unbounded board with the default chunk cache.
+     *
+     * @param seed        The seed every cell's contents are derived from.
+     * @param mineDensity The share of cells holding a mine.
+     * @param shipDensity The share of cells holding a ship.
+     * @throws IllegalArgumentException If the densities are negative or add up to more than 1.
+     */
+    InfiniteGrid(final long seed,
+                 final double mineDensity,
+                 final double shipDensity) {
+
+        this(seed, mineDensity, shipDensity, DEFAULT_CACHED_CHUNKS);
+    }
+
+    /**
+     * Constructs an unbounded board.
+     *
+     * @param seed            The seed every cell's contents are derived from.
+     * @param mineDensity     The share of cells holding a mine.
+     * @param shipDensity     The share of cells holding a ship.
+     * @param maxCachedChunks How many built chunks to keep before dropping the least recently used.
+     * @throws IllegalArgumentException If the densities are negative or add up to more than 1,
+     *                                  or the cache cannot hold a chunk.
+     */
+    InfiniteGrid(final long seed,
+                 final double mineDensity,
+                 final double shipDensity,
+                 final int maxCachedChunks) {
+
+        if (mineDensity < 0 || shipDensity < 0 || mineDensity + shipDensity > 1) {
+            throw new IllegalArgumentException("Invalid densities: " + mineDensity + " mines, " + shipDensity + " ships");
+        }
+        if (maxCachedChunks < 1) {
+            throw new IllegalArgumentException("The cache must hold at least one chunk: " + maxCachedChunks);
+        }
+        this.seed = seed;
+        this.mineLimit = (long) (mineDensity * HASH_RANGE);
+        this.shipLimit = (long) ((mineDensity + shipDensity) * HASH_RANGE);
+        this.maxCachedChunks = maxCachedChunks;
+        this.chunks = new LongMap<>();
+        this.revealedChunks = new LongMap<>();
+    }
+
+    /**
+     * Returns whether a cell holds a mine.
+     *
+     * @param x The row of the cell.
+     * @param y The column of the cell.
+     * @return {@code true} if the cell holds a mine; {@code false} otherwise.
+     */
+    boolean isMineAt(final int x,
+                     final int y) {
+
+        return kindAt(x, y) == MINE;
+    }
+
+    /**
+     * Returns whether a cell holds a ship.
+     *
+     * @param x The row of the cell.
+     * @param y The column of the cell.
+     * @return {@code true} if the cell holds a ship; {@code false} otherwise.
+     */
+    boolean isShipAt(final int x,
+                     final int y) {
+
+        return kindAt(x, y) == SHIP;
+    }
+
+    /**
+     * Returns the number of mines around a cell.
+     *
+     * @param x The row of the cell.
+     * @param y The column of the cell.
+     * @return The number of mines in the eight neighboring cells.
+     */
+    int nearbyMinesAt(final int x,
+                      final int y) {
+
+        return chunkAt(x, y).hints[localIndex(x, y)];
+    }
+
+    /**
+     * Returns whether a cell has been revealed. This never builds a chunk, so it is cheap to call
+     * for every cell on screen.
+     *
+     * @param x The row of the cell.
+     * @param y The column of the cell.
+     * @return {@code true} if the cell is revealed; {@code false} otherwise.
+     */
+    @Override
+    public boolean isRevealedAt(final int x,
+                                final int y) {
+
+        final long key = chunkKey(x, y);
+        final Chunk chunk = chunks.get(key);
+        final long[] bits = chunk != null ? chunk.revealed : revealedChunks.get(key);
+        final int local = localIndex(x, y);
+
+        return bits != null && (bits[local >>> 6] & (1L << local)) != 0;
+    }
+
+    /**
+     * Returns 0, since the board has no edges.
+     *
+     * @return 0.
+     */
+    @Override
+    public int getSize() {
+        return 0;
+    }
+
+    /**
+     * Returns {@code true}: every cell in the {@code int} range is on the board.
+     *
+     * @param x The row of the cell.
+     * @param y The column of the cell.
+     * @return {@code true}.
+     */
+    @Override
+    public boolean contains(final int x,
+                            final int y) {
+
+        return true;
+    }
+
+    /**
+     * Returns the validator for shots at this board: the cell must not be revealed yet.
+     *
+     * @return The shot rule.
+     */
+    @Override
+    public MoveValidator shotValidator() {
+        return shotValidator;
+    }
+
+    /**
+     * Returns null. What a cell holds is derived from the hash rather than kept as an object;
+     * see {@link #isMineAt(int, int)} and {@link #isShipAt(int, int)}.
+     *
+     * @param x The row of the cell.
+     * @param y The column of the cell.
+     * @return null.
+     */
+    @Override
+    public GameObject objectAt(final int x,
+                               final int y) {
+
+        return null;
+    }
+
+    /**
+     * Fires a player's shot at a cell, as {@link #shoot(int, int)} does, and moves the view to it.
+     *
+     * @param shooter The player who fired.
+     * @param x       The row of the cell.
+     * @param y       The column of the cell.
+     * @return The result of the shot.
+     */
+    @Override
+    public MoveResult resolveShot(final Player shooter,
+                                  final int x,
+                                  final int y) {
+
+        viewRow = (long) x - VIEWPORT / 2;
+        viewColumn = (long) y - VIEWPORT / 2;
+        return shoot(x, y);
+    }
+
+    /**
+     * Returns {@code false}: there are always more ships.
+     *
+     * @return {@code false}.
+     */
+    @Override
+    public boolean allShipsSunk() {
+        return false;
+    }
+
+    /**
+     * Prints the window of the board around the last shot, or where it has been scrolled to since.
+     * Cells are drawn as they are on a {@link Grid}.
+     *
+     * @param showObjects If true, shows mines and ships; otherwise, only ships that have been hit.
+     * @param out         The stream to print the window to.
+     */
+    @Override
+    public void display(final boolean showObjects,
+                        final PrintStream out) {
+
+        viewRow = Math.max(Integer.MIN_VALUE, Math.min(viewRow, Integer.MAX_VALUE - VIEWPORT + 1L));
+        viewColumn = Math.max(Integer.MIN_VALUE, Math.min(viewColumn, Integer.MAX_VALUE - VIEWPORT + 1L));
+        final int top = (int) viewRow;
+        final int left = (int) viewColumn;
+        final int labelWidth = Math.max(Integer.toString(top).length(), Integer.toString(top + VIEWPORT - 1).length());
+        final String rule = " ".repeat(labelWidth + 2) + "-".repeat(4 * VIEWPORT + 1) + "\n";
+        final StringBuilder frame = new StringBuilder();
+
+        frame.append("Rows ").append(top).append(" to ").append(top + VIEWPORT - 1)
+             .append(", columns ").append(left).append(" to ").append(left + VIEWPORT - 1)
+             .append(" of an unbounded board\n");
+
+        // Column numbers, shortened to their last three digits so each fits over its cell
+        frame.append(" ".repeat(labelWidth + 2));
+        for (int j = left; j < left + VIEWPORT; j++) {
+            final String label = Integer.toString(Math.floorMod(j, 1000));
+            frame.append(' ').append(label).append(" ".repeat(3 - label.length()));
+        }
+        frame.append('\n').append(rule);
+
+        for (int i = top; i < top + VIEWPORT; i++) {
+            final String label = Integer.toString(i);
+            frame.append(" ".repeat(1 + labelWidth - label.length())).append(label).append(" |");
+            for (int j = left; j < left + VIEWPORT; j++) {
+                final byte kind = kindAt(i, j);
+                final byte[] symbol = kind == MINE ? (showObjects ? CELL_MINE : CELL_BLANK)
+                                      : kind == SHIP && (showObjects || isRevealedAt(i, j)) ? CELL_SHIP : CELL_BLANK;
+                for (final byte c : symbol) {
+                    frame.append((char) c);
+                }
+            }
+            frame.append('\n').append(rule);
+        }
+        out.print(frame);
+    }
+
+    /**
+     * Returns how many rows and columns {@link #display} shows.
+     *
+     * @return The size of the window.
+     */
+    @Override
+    public int getViewport() {
+        return VIEWPORT;
+    }
+
+    /**
+     * Moves the window {@link #display} shows. The window jumps back to the last shot when the next one is fired.
+     *
+     * @param rows    How many rows to move down; negative moves up.
+     * @param columns How many columns to move right; negative moves left.
+     */
+    @Override
+    public void scrollViewport(final int rows,
+                               final int columns) {
+
+        viewRow += rows;
+        viewColumn += columns;
+    }
+
+    /**
+     * Hides every cell again and clears the counters. The contents stay the same, since they come from the seed.
+     */
+    @Override
+    public void reset() {
+        chunks.clear();
+        revealedChunks.clear();
+        newest = null;
+        oldest = null;
+        revealedCells = 0;
+        shipsHit = 0;
+        minesHit = 0;
+        viewRow = -VIEWPORT / 2;
+        viewColumn = -VIEWPORT / 2;
+    }
+
+    /**
+     * Fires a shot at a cell and reveals it. Like {@link Player#shoot(Board, int, int)}, this does not
+     * open up the area around a miss; call {@link #revealEmptyArea(int, int)} for that.
+     *
+     * @param x The row of the cell.
+     * @param y The column of the cell.
+     * @return The result of the shot.
+     */
+    MoveResult shoot(final int x,
+                     final int y) {
+
+        final Chunk chunk = chunkAt(x, y);
+        final int local = localIndex(x, y);
+
+        if (!chunk.reveal(local)) {
+            return MoveResult.REPEAT;
+        }
+        revealedCells++;
+
+        switch (chunk.kinds[local]) {
+            case MINE:
+                minesHit++;
+                return MoveResult.MINE;
+            case SHIP:
+                shipsHit++;
+                return MoveResult.HIT;
+            default:
+                return MoveResult.miss(chunk.hints[local]);
+        }
+    }
+
+    /**
+     * Reveals the empty cell at the given coordinates and, if none of its neighbors hold a mine,
+     * every empty cell connected to it through other zero-hint cells, the same way
+     * {@link Grid#revealEmptyArea(int, int)} does. On a sparsely mined board such an area can be
+     * very large, so only about 2^20 cells are opened at once; later shots open the rest.
+     *
+     * @param x The row of the starting cell.
+     * @param y The column of the starting cell.
+     * @return The number of cells that were newly revealed.
+     */
+    @Override
+    public int revealEmptyArea(final int x,
+                               final int y) {
+
+        Chunk chunk = chunkAt(x, y);
+        int local = localIndex(x, y);
+
+        if (chunk.kinds[local] != EMPTY) {
+            return 0;
+        }
+        int revealed = chunk.reveal(local) ? 1 : 0;
+        if (chunk.hints[local] != 0) {
+            revealedCells += revealed;
+            return revealed;
+        }
+
+        // Coordinates are queued in pairs: row, then column
+        final IntQueue queue = new IntQueue();
+        queue.add(x);
+        queue.add(y);
+
+        while (!queue.isEmpty() && revealed < MAX_AREA_REVEAL) {
+            final int cellX = queue.poll();
+            final int cellY = queue.poll();
+
+            for (long i = cellX - 1L; i <= cellX + 1L; i++) {
+                for (long j = cellY - 1L; j <= cellY + 1L; j++) {
+                    if (i < Integer.MIN_VALUE || i > Integer.MAX_VALUE
+                            || j < Integer.MIN_VALUE || j > Integer.MAX_VALUE) {
+                        continue;  // Past the edge of the board
+                    }
+
+                    chunk = chunkAt((int) i, (int) j);
+                    local = localIndex((int) i, (int) j);
+
+                    // Around a zero-hint cell there are no mines, so only ships and revealed cells stop the fill
+                    if (chunk.kinds[local] == EMPTY && chunk.reveal(local)) {
+                        revealed++;
+                        if (chunk.hints[local] == 0) {
+                            queue.add((int) i);
+                            queue.add((int) j);
+                        }
+                    }
+                }
+            }
+        }
+        revealedCells += revealed;
+        return revealed;
+    }
+
+    /**
+     * Returns the number of cells revealed so far.
+     *
+     * @return The revealed cell count.
+     */
+    long getRevealedCells() {
+        return revealedCells;
+    }
+
+    /**
+     * Returns the number of ships hit so far.
+     *
+     * @return The ship hit count.
+     */
+    long getShipsHit() {
+        return shipsHit;
+    }
+
+    /**
+     * Returns the number of mines hit so far.
+     *
+     * @return The mine hit count.
+     */
+    long getMinesHit() {
+        return minesHit;
+    }
+
+    /**
+     * Returns the number of built chunks in the cache.
+     *
+     * @return How many chunks are cached, at most the cache size.
+     */
+    int cachedChunks() {
+        return chunks.size();
+    }
+
+    /**
+     * Returns the number of chunks that have been dropped from the cache but keep their revealed cells.
+     *
+     * @return How many revealed bitsets are stored outside the cache.
+     */
+    int storedChunks() {
+        return revealedChunks.size();
+    }
+
+    /**
+     * Works out what a cell holds from the hash of its coordinates.
+     *
+     * @param x The row of the cell, which may be past the edge of the board.
+     * @param y The column of the cell, which may be past the edge of the board.
+     * @return {@link #MINE}, {@link #SHIP} or {@link #EMPTY}; cells past the edge are empty.
+     */
+    private byte kindAt(final long x,
+                        final long y) {
+
+        if (x < Integer.MIN_VALUE || x > Integer.MAX_VALUE || y < Integer.MIN_VALUE || y > Integer.MAX_VALUE) {
+            return EMPTY;
+        }
+
+        // The finalizer of SplitMix64 over the seed and both coordinates
+        long z = seed ^ (x * 0x9E3779B97F4A7C15L) ^ (y * 0xC2B2AE3D27D4EB4FL);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        z = (z ^ (z >>> 31)) >>> 11;
+
+        if (z < mineLimit) {
+            return MINE;
+        }
+        return z < shipLimit ? SHIP : EMPTY;
+    }
+
+    /**
+     * Returns the chunk holding a cell, building it if it is not cached and marking it as most recently used.
+     *
+     * @param x The row of the cell.
+     * @param y The column of the cell.
+     * @return The chunk.
+     */
+    private Chunk chunkAt(final int x,
+                          final int y) {
+
+        final long key = chunkKey(x, y);
+        if (newest != null && newest.key == key) {
+            return newest;  // Runs of nearby cells keep hitting the same chunk
+        }
+
+        Chunk chunk = chunks.get(key);
+        if (chunk == null) {
+            chunk = buildChunk(key, x >> CHUNK_BITS, y >> CHUNK_BITS);
+            chunks.put(key, chunk);
+            if (chunks.size() > maxCachedChunks) {
+                dropOldest();
+            }
+        } else {
+            unlink(chunk);
+        }
+        linkNewest(chunk);
+        return chunk;
+    }
+
+    /**
+     * Builds a chunk: works out what its cells hold and their mine hints, and restores any cells revealed
+     * before it was last dropped.
+     *
+     * @param key    The key of the chunk.
+     * @param chunkX The row of the chunk, in chunks.
+     * @param chunkY The column of the chunk, in chunks.
+     * @return The new chunk.
+     */
+    private Chunk buildChunk(final long key,
+                             final int chunkX,
+                             final int chunkY) {
+
+        final long[] revealed = revealedChunks.remove(key);
+        final Chunk chunk = new Chunk(key, revealed != null ? revealed : new long[CHUNK_CELLS / Long.SIZE]);
+        final long baseX = (long) chunkX << CHUNK_BITS;
+        final long baseY = (long) chunkY << CHUNK_BITS;
+
+        // Mines in the chunk and the ring of cells around it, for the hints along its edges
+        final boolean[] halo = new boolean[HALO_SIZE * HALO_SIZE];
+        for (int i = 0; i < HALO_SIZE; i++) {
+            for (int j = 0; j < HALO_SIZE; j++) {
+                final byte kind = kindAt(baseX + i - 1, baseY + j - 1);
+                halo[i * HALO_SIZE + j] = kind == MINE;
+                if (i >= 1 && i <= CHUNK_SIZE && j >= 1 && j <= CHUNK_SIZE) {
+                    chunk.kinds[(i - 1) * CHUNK_SIZE + (j - 1)] = kind;
+                }
+            }
+        }
+
+        for (int i = 0; i < CHUNK_SIZE; i++) {
+            for (int j = 0; j < CHUNK_SIZE; j++) {
+                int mines = 0;
+                for (int a = i; a <= i + 2; a++) {
+                    for (int b = j; b <= j + 2; b++) {
+                        if (halo[a * HALO_SIZE + b] && (a != i + 1 || b != j + 1)) {
+                            mines++;
+                        }
+                    }
+                }
+                chunk.hints[i * CHUNK_SIZE + j] = (byte) mines;
+            }
+        }
+        return chunk;
+    }
+
+    /**
+     * Drops the least recently used chunk from the cache, keeping its revealed cells if it has any.
+     */
+    private void dropOldest() {
+        final Chunk chunk = oldest;
+
+        unlink(chunk);
+        chunks.remove(chunk.key);
+        if (chunk.revealedCount > 0) {
+            revealedChunks.put(chunk.key, chunk.revealed);
+        }
+    }
+
+    /**
+     * Puts a chunk at the most recently used end of the list.
+     *
+     * @param chunk A chunk that is not in the list.
+     */
+    private void linkNewest(final Chunk chunk) {
+        chunk.older = newest;
+        chunk.newer = null;
+        if (newest != null) {
+            newest.newer = chunk;
+        } else {
+            oldest = chunk;
+        }
+        newest = chunk;
+    }
+
+    /**
+     * Takes a chunk out of the list.
+     *
+     * @param chunk A chunk in the list.
+     */
+    private void unlink(final Chunk chunk) {
+        if (chunk.newer != null) {
+            chunk.newer.older = chunk.older;
+        } else {
+            newest = chunk.older;
+        }
+        if (chunk.older != null) {
+            chunk.older.newer = chunk.newer;
+        } else {
+            oldest = chunk.newer;
+        }
+        chunk.newer = null;
+        chunk.older = null;
+    }
+
+    /**
+     * Returns the key of the chunk holding a cell: its chunk row in the high half and its chunk column in the low half.
+     *
+     * @param x The row of the cell.
+     * @param y The column of the cell.
+     * @return The chunk key.
+     */
+    private static long chunkKey(final int x,
+                                 final int y) {
+
+        return ((long) (x >> CHUNK_BITS) << 32) | ((y >> CHUNK_BITS) & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Returns the index of a cell within its chunk.
+     *
+     * @param x The row of the cell.
+     * @param y The column of the cell.
+     * @return The index, from 0 to 1023.
+     */
+    private static int localIndex(final int x,
+                                  final int y) {
+
+        return ((x & CHUNK_MASK) << CHUNK_BITS) | (y & CHUNK_MASK);
+    }
+
+    /**
+     * A built 32x32 chunk of the board, linked into the cache's usage list.
+     */
+    private static final class Chunk {
+        private final long key;
+        private final byte[] kinds = new byte[CHUNK_CELLS];  // What each cell holds
+        private final byte[] hints = new byte[CHUNK_CELLS];  // Mines around each cell
+        private final long[] revealed;  // One bit per cell, kept when the chunk is dropped
+        private int revealedCount;
+        private Chunk newer;
+        private Chunk older;
+
+        /**
+         * Constructs a chunk around a revealed bitset, which may already have cells set.
+         */
+        private Chunk(final long key,
+                      final long[] revealed) {
+
+            this.key = key;
+            this.revealed = revealed;
+            for (final long word : revealed) {
+                revealedCount += Long.bitCount(word);
+            }
+        }
+
+        /**
+         * Reveals a cell of the chunk.
+         *
+         * @param local The index of the cell within the chunk.
+         * @return {@code true} if the cell was hidden before.
+         */
+        private boolean reveal(final int local) {
+            final long bit = 1L << local;
+            if ((revealed[local >>> 6] & bit) != 0) {
+                return false;
+            }
+            revealed[local >>> 6] |= bit;
+            revealedCount++;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+import java.util.Arrays;
+
+/**
+ * A first-in, first-out queue of primitive {@code int} values backed by a growable ring buffer.
+ * It is used for breadth-first walks over flat cell indices without boxing each index.
+ */
+final class IntQueue {
+    private static final int DEFAULT_CAPACITY = 64;  // Starting size of the ring buffer
+
+    private int[] values;
+    private int head;  // Index of the next value to poll
+    private int size;  // Number of values currently queued
+
+    /**
+     * Constructs an empty queue with a small starting capacity.
+     */
+    IntQueue() {
+        this.values = new int[DEFAULT_CAPACITY];
+    }
+
+    /**
+     * Adds a value to the back of the queue, growing the buffer if it is full.
+     *
+     * @param value The value to add.
+     */
+    void add(final int value) {
+        if (size == values.length) {
+            grow();
+        }
+        values[(head + size) & (values.length - 1)] = value;
+        size++;
+    }
+
+    /**
+     * Removes and returns the value at the front of the queue.
+     *
+     * @return The value at the front of the queue.
+     * @throws IllegalStateException If the queue is empty.
+     */
+    int poll() {
+        if (size == 0) {
+            throw new IllegalStateException("Queue is empty");
+        }
+        final int value = values[head];
+        head = (head + 1) & (values.length - 1);
+        size--;
+        return value;
+    }
+
+    /**
+     * Returns whether the queue holds no values.
+     *
+     * @return {@code true} if the queue is empty; {@code false} otherwise.
+     */
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes every value from the queue, keeping the buffer for reuse.
+     */
+    void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    /**
+     * Doubles the buffer, unwrapping the queued values to the start of the new array.
+     */
+    private void grow() {
+        final int[] grown = Arrays.copyOf(values, values.length * 2);
+        final int wrapped = head + size - values.length;
+
+        // Values that wrapped around to the front now sit right after the old end
+        if (wrapped > 0) {
+            System.arraycopy(values, 0, grown, values.length, wrapped);
+        }
+        values = grown;
+    }
+}
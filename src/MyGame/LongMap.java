@@ -0,0 +1,164 @@
+import java.util.Arrays;
+
+/**
+ * A hash map from primitive {@code long} keys to values, using open addressing with linear probing.
+ * Keys are never boxed, and removal shifts later entries back instead of leaving tombstones,
+ * so a map that sees many puts and removes does not slow down over time.
+ *
+ * @param <V> The type of the values; null values are not allowed.
+ */
+final class LongMap<V> {
+    private static final int DEFAULT_CAPACITY = 16;  // Starting number of slots
+    private static final float MAX_LOAD = 0.5f;  // Share of slots in use before the table doubles
+
+    private long[] keys;
+    private Object[] values;  // A null value marks an empty slot
+    private int size;
+
+    /**
+     * Constructs an empty map with a small starting capacity.
+     */
+    LongMap() {
+        this.keys = new long[DEFAULT_CAPACITY];
+        this.values = new Object[DEFAULT_CAPACITY];
+    }
+
+    /**
+     * Returns the value for a key.
+     *
+     * @param key The key to look up.
+     * @return The value, or null if the key is not in the map.
+     */
+    @SuppressWarnings("unchecked")
+    V get(final long key) {
+        final int mask = keys.length - 1;
+
+        for (int slot = slot(key, mask); values[slot] != null; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return (V) values[slot];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Maps a key to a value, replacing any value it had.
+     *
+     * @param key   The key.
+     * @param value The value, not null.
+     * @throws NullPointerException If the value is null.
+     */
+    void put(final long key,
+             final V value) {
+
+        if (value == null) {
+            throw new NullPointerException("LongMap does not hold null values");
+        }
+        if (size + 1 > keys.length * MAX_LOAD) {
+            resize(keys.length * 2);
+        }
+
+        final int mask = keys.length - 1;
+        int slot = slot(key, mask);
+        while (values[slot] != null) {
+            if (keys[slot] == key) {
+                values[slot] = value;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+    }
+
+    /**
+     * Removes a key from the map.
+     *
+     * @param key The key to remove.
+     * @return The value it had, or null if the key was not in the map.
+     */
+    @SuppressWarnings("unchecked")
+    V remove(final long key) {
+        final int mask = keys.length - 1;
+        int slot = slot(key, mask);
+
+        while (values[slot] != null && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        if (values[slot] == null) {
+            return null;
+        }
+
+        final V removed = (V) values[slot];
+        size--;
+
+        // Shift back every later entry of the run that would no longer be reachable past the gap
+        int gap = slot;
+        for (int next = (gap + 1) & mask; values[next] != null; next = (next + 1) & mask) {
+            final int home = slot(keys[next], mask);
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+        }
+        values[gap] = null;
+        return removed;
+    }
+
+    /**
+     * Returns the number of keys in the map.
+     *
+     * @return The size of the map.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Removes every entry, keeping the table's capacity.
+     */
+    void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    /**
+     * Moves every entry into a table of a new capacity.
+     *
+     * @param capacity The new number of slots, a power of two.
+     */
+    private void resize(final int capacity) {
+        final long[] oldKeys = keys;
+        final Object[] oldValues = values;
+        final int mask = capacity - 1;
+
+        keys = new long[capacity];
+        values = new Object[capacity];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != null) {
+                int slot = slot(oldKeys[i], mask);
+                while (values[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Returns the home slot of a key.
+     *
+     * @param key  The key.
+     * @param mask The number of slots minus one.
+     * @return The slot the key is placed in when nothing else is there.
+     */
+    private static int slot(final long key,
+                            final int mask) {
+
+        final long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,737 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * An AI player that picks its shots with Monte Carlo Tree Search.
+ * <p>
+ * The player cannot see the opponent's hidden cells, so every search iteration first samples a layout of
+ * mines and ships that agrees with what has been revealed: the hint of every revealed empty cell must match
+ * the sampled mines around it. The iteration then walks a UCT tree of shot sequences on a {@link GridSnapshot}
+ * of that layout and finishes with a random rollout, scoring a win (every ship sunk before hitting too many
+ * mines) higher the sooner it comes.
+ * <p>
+ * Leaf evaluations are cached by the Zobrist hash of the sampled board in a {@link TranspositionTable}, so a
+ * board reached again by a different order of shots reuses the average of its earlier rollouts instead of
+ * playing new ones once enough have been run.
+ * <p>
+ * Each core grows its own tree until the move's deadline, and the visit counts at the roots are added up to
+ * choose the shot, so more cores mean more rollouts in the same time. If the deadline passes before anything
+ * was searched, or no layout agrees with the hints a few times in a row, the player falls back to the scoring
+ * of {@link AIPlayer}.
+ * <p>
+ * Tree nodes only keep children for the cells that were hidden when the move began, indexed by their
+ * position in that list, so a node's memory grows with the hidden cells rather than with the whole board.
+ */
+class MCTSPlayer extends AIPlayer {
+    private static final double EXPLORATION = 0.6;  // UCT exploration constant
+    private static final double WIN_DISCOUNT = 0.995;  // Value of a win per shot it takes; faster wins are better
+    private static final int EXPAND_VISITS = 8;  // Visits before a tree node gets children of its own
+    private static final int SAMPLE_STEPS = 10_000;  // Backtracking steps allowed for one layout sample
+    private static final int FAILED_SAMPLES = 8;  // Layout samples in a row that may fail before a search gives up
+    private static final int TABLE_ENTRIES = 1 << 16;  // Cached leaf evaluations per search tree
+    private static final int CACHED_ROLLOUTS = 16;  // Rollouts a cached leaf needs before it is trusted
+
+    private final int expectedMines;
+    private final long timeBudgetNanos;
+    private final int parallelism;
+    private final SplittableRandom random;
+    private final TranspositionTable[] tables;  // One per search tree, kept from move to move
+    private long rollouts;  // Rollouts run over all moves so far
+    private long searchNanos;  // Time spent searching over all moves so far
+
+    /**
+     * Constructs an MCTS player that searches on every core.
+     *
+     * @param name            The name of the player.
+     * @param gridSize        The size of the game grid.
+     * @param expectedMines   How many mines each grid holds; hitting this many loses the game.
+     * @param timeBudgetNanos How long the player may search for one move.
+     * @param seed            The seed for ship placement and for the search.
+     */
+    public MCTSPlayer(final String name,
+                      final int gridSize,
+                      final int expectedMines,
+                      final long timeBudgetNanos,
+                      final long seed) {
+
+        this(name, gridSize, expectedMines, timeBudgetNanos, seed, ForkJoinPool.getCommonPoolParallelism() + 1);
+    }
+
+    /**
+     * Constructs an MCTS player that grows a given number of search trees in parallel.
+     *
+     * @param name            The name of the player.
+     * @param gridSize        The size of the game grid.
+     * @param expectedMines   How many mines each grid holds; hitting this many loses the game.
+     * @param timeBudgetNanos How long the player may search for one move.
+     * @param seed            The seed for ship placement and for the search.
+     * @param parallelism     The number of search trees; one grows on the calling thread, the rest in the common pool.
+     * @throws IllegalArgumentException If the parallelism is not positive.
+     */
+    public MCTSPlayer(final String name,
+                      final int gridSize,
+                      final int expectedMines,
+                      final long timeBudgetNanos,
+                      final long seed,
+                      final int parallelism) {
+
+        super(name, gridSize, expectedMines, timeBudgetNanos, seed);
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+        this.expectedMines = expectedMines;
+        this.timeBudgetNanos = timeBudgetNanos;
+        this.parallelism = parallelism;
+        this.random = new SplittableRandom(seed ^ 0x5DEECE66DL);
+        this.tables = new TranspositionTable[parallelism];
+        for (int i = 0; i < parallelism; i++) {
+            tables[i] = new TranspositionTable(TABLE_ENTRIES);
+        }
+    }
+
+    /**
+     * Searches for the best hidden cell of the opponent's grid until the move's deadline.
+     *
+     * @param opponentGrid The opponent's game grid.
+     * @return The flat index of the chosen cell, or -1 if every cell is revealed.
+     */
+    @Override
+    int chooseTarget(final Grid<GameObject> opponentGrid) {
+        final long start = System.nanoTime();
+        final long deadline = start + timeBudgetNanos;
+        final Belief belief = new Belief(opponentGrid, expectedMines);
+
+        if (belief.hidden.length == 0) {
+            return -1;
+        }
+
+        final List<SearchTask> searches = new ArrayList<>(parallelism - 1);
+        for (int i = 1; i < parallelism; i++) {
+            final SearchTask search = new SearchTask(belief, random.split(), deadline, tables[i]);
+            ForkJoinPool.commonPool().execute(search);
+            searches.add(search);
+        }
+        final SearchTask ownSearch = new SearchTask(belief, random.split(), deadline, tables[0]);
+        final Node own = ownSearch.compute();
+
+        // Add up the visits each tree gave to each first shot, by position in the hidden cells
+        final int candidates = belief.hidden.length;
+        final long[] visits = new long[candidates];
+        final double[] rewards = new double[candidates];
+        for (int tree = 0; tree < parallelism; tree++) {
+            final SearchTask search = tree == 0 ? ownSearch : searches.get(tree - 1);
+            final Node root = tree == 0 ? own : search.join();
+            rollouts += search.rollouts;
+            for (int p = 0; p < candidates; p++) {
+                final Node child = root.children[p];
+                if (child != null) {
+                    visits[p] += child.visits;
+                    rewards[p] += child.reward;
+                }
+            }
+        }
+        searchNanos += System.nanoTime() - start;
+
+        int best = -1;
+        for (int p = 0; p < candidates; p++) {
+            if (visits[p] > 0 && (best < 0 || visits[p] > visits[best]
+                    || visits[p] == visits[best] && rewards[p] > rewards[best])) {
+                best = p;
+            }
+        }
+        return best >= 0 ? belief.hidden[best] : super.chooseTarget(opponentGrid);
+    }
+
+    /**
+     * Returns the number of rollouts run over all moves so far.
+     * Leaves evaluated from the transposition table are not rollouts and are not counted.
+     *
+     * @return The rollout count.
+     */
+    long getRollouts() {
+        return rollouts;
+    }
+
+    /**
+     * Returns the average number of rollouts run per second of search, over all moves so far.
+     *
+     * @return The search throughput.
+     */
+    double rolloutsPerSecond() {
+        return searchNanos == 0 ? 0.0 : rollouts * 1.0e9 / searchNanos;
+    }
+
+    /**
+     * Returns the share of leaf lookups that found a cached evaluation, over all moves so far.
+     *
+     * @return The transposition table hit rate, between 0 and 1.
+     */
+    double transpositionHitRate() {
+        long probes = 0;
+        long hits = 0;
+        for (final TranspositionTable table : tables) {
+            probes += table.getProbes();
+            hits += table.getHits();
+        }
+        return probes == 0 ? 0.0 : (double) hits / probes;
+    }
+
+    /**
+     * What the player knows about the opponent's grid at the start of a move.
+     * Every revealed empty cell next to hidden cells becomes a constraint: exactly
+     * {@code hint - revealed mines around it} of its hidden neighbors hold mines.
+     */
+    private static final class Belief {
+        private final int size;
+        private final long[] revealed;
+        private final int[] hidden;  // Every hidden cell
+        private final int[] frontier;  // Hidden cells next to at least one constraint
+        private final int[] interior;  // Hidden cells next to no constraint
+        private final long[] knownShips;  // Hidden cells next to a zero hint, which can only be ships
+        private final int knownShipCount;
+        private final int[] required;  // Per constraint: hidden mines around it
+        private final int[][] constraintCells;  // Per constraint: its hidden neighbors, as frontier positions
+        private final int[][] cellConstraints;  // Per frontier position: the constraints it takes part in
+        private final int hiddenMines;
+        private final int remainingShips;
+        private final int minesToLose;  // Further mine hits that lose the game
+
+        /**
+         * Reads what has been revealed on a grid.
+         *
+         * @param grid          The opponent's grid.
+         * @param expectedMines How many mines the grid holds.
+         */
+        private Belief(final Grid<GameObject> grid,
+                       final int expectedMines) {
+
+            this.size = grid.getSize();
+            this.revealed = grid.copyRevealedBits();
+            this.remainingShips = grid.getRemainingShips();
+            this.knownShips = new long[revealed.length];
+
+            final int cellCount = size * size;
+            final int[] frontierPosition = new int[cellCount];
+            final List<int[]> constraints = new ArrayList<>();
+            final List<Integer> needs = new ArrayList<>();
+            final int[] cells = new int[cellCount];
+            int revealedMines = 0;
+            int shipCount = 0;
+
+            for (int i = 0; i < cellCount; i++) {
+                frontierPosition[i] = -1;
+                cells[i] = i;
+                if (grid.isRevealedAt(i) && grid.isMineAt(i)) {
+                    revealedMines++;
+                }
+            }
+            // The cells that can still be fired at are the candidates for every shot
+            this.hidden = Arrays.copyOf(cells, grid.shotValidator().filterValid(cells, cellCount, size));
+
+            // Number the frontier cells as the constraints that touch them are found
+            int frontierCount = 0;
+            final int[] frontierCells = new int[cellCount];
+            for (int i = 0; i < cellCount; i++) {
+                if (!grid.isRevealedAt(i) || !grid.isEmptyAt(i)) {
+                    continue;
+                }
+
+                final int x = i / size;
+                final int y = i % size;
+                final int[] neighbors = new int[8];
+                int hiddenNeighbors = 0;
+                int minesAround = 0;
+
+                for (int a = Math.max(x - 1, 0); a <= Math.min(x + 1, size - 1); a++) {
+                    for (int b = Math.max(y - 1, 0); b <= Math.min(y + 1, size - 1); b++) {
+                        final int neighbor = a * size + b;
+                        if (!grid.isRevealedAt(neighbor)) {
+                            if (frontierPosition[neighbor] < 0) {
+                                frontierPosition[neighbor] = frontierCount;
+                                frontierCells[frontierCount++] = neighbor;
+                            }
+                            neighbors[hiddenNeighbors++] = frontierPosition[neighbor];
+                        } else if (grid.isMineAt(neighbor)) {
+                            minesAround++;
+                        }
+                    }
+                }
+                // The area around a zero hint is opened when it is revealed, so whatever stayed hidden there is a ship
+                if (grid.nearbyMinesAt(i) == 0) {
+                    for (int k = 0; k < hiddenNeighbors; k++) {
+                        final int ship = frontierCells[neighbors[k]];
+                        if ((knownShips[ship >>> 6] & (1L << ship)) == 0) {
+                            knownShips[ship >>> 6] |= 1L << ship;
+                            shipCount++;
+                        }
+                    }
+                }
+                if (hiddenNeighbors > 0) {
+                    constraints.add(Arrays.copyOf(neighbors, hiddenNeighbors));
+                    needs.add(grid.nearbyMinesAt(i) - minesAround);
+                }
+            }
+
+            this.knownShipCount = Math.min(shipCount, remainingShips);
+            this.frontier = Arrays.copyOf(frontierCells, frontierCount);
+            this.interior = new int[hidden.length - frontierCount];
+            int n = 0;
+            for (final int i : hidden) {
+                if (frontierPosition[i] < 0) {
+                    interior[n++] = i;
+                }
+            }
+
+            this.required = new int[constraints.size()];
+            this.constraintCells = constraints.toArray(new int[0][]);
+            final int[] memberships = new int[frontierCount];
+            for (int c = 0; c < required.length; c++) {
+                required[c] = needs.get(c);
+                for (final int position : constraintCells[c]) {
+                    memberships[position]++;
+                }
+            }
+            this.cellConstraints = new int[frontierCount][];
+            for (int p = 0; p < frontierCount; p++) {
+                cellConstraints[p] = new int[memberships[p]];
+                memberships[p] = 0;
+            }
+            for (int c = 0; c < required.length; c++) {
+                for (final int position : constraintCells[c]) {
+                    cellConstraints[position][memberships[position]++] = c;
+                }
+            }
+
+            this.hiddenMines = Math.max(expectedMines - revealedMines, 0);
+            this.minesToLose = Math.max(expectedMines - revealedMines, 1);
+        }
+    }
+
+    /**
+     * Draws layouts of the hidden cells that agree with a {@link Belief}.
+     * Frontier cells are assigned by randomized backtracking over the constraints; the mines left over are
+     * spread over the interior, and the ships not known from zero hints over every other hidden cell without a mine.
+     * One sampler is used by one search thread only.
+     */
+    private static final class LayoutSampler {
+        private final Belief belief;
+        private final SplittableRandom random;
+        private final boolean[] mine;  // Per frontier position: the value assigned to it
+        private final int[] order;  // The frontier positions in the order they are assigned
+        private final byte[] tried;  // Per depth in that order: how many values have been tried
+        private final boolean[] firstChoice;  // Per depth in that order: the value tried first
+        private final int[] placed;  // Per constraint: mines assigned around it so far
+        private final int[] open;  // Per constraint: hidden neighbors not assigned yet
+        private final int[] scratch;  // Cells to draw from, shuffled in place
+        private final double mineShare;  // Chance of trying a mine first in a frontier cell
+        private int frontierMines;
+
+        /**
+         * Constructs a sampler for one search thread.
+         *
+         * @param belief What is known about the grid.
+         * @param random The generator for this thread.
+         */
+        private LayoutSampler(final Belief belief,
+                              final SplittableRandom random) {
+
+            this.belief = belief;
+            this.random = random;
+            this.mine = new boolean[belief.frontier.length];
+            this.order = new int[belief.frontier.length];
+            this.tried = new byte[belief.frontier.length];
+            this.firstChoice = new boolean[belief.frontier.length];
+            this.placed = new int[belief.required.length];
+            this.open = new int[belief.required.length];
+            this.scratch = new int[belief.hidden.length];
+            this.mineShare = (double) belief.hiddenMines / belief.hidden.length;
+        }
+
+        /**
+         * Samples one layout and returns it as a snapshot with the real revealed cells.
+         *
+         * @return The snapshot, or null if no agreeing layout was found within the step budget.
+         */
+        private GridSnapshot sample() {
+            if (!assignFrontier()) {
+                return null;
+            }
+
+            final long[] mineBits = new long[belief.revealed.length];
+            for (int p = 0; p < belief.frontier.length; p++) {
+                if (mine[p]) {
+                    mineBits[belief.frontier[p] >>> 6] |= 1L << belief.frontier[p];
+                }
+            }
+
+            // The mines the frontier did not take go to random interior cells
+            final int interiorMines = belief.hiddenMines - frontierMines;
+            System.arraycopy(belief.interior, 0, scratch, 0, belief.interior.length);
+            shuffleFront(belief.interior.length, interiorMines);
+            for (int i = 0; i < interiorMines; i++) {
+                mineBits[scratch[i] >>> 6] |= 1L << scratch[i];
+            }
+
+            // Ships fill the cells known to hold them, then random hidden cells without a mine
+            final long[] shipBits = Arrays.copyOf(belief.knownShips, belief.knownShips.length);
+            final int randomShips = belief.remainingShips - belief.knownShipCount;
+            int free = 0;
+            for (final int index : belief.hidden) {
+                if (((mineBits[index >>> 6] | shipBits[index >>> 6]) & (1L << index)) == 0) {
+                    scratch[free++] = index;
+                }
+            }
+            if (free < randomShips) {
+                return null;
+            }
+            shuffleFront(free, randomShips);
+            for (int i = 0; i < randomShips; i++) {
+                shipBits[scratch[i] >>> 6] |= 1L << scratch[i];
+            }
+
+            return GridSnapshot.of(belief.size, mineBits, shipBits, belief.revealed, belief.remainingShips);
+        }
+
+        /**
+         * Assigns a mine or no mine to every frontier cell so that every constraint is met,
+         * trying values in a random order and backing up when a constraint can no longer be met.
+         *
+         * @return {@code true} if an assignment was found within the step budget.
+         */
+        private boolean assignFrontier() {
+            final int count = belief.frontier.length;
+
+            for (int c = 0; c < placed.length; c++) {
+                placed[c] = 0;
+                open[c] = belief.constraintCells[c].length;
+            }
+            frontierMines = 0;
+            if (count == 0) {
+                return belief.hiddenMines <= belief.interior.length;
+            }
+
+            // Visit the frontier in a new random order each time, so no cell is always the one left to take a mine
+            for (int i = 0; i < count; i++) {
+                final int j = random.nextInt(i + 1);
+                order[i] = order[j];
+                order[j] = i;
+            }
+
+            int depth = 0;
+            tried[0] = 0;
+            firstChoice[0] = random.nextDouble() < mineShare;
+
+            for (int steps = 0; steps < SAMPLE_STEPS; steps++) {
+                if (depth == count) {
+                    // Every frontier cell is set; the rest of the mines must fit in the interior
+                    final int rest = belief.hiddenMines - frontierMines;
+                    if (rest >= 0 && rest <= belief.interior.length) {
+                        return true;
+                    }
+                    unassign(order[--depth]);
+                    continue;
+                }
+                if (tried[depth] == 2) {
+                    if (depth == 0) {
+                        return false;  // Nothing agrees with the hints
+                    }
+                    unassign(order[--depth]);
+                    continue;
+                }
+
+                final boolean value = tried[depth] == 0 ? firstChoice[depth] : !firstChoice[depth];
+                tried[depth]++;
+                if (assign(order[depth], value)) {
+                    depth++;
+                    if (depth < count) {
+                        tried[depth] = 0;
+                        firstChoice[depth] = random.nextDouble() < mineShare;
+                    }
+                } else {
+                    unassign(order[depth]);
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Sets a frontier cell and checks that every constraint it takes part in can still be met.
+         *
+         * @param position The frontier position of the cell.
+         * @param value    Whether the cell holds a mine.
+         * @return {@code true} if the assignment is still consistent.
+         */
+        private boolean assign(final int position,
+                               final boolean value) {
+
+            boolean consistent = true;
+            mine[position] = value;
+            if (value) {
+                frontierMines++;
+                consistent = frontierMines <= belief.hiddenMines;
+            }
+            for (final int c : belief.cellConstraints[position]) {
+                open[c]--;
+                if (value) {
+                    placed[c]++;
+                }
+                if (placed[c] > belief.required[c] || placed[c] + open[c] < belief.required[c]) {
+                    consistent = false;
+                }
+            }
+            return consistent;
+        }
+
+        /**
+         * Undoes {@link #assign(int, boolean)} for a frontier cell.
+         *
+         * @param position The frontier position of the cell.
+         */
+        private void unassign(final int position) {
+            if (mine[position]) {
+                frontierMines--;
+            }
+            for (final int c : belief.cellConstraints[position]) {
+                open[c]++;
+                if (mine[position]) {
+                    placed[c]--;
+                }
+            }
+            mine[position] = false;
+        }
+
+        /**
+         * Moves a random choice of cells to the front of the scratch array.
+         *
+         * @param length The number of cells to choose from.
+         * @param count  The number of cells to choose.
+         */
+        private void shuffleFront(final int length,
+                                  final int count) {
+
+            for (int i = 0; i < count; i++) {
+                final int j = i + random.nextInt(length - i);
+                final int swap = scratch[i];
+                scratch[i] = scratch[j];
+                scratch[j] = swap;
+            }
+        }
+    }
+
+    /**
+     * A node of a search tree: the statistics of one sequence of shots.
+     */
+    private static final class Node {
+        private Node[] children;  // Indexed by the next shot's position in Belief.hidden, created after a few visits
+        private int visits;
+        private double reward;
+    }
+
+    /**
+     * Grows one search tree until the deadline and returns its root.
+     */
+    @SuppressWarnings("serial")  // Fork/join tasks are never serialized
+    private static final class SearchTask extends RecursiveTask<Node> {
+        private final Belief belief;
+        private final SplittableRandom random;
+        private final long deadline;
+        private final LayoutSampler sampler;
+        private final int[] candidates;  // Reused by rollouts
+        private final TranspositionTable table;
+        private long rollouts;  // Rollouts actually played, not counting cached evaluations
+
+        /**
+         * Constructs a search over what is known about the grid.
+         */
+        private SearchTask(final Belief belief,
+                           final SplittableRandom random,
+                           final long deadline,
+                           final TranspositionTable table) {
+
+            this.belief = belief;
+            this.random = random;
+            this.deadline = deadline;
+            this.sampler = new LayoutSampler(belief, random);
+            this.candidates = new int[belief.hidden.length];
+            this.table = table;
+        }
+
+        @Override
+        protected Node compute() {
+            final Node root = new Node();
+            final Node[] path = new Node[belief.hidden.length + 1];
+            root.children = new Node[belief.hidden.length];
+            int failedSamples = 0;
+
+            while (System.nanoTime() < deadline) {
+                final GridSnapshot layout = sampler.sample();
+                if (layout == null) {
+                    // The hints may admit no layout at all, so do not spend the whole budget looking for one
+                    if (++failedSamples >= FAILED_SAMPLES) {
+                        break;
+                    }
+                    continue;
+                }
+                failedSamples = 0;
+
+                // Selection and expansion: follow UCT down the tree until a new node is added
+                GridSnapshot state = layout;
+                Node node = root;
+                int depth = 0;
+                int shots = 0;
+                int minesToLose = belief.minesToLose;
+                path[depth++] = root;
+
+                while (node.children != null && state.getRemainingShips() > 0 && minesToLose > 0) {
+                    final int position = select(node, state);
+                    if (position < 0) {
+                        break;
+                    }
+
+                    final int shot = belief.hidden[position];
+                    Node child = node.children[position];
+                    final boolean added = child == null;
+                    if (added) {
+                        child = new Node();
+                        node.children[position] = child;
+                    }
+                    if (state.resultOf(shot).getOutcome() == MoveOutcome.MINE) {
+                        minesToLose--;
+                    }
+                    state = state.afterShot(shot);
+                    shots++;
+                    path[depth++] = child;
+                    node = child;
+                    if (added) {
+                        break;
+                    }
+                }
+                if (node.children == null && node.visits + 1 >= EXPAND_VISITS) {
+                    node.children = new Node[belief.hidden.length];
+                }
+
+                final double reward = evaluate(state, shots, minesToLose);
+                for (int i = 0; i < depth; i++) {
+                    path[i].visits++;
+                    path[i].reward += reward;
+                }
+            }
+            return root;
+        }
+
+        /**
+         * Picks the next shot from a node by UCT; hidden cells with no statistics yet come first.
+         *
+         * @param node  The node to pick from.
+         * @param state The sampled board at that node.
+         * @return The shot's position in {@code Belief.hidden}, or -1 if every cell is revealed.
+         */
+        private int select(final Node node,
+                           final GridSnapshot state) {
+
+            final int candidates = node.children.length;
+            final int offset = random.nextInt(candidates);  // Breaks ties between unvisited cells
+            final double logVisits = Math.log(Math.max(node.visits, 1));
+            int best = -1;
+            double bestScore = Double.NEGATIVE_INFINITY;
+
+            for (int k = 0; k < candidates; k++) {
+                final int position = (k + offset) % candidates;
+                if (state.isRevealedAt(belief.hidden[position])) {
+                    continue;
+                }
+
+                final Node child = node.children[position];
+                if (child == null || child.visits == 0) {
+                    return position;
+                }
+                final double score = child.reward / child.visits
+                                     + EXPLORATION * Math.sqrt(logVisits / child.visits);
+                if (score > bestScore) {
+                    bestScore = score;
+                    best = position;
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Evaluates a leaf, from the transposition table if it has seen the board often enough, or with a rollout
+         * whose result is averaged into the table.
+         *
+         * @param state       The sampled board at the leaf.
+         * @param shots       Shots already fired to reach it in this iteration.
+         * @param minesToLose Further mine hits that lose the game.
+         * @return The reward of the leaf.
+         */
+        private double evaluate(final GridSnapshot state,
+                                final int shots,
+                                final int minesToLose) {
+
+            // Mines already hit are revealed cells, so the board's hash covers them too
+            final long hash = state.zobristHash();
+            final int slot = table.find(hash);
+            final int count = slot < 0 ? 0 : table.samplesAt(slot);
+
+            if (count >= CACHED_ROLLOUTS) {
+                return table.valueAt(slot);
+            }
+
+            final double reward = rollout(state, shots, minesToLose);
+            rollouts++;
+            final double mean = count == 0 ? reward : (table.valueAt(slot) * count + reward) / (count + 1);
+            table.store(hash, count + 1, mean);
+            return reward;
+        }
+
+        /**
+         * Plays random shots from a state until every ship is sunk, too many mines are hit, or nothing is left.
+         *
+         * @param start       The sampled board to play from.
+         * @param shots       Shots already fired to reach it in this iteration.
+         * @param minesToLose Further mine hits that lose the game.
+         * @return The reward: a discounted win, or 0 for a loss.
+         */
+        private double rollout(final GridSnapshot start,
+                               final int shots,
+                               final int minesToLose) {
+
+            GridSnapshot state = start;
+            int fired = shots;
+            int minesLeft = minesToLose;
+            int count = 0;
+
+            for (final int index : belief.hidden) {
+                if (!state.isRevealedAt(index)) {
+                    candidates[count++] = index;
+                }
+            }
+
+            while (state.getRemainingShips() > 0 && minesLeft > 0) {
+                // Draw without replacement, skipping cells an empty-area reveal has already opened
+                int shot = -1;
+                while (count > 0 && shot < 0) {
+                    final int pick = random.nextInt(count);
+                    final int index = candidates[pick];
+                    candidates[pick] = candidates[--count];
+                    if (!state.isRevealedAt(index)) {
+                        shot = index;
+                    }
+                }
+                if (shot < 0) {
+                    return 0.0;
+                }
+                if (state.resultOf(shot).getOutcome() == MoveOutcome.MINE) {
+                    minesLeft--;
+                }
+                state = state.afterShot(shot);
+                fired++;
+            }
+            return state.getRemainingShips() == 0 ? Math.pow(WIN_DISCOUNT, fired) : 0.0;
+        }
+    }
+}
@@ -14,13 +14,13 @@ class Mine extends GameObject {
 
     /**
      * Interacts with the player when they hit a mine.
-     * This will throw a GameException, forfeiting the player's turn.
+     * The player's turn is forfeited, which the caller learns from the returned result.
      *
      * @param player The player who hit the mine.
-     * @throws GameException If the player hits a mine, an exception is thrown to forfeit their turn.
+     * @return {@link MoveResult#MINE}.
      */
     @Override
-    public void interact(Player player) throws GameException {
-        throw new GameException(player.getName() + " hit a mine! Turn forfeited.");
+    public MoveResult interact(Player player) {
+        return MoveResult.MINE;
     }
 }
@@ -0,0 +1,734 @@
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Works out which hidden cells of a grid must hold mines and which must be safe, using only what has been
+ * revealed: every revealed empty cell tells how many mines are around it.
+ * <p>
+ * Each such hint becomes a constraint "these hidden cells hold exactly k mines". The solver first propagates
+ * the constraints: one with no mines left clears its cells, one with as many mines as cells fills them, and
+ * any two constraints that share cells bound how many mines the shared cells can hold, which settles the
+ * cells outside the overlap when the bounds are tight (the usual subset rule is the case where one constraint
+ * lies inside the other). Whatever is still undecided is split into independent components, groups of cells
+ * linked through shared constraints, which are searched in parallel on the fork/join pool. For each cell the
+ * search asks whether some layout satisfying the component's constraints gives it the other value from the
+ * layouts seen so far; a cell that holds a mine in every layout is a mine, and one that holds a mine in none is
+ * safe. Each layout found answers the question for many cells at once, so a component takes a handful of
+ * backtracking searches rather than an enumeration of all its layouts.
+ * <p>
+ * Only the cells along the edge of the revealed area are ever looked at, each backtracking search is cut off
+ * after a fixed number of steps, and the whole search after a time budget, so a solve stays interactive on a
+ * 1000x1000 board; a component that hits a cutoff keeps whatever it had settled before. A solver reuses its
+ * working arrays from solve to solve and is not thread-safe.
+ */
+final class MineSolver {
+    private static final int STRIDE = 8;  // Cells per constraint, and constraints per cell, at most
+    private static final int NODE_BUDGET = 1 << 16;  // Search steps per layout query before it is given up
+    private static final long DEFAULT_TIME_BUDGET_NANOS = 50_000_000L;  // Search time per solve
+    private static final int PARALLEL_VARIABLES = 64;  // Undecided cells before the search is split across cores
+    private static final byte UNKNOWN = 0;
+    private static final byte SAFE = 1;
+    private static final byte MINE = 2;
+    private static final int FOUND = 0;  // A layout search found a layout
+    private static final int NONE = 1;  // A layout search proved there is none
+    private static final int CUT_OFF = 2;  // A layout search ran out of steps or time
+
+    private final long timeBudgetNanos;
+    private long deadline;  // When the search of the current solve must stop
+
+    private int[] variableOf = new int[0];  // Per cell: its variable if it is a hidden cell next to a hint, or -1
+
+    // Variables: hidden cells next to at least one hint
+    private int variableCount;
+    private int[] cellOf = new int[STRIDE];
+    private byte[] state = new byte[STRIDE];
+    private int[] constraintsOf = new int[STRIDE * STRIDE];  // STRIDE slots per variable
+    private byte[] constraintCountOf = new byte[STRIDE];
+
+    // Constraints: the undecided cells around one hint, and how many mines they still hold
+    private int constraintCount;
+    private int[] members = new int[STRIDE * STRIDE];  // STRIDE slots per constraint
+    private byte[] memberCount = new byte[STRIDE];
+    private int[] minesLeft = new int[STRIDE];
+    private boolean[] queued = new boolean[STRIDE];
+    private int[] searchMines = new int[STRIDE];  // Mines assigned so far by the search, per constraint
+    private int[] searchFree = new int[STRIDE];  // Cells not yet assigned by the search, per constraint
+
+    // Components left for the search, as ranges of the search order
+    private int[] order = new int[STRIDE];
+    private int[] componentStart = new int[STRIDE];
+    private int componentCount;
+
+    private final IntQueue work = new IntQueue();
+    private final int[] settled = new int[STRIDE];  // Cells about to be assigned by one propagation step
+
+    /**
+     * Constructs a solver that searches for at most 50 milliseconds per solve.
+     */
+    MineSolver() {
+        this(DEFAULT_TIME_BUDGET_NANOS);
+    }
+
+    /**
+     * Constructs a solver with a time limit for the search part of each solve.
+     * Propagation always runs to the end; only the backtracking search is cut short.
+     *
+     * @param timeBudgetNanos How long the search may run per solve.
+     */
+    MineSolver(final long timeBudgetNanos) {
+        this.timeBudgetNanos = timeBudgetNanos;
+    }
+
+    /**
+     * Deduces every hidden cell of a grid whose contents follow from the revealed hints.
+     *
+     * @param grid The grid, of which only the revealed cells are looked at.
+     * @return The cells found to be safe and the cells found to hold mines.
+     */
+    Solution solve(final Grid<GameObject> grid) {
+        return solve(grid, Long.MAX_VALUE);
+    }
+
+    /**
+     * Deduces every hidden cell of a grid whose contents follow from the revealed hints, stopping the search
+     * at the given time if that comes before the end of the solver's own time budget.
+     *
+     * @param grid     The grid, of which only the revealed cells are looked at.
+     * @param deadline The {@link System#nanoTime()} by which the search must stop.
+     * @return The cells found to be safe and the cells found to hold mines.
+     */
+    Solution solve(final Grid<GameObject> grid,
+                   final long deadline) {
+
+        final int cellCount = grid.getSize() * grid.getSize();
+
+        if (variableOf.length != cellCount) {
+            variableOf = new int[cellCount];
+            Arrays.fill(variableOf, -1);
+        }
+        variableCount = 0;
+        constraintCount = 0;
+        componentCount = 0;
+
+        collect(grid);
+        propagate();
+        this.deadline = Math.min(deadline, System.nanoTime() + timeBudgetNanos);
+        final int unsolved = search();
+
+        final long[] safe = new long[(cellCount + 63) >>> 6];
+        final long[] mines = new long[safe.length];
+        int safeCount = 0;
+        int mineCount = 0;
+        for (int v = 0; v < variableCount; v++) {
+            final int cell = cellOf[v];
+            if (state[v] == SAFE) {
+                safe[cell >>> 6] |= 1L << cell;
+                safeCount++;
+            } else if (state[v] == MINE) {
+                mines[cell >>> 6] |= 1L << cell;
+                mineCount++;
+            }
+            variableOf[cell] = -1;  // Leave the lookup clean for the next solve
+        }
+        return new Solution(safe, mines, safeCount, mineCount, unsolved);
+    }
+
+    /**
+     * Turns every revealed hint with hidden neighbors into a constraint.
+     *
+     * @param grid The grid being solved.
+     */
+    private void collect(final Grid<GameObject> grid) {
+        final int size = grid.getSize();
+        final long[] revealed = grid.copyRevealedBits();
+        final int[] hidden = new int[STRIDE];
+
+        for (int word = 0; word < revealed.length; word++) {
+            for (long rest = revealed[word]; rest != 0; rest &= rest - 1) {
+                final int index = (word << 6) + Long.numberOfTrailingZeros(rest);
+                if (!grid.isEmptyAt(index)) {
+                    continue;  // Mines and ships give no hint
+                }
+
+                final int x = index / size;
+                final int y = index - x * size;
+                int mines = grid.nearbyMinesAt(index);
+                int hiddenCount = 0;
+
+                for (int i = Math.max(x - 1, 0); i <= Math.min(x + 1, size - 1); i++) {
+                    for (int j = Math.max(y - 1, 0); j <= Math.min(y + 1, size - 1); j++) {
+                        final int neighbor = i * size + j;
+
+                        if (!grid.isRevealedAt(neighbor)) {
+                            hidden[hiddenCount++] = neighbor;
+                        } else if (grid.isMineAt(neighbor)) {
+                            mines--;  // Already found, so not among the hidden neighbors
+                        }
+                    }
+                }
+                if (hiddenCount > 0) {
+                    addConstraint(hidden, hiddenCount, mines);
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds a constraint over some hidden cells, creating variables for cells seen for the first time.
+     *
+     * @param cells The flat indices of the hidden cells.
+     * @param count The number of cells.
+     * @param mines The number of mines among them.
+     */
+    private void addConstraint(final int[] cells,
+                               final int count,
+                               final int mines) {
+
+        if (constraintCount == memberCount.length) {
+            final int capacity = constraintCount * 2;
+            members = Arrays.copyOf(members, capacity * STRIDE);
+            memberCount = Arrays.copyOf(memberCount, capacity);
+            minesLeft = Arrays.copyOf(minesLeft, capacity);
+            queued = Arrays.copyOf(queued, capacity);
+            searchMines = Arrays.copyOf(searchMines, capacity);
+            searchFree = Arrays.copyOf(searchFree, capacity);
+        }
+
+        final int c = constraintCount++;
+        for (int i = 0; i < count; i++) {
+            final int v = variableFor(cells[i]);
+            members[c * STRIDE + i] = v;
+            constraintsOf[v * STRIDE + constraintCountOf[v]++] = c;
+        }
+        memberCount[c] = (byte) count;
+        minesLeft[c] = mines;
+        queued[c] = false;
+    }
+
+    /**
+     * Returns the variable of a hidden cell, creating it if the cell has none yet.
+     *
+     * @param cell The flat index of the cell.
+     * @return The variable.
+     */
+    private int variableFor(final int cell) {
+        if (variableOf[cell] >= 0) {
+            return variableOf[cell];
+        }
+        if (variableCount == cellOf.length) {
+            final int capacity = variableCount * 2;
+            cellOf = Arrays.copyOf(cellOf, capacity);
+            state = Arrays.copyOf(state, capacity);
+            constraintsOf = Arrays.copyOf(constraintsOf, capacity * STRIDE);
+            constraintCountOf = Arrays.copyOf(constraintCountOf, capacity);
+            order = Arrays.copyOf(order, capacity);
+        }
+
+        final int v = variableCount++;
+        cellOf[v] = cell;
+        state[v] = UNKNOWN;
+        constraintCountOf[v] = 0;
+        variableOf[cell] = v;
+        return v;
+    }
+
+    /**
+     * Applies the constraint rules until none of them settles any more cells.
+     */
+    private void propagate() {
+        for (int c = 0; c < constraintCount; c++) {
+            enqueue(c);
+        }
+
+        while (!work.isEmpty()) {
+            final int c = work.poll();
+            queued[c] = false;
+
+            final int count = memberCount[c];
+            if (count == 0) {
+                continue;
+            }
+            if (minesLeft[c] == 0 || minesLeft[c] == count) {
+                System.arraycopy(members, c * STRIDE, settled, 0, count);
+                settle(settled, count, minesLeft[c] == 0 ? SAFE : MINE);
+                continue;
+            }
+
+            // Compare with every constraint that shares a cell; stop at the first that settles something
+            boolean changed = false;
+            for (int i = 0; i < memberCount[c] && !changed; i++) {
+                final int v = members[c * STRIDE + i];
+                for (int k = 0; k < constraintCountOf[v] && !changed; k++) {
+                    final int d = constraintsOf[v * STRIDE + k];
+                    changed = d != c && memberCount[d] > 0 && compare(c, d);
+                }
+            }
+            if (changed) {
+                enqueue(c);
+            }
+        }
+    }
+
+    /**
+     * Bounds the mines in the cells two constraints share, and settles the cells of either constraint that
+     * lie outside the overlap when the bounds leave only one possibility for them.
+     *
+     * @param a One constraint.
+     * @param b Another constraint sharing at least one cell with it.
+     * @return {@code true} if any cell was settled.
+     */
+    private boolean compare(final int a,
+                            final int b) {
+
+        int shared = 0;
+        for (int i = 0; i < memberCount[a]; i++) {
+            if (contains(b, members[a * STRIDE + i])) {
+                shared++;
+            }
+        }
+
+        final int onlyA = memberCount[a] - shared;
+        final int onlyB = memberCount[b] - shared;
+        final int mostShared = Math.min(shared, Math.min(minesLeft[a], minesLeft[b]));
+        final int leastShared = Math.max(0, Math.max(minesLeft[a] - onlyA, minesLeft[b] - onlyB));
+
+        return settleOutside(b, a, onlyB, minesLeft[b] - mostShared, minesLeft[b] - leastShared)
+               || settleOutside(a, b, onlyA, minesLeft[a] - mostShared, minesLeft[a] - leastShared);
+    }
+
+    /**
+     * Settles the cells of one constraint that are not in another, if the mines they can hold leave no choice.
+     *
+     * @param target      The constraint whose outside cells may be settled.
+     * @param other       The constraint it overlaps.
+     * @param outside     The number of cells of {@code target} not in {@code other}.
+     * @param leastMines  The fewest mines those cells can hold.
+     * @param mostMines   The most mines those cells can hold.
+     * @return {@code true} if any cell was settled.
+     */
+    private boolean settleOutside(final int target,
+                                  final int other,
+                                  final int outside,
+                                  final int leastMines,
+                                  final int mostMines) {
+
+        if (outside == 0 || (leastMines < outside && mostMines > 0)) {
+            return false;
+        }
+
+        int count = 0;
+        for (int i = 0; i < memberCount[target]; i++) {
+            final int v = members[target * STRIDE + i];
+            if (!contains(other, v)) {
+                settled[count++] = v;
+            }
+        }
+        settle(settled, count, leastMines >= outside ? MINE : SAFE);
+        return true;
+    }
+
+    /**
+     * Gives cells a known value and takes them out of every constraint they are in.
+     *
+     * @param variables The variables of the cells.
+     * @param count     The number of cells.
+     * @param value     {@code SAFE} or {@code MINE}.
+     */
+    private void settle(final int[] variables,
+                        final int count,
+                        final byte value) {
+
+        for (int i = 0; i < count; i++) {
+            final int v = variables[i];
+            if (state[v] != UNKNOWN) {
+                continue;
+            }
+            state[v] = value;
+
+            for (int k = 0; k < constraintCountOf[v]; k++) {
+                final int c = constraintsOf[v * STRIDE + k];
+                final int base = c * STRIDE;
+                final int last = --memberCount[c];
+
+                for (int j = 0; j <= last; j++) {
+                    if (members[base + j] == v) {
+                        members[base + j] = members[base + last];
+                        break;
+                    }
+                }
+                if (value == MINE) {
+                    minesLeft[c]--;
+                }
+                enqueue(c);
+            }
+        }
+    }
+
+    /**
+     * Returns whether a constraint still includes a variable.
+     */
+    private boolean contains(final int c,
+                             final int v) {
+
+        final int base = c * STRIDE;
+        for (int i = 0; i < memberCount[c]; i++) {
+            if (members[base + i] == v) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Queues a constraint for another look, unless it is already queued.
+     */
+    private void enqueue(final int c) {
+        if (!queued[c]) {
+            queued[c] = true;
+            work.add(c);
+        }
+    }
+
+    /**
+     * Groups the cells propagation left undecided into independent components and searches each one.
+     *
+     * @return The number of components whose search was cut off.
+     */
+    private int search() {
+        int ordered = 0;
+        final byte[] seen = new byte[variableCount];
+
+        for (int start = 0; start < variableCount; start++) {
+            if (seen[start] != 0 || state[start] != UNKNOWN) {
+                continue;
+            }
+
+            // Breadth-first over shared constraints, so cells that constrain each other are assigned together
+            if (componentCount + 1 >= componentStart.length) {
+                componentStart = Arrays.copyOf(componentStart, componentStart.length * 2);
+            }
+            componentStart[componentCount++] = ordered;
+            seen[start] = 1;
+            order[ordered++] = start;
+            for (int next = ordered - 1; next < ordered; next++) {
+                final int v = order[next];
+                for (int k = 0; k < constraintCountOf[v]; k++) {
+                    final int c = constraintsOf[v * STRIDE + k];
+                    for (int i = 0; i < memberCount[c]; i++) {
+                        final int w = members[c * STRIDE + i];
+                        if (seen[w] == 0) {
+                            seen[w] = 1;
+                            order[ordered++] = w;
+                        }
+                    }
+                }
+            }
+        }
+        componentStart[componentCount] = ordered;
+
+        if (componentCount == 0) {
+            return 0;
+        }
+        final ComponentTask task = new ComponentTask(0, componentCount);
+        if (ordered >= PARALLEL_VARIABLES) {
+            ForkJoinPool.commonPool().invoke(task);
+        } else {
+            task.compute();
+        }
+        return task.cutOff;
+    }
+
+    /**
+     * Settles the cells of one component that hold the same value in every layout satisfying its constraints.
+     * Rather than listing every layout, it finds one, then for each cell not yet seen both ways asks whether a
+     * layout with the opposite value exists; each layout found answers that question for many cells at once.
+     * A cell whose opposite value is impossible is settled, and stays fixed for the questions that follow.
+     * Each component owns its cells and constraints, so components can be searched at the same time.
+     *
+     * @param component The component.
+     * @return {@code true} if the search finished; {@code false} if it was cut off.
+     */
+    private boolean searchComponent(final int component) {
+        final int from = componentStart[component];
+        final int size = componentStart[component + 1] - from;
+        final byte[] fixed = new byte[size];  // Per cell: -1 if open, otherwise the value it was settled to
+        final byte[] value = new byte[size];
+        final int[] sequence = new int[size];
+        final boolean[] everMine = new boolean[size];
+        final boolean[] everSafe = new boolean[size];
+
+        Arrays.fill(fixed, (byte) -1);
+        final int first = findLayout(from, size, -1, (byte) 0, fixed, value, sequence);
+        if (first != FOUND) {
+            return first != CUT_OFF;  // No layout at all means the hints contradict each other
+        }
+        witness(value, everMine, everSafe);
+
+        for (int i = 0; i < size; i++) {
+            if (everMine[i] && everSafe[i]) {
+                continue;
+            }
+
+            final byte seen = (byte) (everMine[i] ? 1 : 0);
+            final int result = findLayout(from, size, i, (byte) (1 - seen), fixed, value, sequence);
+            if (result == CUT_OFF) {
+                return false;
+            }
+            if (result == FOUND) {
+                witness(value, everMine, everSafe);
+            } else {
+                fixed[i] = seen;
+                state[order[from + i]] = seen == 1 ? MINE : SAFE;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Records a layout: every cell has now been seen with the value it has in it.
+     */
+    private static void witness(final byte[] value,
+                                final boolean[] everMine,
+                                final boolean[] everSafe) {
+
+        for (int i = 0; i < value.length; i++) {
+            if (value[i] == 1) {
+                everMine[i] = true;
+            } else {
+                everSafe[i] = true;
+            }
+        }
+    }
+
+    /**
+     * Looks for one layout of a component that satisfies all its constraints, by backtracking in search order.
+     *
+     * @param from        The start of the component in the search order.
+     * @param size        The number of cells in the component.
+     * @param forced      The component cell whose value is given, searched first, or -1 for none.
+     * @param forcedValue The value of the forced cell.
+     * @param fixed       Per cell: -1 if open, otherwise the value it must have.
+     * @param value       Receives the layout when one is found.
+     * @param sequence    Scratch space for the order the cells are tried in.
+     * @return {@code FOUND}, {@code NONE} if no layout exists, or {@code CUT_OFF} if the search ran out of time.
+     */
+    private int findLayout(final int from,
+                           final int size,
+                           final int forced,
+                           final byte forcedValue,
+                           final byte[] fixed,
+                           final byte[] value,
+                           final int[] sequence) {
+
+        int count = 0;
+        if (forced >= 0) {
+            sequence[count++] = forced;
+        }
+        for (int i = 0; i < size; i++) {
+            if (i != forced) {
+                sequence[count++] = i;
+            }
+            final int v = order[from + i];
+            for (int k = 0; k < constraintCountOf[v]; k++) {
+                final int c = constraintsOf[v * STRIDE + k];
+                searchMines[c] = 0;
+                searchFree[c] = memberCount[c];
+            }
+        }
+
+        Arrays.fill(value, (byte) -1);
+        int depth = 0;
+        int steps = 0;
+        while (depth < size) {
+            if (depth < 0) {
+                return NONE;
+            }
+            if (++steps > NODE_BUDGET || (steps & 1023) == 0 && System.nanoTime() > deadline) {
+                return CUT_OFF;
+            }
+
+            final int i = sequence[depth];
+            final int v = order[from + i];
+            final byte only = i == forced ? forcedValue : fixed[i];
+            final int lowest = only >= 0 ? only : 0;
+            final int highest = only >= 0 ? only : 1;
+
+            if (value[i] >= 0) {
+                assign(v, value[i], -1);
+                if (value[i] == highest) {
+                    value[i] = -1;
+                    depth--;
+                    continue;
+                }
+                value[i]++;
+            } else {
+                value[i] = (byte) lowest;
+            }
+            if (assign(v, value[i], 1)) {
+                depth++;
+            }
+        }
+        return FOUND;
+    }
+
+    /**
+     * Assigns a value to a cell in the search, or takes the assignment back, and checks the constraints it is in.
+     *
+     * @param v         The variable of the cell.
+     * @param mine      1 for a mine, 0 for no mine.
+     * @param direction 1 to assign, -1 to take back.
+     * @return {@code true} if every constraint of the cell can still be met.
+     */
+    private boolean assign(final int v,
+                           final int mine,
+                           final int direction) {
+
+        boolean feasible = true;
+        for (int k = 0; k < constraintCountOf[v]; k++) {
+            final int c = constraintsOf[v * STRIDE + k];
+            searchFree[c] -= direction;
+            searchMines[c] += direction * mine;
+            if (searchMines[c] > minesLeft[c] || searchMines[c] + searchFree[c] < minesLeft[c]) {
+                feasible = false;
+            }
+        }
+        return feasible;
+    }
+
+    /**
+     * Searches a range of components, splitting the range across cores when it is large.
+     */
+    @SuppressWarnings("serial")  // Fork/join tasks are never serialized
+    private final class ComponentTask extends RecursiveAction {
+        private final int from;
+        private final int to;
+        private int cutOff;  // Components in the range whose search was cut off
+
+        /**
+         * Constructs a task for the components from {@code from} up to, but not including, {@code to}.
+         */
+        private ComponentTask(final int from,
+                              final int to) {
+
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            final int variables = componentStart[to] - componentStart[from];
+
+            if (to - from > 1 && variables >= PARALLEL_VARIABLES && getPool() != null) {
+                final int middle = (from + to) >>> 1;
+                final ComponentTask left = new ComponentTask(from, middle);
+                final ComponentTask right = new ComponentTask(middle, to);
+                invokeAll(left, right);
+                cutOff = left.cutOff + right.cutOff;
+                return;
+            }
+            for (int component = from; component < to; component++) {
+                if (!searchComponent(component)) {
+                    cutOff++;
+                }
+            }
+        }
+    }
+
+    /**
+     * The cells a solve found to be safe or to hold mines.
+     */
+    static final class Solution {
+        private final long[] safe;  // One bit per cell, set where the cell is certainly safe
+        private final long[] mines;  // One bit per cell, set where the cell certainly holds a mine
+        private final int safeCount;
+        private final int mineCount;
+        private final int unsolvedComponents;
+
+        /**
+         * Constructs a solution; only the solver creates them.
+         */
+        private Solution(final long[] safe,
+                         final long[] mines,
+                         final int safeCount,
+                         final int mineCount,
+                         final int unsolvedComponents) {
+
+            this.safe = safe;
+            this.mines = mines;
+            this.safeCount = safeCount;
+            this.mineCount = mineCount;
+            this.unsolvedComponents = unsolvedComponents;
+        }
+
+        /**
+         * Returns whether a hidden cell is certainly free of mines.
+         *
+         * @param index The flat index of the cell.
+         * @return {@code true} if the hints rule out a mine there.
+         */
+        boolean isSafe(final int index) {
+            return (safe[index >>> 6] & (1L << index)) != 0;
+        }
+
+        /**
+         * Returns whether a hidden cell certainly holds a mine.
+         *
+         * @param index The flat index of the cell.
+         * @return {@code true} if the hints force a mine there.
+         */
+        boolean isMine(final int index) {
+            return (mines[index >>> 6] & (1L << index)) != 0;
+        }
+
+        /**
+         * Returns the first certainly safe cell at or after a flat index.
+         *
+         * @param from The flat index to start from.
+         * @return The flat index of the safe cell, or -1 if there is none.
+         */
+        int nextSafe(final int from) {
+            int word = from >>> 6;
+            if (word >= safe.length) {
+                return -1;
+            }
+            long bits = safe[word] & (-1L << from);
+
+            while (bits == 0) {
+                if (++word == safe.length) {
+                    return -1;
+                }
+                bits = safe[word];
+            }
+            return (word << 6) + Long.numberOfTrailingZeros(bits);
+        }
+
+        /**
+         * Returns the number of cells found to be safe.
+         *
+         * @return The safe count.
+         */
+        int getSafeCount() {
+            return safeCount;
+        }
+
+        /**
+         * Returns the number of cells found to hold mines.
+         *
+         * @return The mine count.
+         */
+        int getMineCount() {
+            return mineCount;
+        }
+
+        /**
+         * Returns the number of groups of frontier cells too tangled to search within the step limit.
+         * Cells in those groups may still be deducible; the solver just did not find out.
+         *
+         * @return The number of unsolved components.
+         */
+        int getUnsolvedComponents() {
+            return unsolvedComponents;
+        }
+    }
+}
@@ -0,0 +1,353 @@
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * An append-only, memory-mapped log of one BattleSweeper game.
+ * The file starts with a fixed header holding the grid size, the number of mines and the seed
+ * the mines were placed from, followed by fixed-width records for every ship placement and shot.
+ * Because every record has the same width, any record can be read directly by its index.
+ * <p>
+ * Header (32 bytes): magic, version, record width, grid size, mines, seed, record count.
+ * Record (8 bytes): type, player, x (2 bytes), y (2 bytes), then for a placement the kind of
+ * object placed, or for a shot its {@link MoveOutcome} and hint.
+ */
+final class MoveLog implements AutoCloseable {
+    static final byte PLACEMENT = 1;  // Record type for an object placed on a player's own grid
+    static final byte SHOT = 2;  // Record type for a shot at the opponent's grid
+    static final byte SHIP = 1;  // Placement kind for a ship
+    static final byte MINE = 2;  // Placement kind for a mine
+
+    private static final int MAGIC = 0x42534D4C;  // "BSML"
+    private static final short VERSION = 1;
+    private static final int HEADER_SIZE = 32;
+    private static final int RECORD_SIZE = 8;
+    private static final int INITIAL_RECORDS = 1024;  // Records the file has room for when created
+    private static final int GRID_SIZE_OFFSET = 8;
+    private static final int MINES_OFFSET = 12;
+    private static final int SEED_OFFSET = 16;
+    private static final int COUNT_OFFSET = 24;
+    private static final MoveOutcome[] OUTCOMES = MoveOutcome.values();
+
+    private final FileChannel channel;
+    private final boolean writable;
+    private final int gridSize;
+    private final int mines;
+    private final long seed;
+    private MappedByteBuffer buffer;
+    private int count;
+
+    /**
+     * Constructs a log over an open channel; use {@link #create} or {@link #open}.
+     */
+    private MoveLog(final FileChannel channel,
+                    final MappedByteBuffer buffer,
+                    final boolean writable) {
+
+        this.channel = channel;
+        this.buffer = buffer;
+        this.writable = writable;
+        this.gridSize = buffer.getInt(GRID_SIZE_OFFSET);
+        this.mines = buffer.getInt(MINES_OFFSET);
+        this.seed = buffer.getLong(SEED_OFFSET);
+        this.count = (int) buffer.getLong(COUNT_OFFSET);
+    }
+
+    /**
+     * Creates a new, empty log, replacing any file already at the path.
+     *
+     * @param path     Where to write the log.
+     * @param gridSize The size of both players' grids.
+     * @param mines    The number of mines placed on each grid.
+     * @param seed     The seed the mines are placed from.
+     * @return The open log.
+     * @throws IOException If the file cannot be created.
+     */
+    static MoveLog create(final Path path,
+                          final int gridSize,
+                          final int mines,
+                          final long seed) throws IOException {
+
+        final FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                                                     StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                                                    HEADER_SIZE + (long) INITIAL_RECORDS * RECORD_SIZE);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(0, MAGIC);
+        buffer.putShort(4, VERSION);
+        buffer.putShort(6, (short) RECORD_SIZE);
+        buffer.putInt(GRID_SIZE_OFFSET, gridSize);
+        buffer.putInt(MINES_OFFSET, mines);
+        buffer.putLong(SEED_OFFSET, seed);
+        buffer.putLong(COUNT_OFFSET, 0L);
+        return new MoveLog(channel, buffer, true);
+    }
+
+    /**
+     * Opens an existing log for reading.
+     *
+     * @param path The log file.
+     * @return The open log.
+     * @throws IOException If the file cannot be read or is not a move log.
+     */
+    static MoveLog open(final Path path) throws IOException {
+        final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+
+        try {
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getShort(4) != VERSION) {
+                throw new IOException(path + " is not a BattleSweeper move log");
+            }
+            final MoveLog log = new MoveLog(channel, buffer, false);
+            if (HEADER_SIZE + (long) log.count * RECORD_SIZE > buffer.capacity()) {
+                throw new IOException(path + " is truncated");
+            }
+            return log;
+        } catch (final IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the size of both players' grids.
+     *
+     * @return The grid size.
+     */
+    int getGridSize() {
+        return gridSize;
+    }
+
+    /**
+     * Returns the number of mines placed on each grid.
+     *
+     * @return The number of mines.
+     */
+    int getMines() {
+        return mines;
+    }
+
+    /**
+     * Returns the seed the mine seeds are derived from.
+     *
+     * @return The game's seed.
+     */
+    long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Returns the seed a player's mines are placed from, for {@link Grid#placeRandomMines(int, long)}.
+     *
+     * @param player The player who owns the grid, 0 or 1.
+     * @return The seed for that player's mines.
+     */
+    long mineSeed(final int player) {
+        return seed + (player + 1) * 0x9E3779B97F4A7C15L;
+    }
+
+    /**
+     * Returns the number of records in the log.
+     *
+     * @return The record count.
+     */
+    int size() {
+        return count;
+    }
+
+    /**
+     * Appends a placement of an object on a player's own grid.
+     *
+     * @param player The player who owns the grid, 0 or 1.
+     * @param x      The x-coordinate of the object.
+     * @param y      The y-coordinate of the object.
+     * @param kind   {@link #SHIP} or {@link #MINE}.
+     * @throws IOException If the file cannot be grown.
+     */
+    void appendPlacement(final int player,
+                         final int x,
+                         final int y,
+                         final byte kind) throws IOException {
+
+        append(PLACEMENT, player, x, y, kind, (byte) 0);
+    }
+
+    /**
+     * Appends a shot fired by a player at the opponent's grid.
+     *
+     * @param player The player who fired, 0 or 1.
+     * @param x      The x-coordinate of the shot.
+     * @param y      The y-coordinate of the shot.
+     * @param result The result of the shot.
+     * @throws IOException If the file cannot be grown.
+     */
+    void appendShot(final int player,
+                    final int x,
+                    final int y,
+                    final MoveResult result) throws IOException {
+
+        append(SHOT, player, x, y, (byte) result.getOutcome().ordinal(), (byte) result.getHint());
+    }
+
+    /**
+     * Returns the type of a record.
+     *
+     * @param record The index of the record.
+     * @return {@link #PLACEMENT} or {@link #SHOT}.
+     */
+    byte type(final int record) {
+        return buffer.get(at(record));
+    }
+
+    /**
+     * Returns the player a record belongs to: the grid's owner for a placement, the shooter for a shot.
+     *
+     * @param record The index of the record.
+     * @return 0 or 1.
+     */
+    int player(final int record) {
+        return buffer.get(at(record) + 1);
+    }
+
+    /**
+     * Returns the x-coordinate of a record.
+     *
+     * @param record The index of the record.
+     * @return The x-coordinate.
+     */
+    int x(final int record) {
+        return Short.toUnsignedInt(buffer.getShort(at(record) + 2));
+    }
+
+    /**
+     * Returns the y-coordinate of a record.
+     *
+     * @param record The index of the record.
+     * @return The y-coordinate.
+     */
+    int y(final int record) {
+        return Short.toUnsignedInt(buffer.getShort(at(record) + 4));
+    }
+
+    /**
+     * Returns the kind of object placed by a placement record.
+     *
+     * @param record The index of a placement record.
+     * @return {@link #SHIP} or {@link #MINE}.
+     */
+    byte kind(final int record) {
+        return buffer.get(at(record) + 6);
+    }
+
+    /**
+     * Returns the outcome of a shot record.
+     *
+     * @param record The index of a shot record.
+     * @return The outcome of the shot.
+     */
+    MoveOutcome outcome(final int record) {
+        return OUTCOMES[buffer.get(at(record) + 6)];
+    }
+
+    /**
+     * Returns the hint of a shot record.
+     *
+     * @param record The index of a shot record.
+     * @return The number of mines next to the target, for a miss.
+     */
+    int hint(final int record) {
+        return buffer.get(at(record) + 7);
+    }
+
+    /**
+     * Writes everything appended so far to the storage device.
+     */
+    void force() {
+        if (writable) {
+            buffer.force();
+        }
+    }
+
+    /**
+     * Flushes and closes the log.
+     *
+     * @throws IOException If the file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        force();
+        channel.close();
+    }
+
+    /**
+     * Writes one record at the end of the log and bumps the count in the header.
+     */
+    private void append(final byte type,
+                        final int player,
+                        final int x,
+                        final int y,
+                        final byte a,
+                        final byte b) throws IOException {
+
+        if (!writable) {
+            throw new IllegalStateException("Move log was opened for reading");
+        }
+        if (offset(count + 1) > buffer.capacity()) {
+            grow();
+        }
+
+        final int at = offset(count);
+        buffer.put(at, type);
+        buffer.put(at + 1, (byte) player);
+        buffer.putShort(at + 2, (short) x);
+        buffer.putShort(at + 4, (short) y);
+        buffer.put(at + 6, a);
+        buffer.put(at + 7, b);
+
+        // The count goes last, so a reader never sees a record that is only half written
+        count++;
+        buffer.putLong(COUNT_OFFSET, count);
+    }
+
+    /**
+     * Doubles the mapped region of the file.
+     *
+     * @throws IOException If the file cannot be grown.
+     */
+    private void grow() throws IOException {
+        final long capacity = 2L * buffer.capacity();
+        if (capacity > Integer.MAX_VALUE) {
+            throw new IOException("Move log is full");
+        }
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Returns the byte offset of a record that has already been written.
+     *
+     * @param record The index of the record.
+     * @return Where the record starts in the file.
+     * @throws IndexOutOfBoundsException If there is no such record.
+     */
+    private int at(final int record) {
+        if (record < 0 || record >= count) {
+            throw new IndexOutOfBoundsException("Record " + record + " of " + count);
+        }
+        return offset(record);
+    }
+
+    /**
+     * Returns the byte offset of a record.
+     *
+     * @param record The index of the record.
+     * @return Where the record starts in the file.
+     */
+    private static int offset(final int record) {
+        return HEADER_SIZE + record * RECORD_SIZE;
+    }
+}
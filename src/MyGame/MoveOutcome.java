@@ -0,0 +1,15 @@
+/**
+ * The kinds of outcome a shot at a grid can have.
+ */
+enum MoveOutcome {
+    /** The shot landed on an empty cell. */
+    MISS,
+    /** The shot hit a ship. */
+    HIT,
+    /** The shot hit a mine. */
+    MINE,
+    /** The shot landed on a cell that was already revealed. */
+    REPEAT,
+    /** The shot was outside the grid. */
+    OUT_OF_BOUNDS
+}
@@ -0,0 +1,198 @@
+import java.util.Arrays;
+
+/**
+ * Rebuilds the grids of a logged game at any turn by fast-forwarding its {@link MoveLog}.
+ * While it is constructed, the replay walks the whole log once and keeps a snapshot of which
+ * cells were revealed on each grid every {@code K} shots. Rebuilding a turn then starts from the
+ * nearest earlier snapshot and applies at most {@code K - 1} shots, instead of replaying the game
+ * from the start. The layout of each grid before the first shot is also worked out once, so a
+ * rebuild neither redraws the seeded mines nor searches the log for placements.
+ * <p>
+ * Each rebuild still returns a new grid, so it also pays for allocating and filling one: O(size * size)
+ * for the grid's arrays plus the layout's objects and the snapshot's revealed cells. Only the shots
+ * applied after the snapshot depend on {@code K}.
+ */
+final class MoveReplay {
+    private final MoveLog log;
+    private final int snapshotInterval;
+    private final int[] shotRecords;  // Index of each shot's record in the log, in turn order
+    private final long[][][] snapshots;  // [snapshot][owner] revealed cells after snapshot * K shots
+    private final int[][] layoutCells;  // [owner] cells holding an object before the first shot, in placement order
+    private final byte[][] layoutKinds;  // [owner] what each of those cells holds: MoveLog.MINE or MoveLog.SHIP
+    private final Player shooter;  // Fires the replayed shots; only used to resolve them
+
+    /**
+     * Reads a log and takes its snapshots.
+     *
+     * @param log              The game to replay.
+     * @param snapshotInterval How many shots apart snapshots are taken.
+     * @throws IllegalArgumentException If the interval is not positive.
+     */
+    MoveReplay(final MoveLog log,
+               final int snapshotInterval) {
+
+        if (snapshotInterval <= 0) {
+            throw new IllegalArgumentException("Snapshot interval must be positive: " + snapshotInterval);
+        }
+        this.log = log;
+        this.snapshotInterval = snapshotInterval;
+        this.shooter = new Player("Replay", 0);
+
+        int shots = 0;
+        final int[] records = new int[log.size()];
+        for (int record = 0; record < log.size(); record++) {
+            if (log.type(record) == MoveLog.SHOT) {
+                records[shots++] = record;
+            }
+        }
+        this.shotRecords = Arrays.copyOf(records, shots);
+        this.snapshots = new long[shots / snapshotInterval + 1][][];
+        this.layoutCells = new int[2][];
+        this.layoutKinds = new byte[2][];
+        readLayout(0);
+        readLayout(1);
+
+        // One pass over the game, keeping the revealed cells every K shots
+        final Grid<GameObject> first = setUpGrid(0);
+        final Grid<GameObject> second = setUpGrid(1);
+        for (int turn = 0; turn <= shots; turn++) {
+            if (turn % snapshotInterval == 0) {
+                snapshots[turn / snapshotInterval] = new long[][] {first.copyRevealedBits(), second.copyRevealedBits()};
+            }
+            if (turn < shots) {
+                applyShot(shotRecords[turn], first, second);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of shots in the game.
+     *
+     * @return The number of turns that can be replayed.
+     */
+    int turnCount() {
+        return shotRecords.length;
+    }
+
+    /**
+     * Rebuilds a player's grid as it was after a number of shots.
+     * This costs O(size * size) to build the new grid from the layout and the nearest snapshot,
+     * plus at most {@code K - 1} replayed shots.
+     *
+     * @param owner The player who owns the grid, 0 or 1.
+     * @param turn  How many shots of the game to apply, from 0 to {@link #turnCount()}.
+     * @return A new grid in that state.
+     * @throws IndexOutOfBoundsException If the turn is outside the game.
+     */
+    Grid<GameObject> gridAt(final int owner,
+                            final int turn) {
+
+        if (turn < 0 || turn > shotRecords.length) {
+            throw new IndexOutOfBoundsException("Turn " + turn + " of " + shotRecords.length);
+        }
+
+        final int snapshot = turn / snapshotInterval;
+        final Grid<GameObject> grid = setUpGrid(owner);
+        grid.revealAll(snapshots[snapshot][owner]);
+
+        // Fast-forward from the snapshot, applying only the opponent's shots at this grid
+        for (int shot = snapshot * snapshotInterval; shot < turn; shot++) {
+            final int record = shotRecords[shot];
+            if (log.player(record) != owner) {
+                resolve(grid, log.x(record), log.y(record));
+            }
+        }
+        return grid;
+    }
+
+    /**
+     * Works out a player's layout before the first shot: mines from the seed, then the logged placements.
+     *
+     * @param owner The player who owns the grid, 0 or 1.
+     */
+    private void readLayout(final int owner) {
+        final int size = log.getGridSize();
+        final Grid<GameObject> mines = new Grid<>(size);
+        mines.placeRandomMines(log.getMines(), log.mineSeed(owner));
+
+        int count = 0;
+        int[] cells = new int[log.getMines()];
+        byte[] kinds = new byte[cells.length];
+        for (int index = 0; index < size * size && count < cells.length; index++) {
+            if (mines.isMineAt(index)) {
+                cells[count] = index;
+                kinds[count++] = MoveLog.MINE;
+            }
+        }
+
+        for (int record = 0; record < log.size(); record++) {
+            if (log.type(record) == MoveLog.PLACEMENT && log.player(record) == owner) {
+                if (count == cells.length) {
+                    cells = Arrays.copyOf(cells, Math.max(2 * count, 1));
+                    kinds = Arrays.copyOf(kinds, cells.length);
+                }
+                cells[count] = log.x(record) * size + log.y(record);
+                kinds[count++] = log.kind(record);
+            }
+        }
+        layoutCells[owner] = Arrays.copyOf(cells, count);
+        layoutKinds[owner] = Arrays.copyOf(kinds, count);
+    }
+
+    /**
+     * Builds a player's grid as it was before the first shot, from the layout read once at construction.
+     *
+     * @param owner The player who owns the grid, 0 or 1.
+     * @return The grid at the start of play.
+     */
+    private Grid<GameObject> setUpGrid(final int owner) {
+        final int size = log.getGridSize();
+        final Grid<GameObject> grid = new Grid<>(size);
+        final int[] cells = layoutCells[owner];
+        final byte[] kinds = layoutKinds[owner];
+        final Mine mine = new Mine();  // Mines hold no state, so one serves every cell, as when they were placed
+
+        for (int i = 0; i < cells.length; i++) {
+            final GameObject object = kinds[i] == MoveLog.MINE ? mine : new Ship();
+            grid.setCell(cells[i] / size, cells[i] % size, object);
+        }
+        return grid;
+    }
+
+    /**
+     * Applies one logged shot to the grid it was fired at.
+     *
+     * @param record The shot's record.
+     * @param first  Player 0's grid.
+     * @param second Player 1's grid.
+     */
+    private void applyShot(final int record,
+                           final Grid<GameObject> first,
+                           final Grid<GameObject> second) {
+
+        resolve(log.player(record) == 0 ? second : first, log.x(record), log.y(record));
+    }
+
+    /**
+     * Resolves a shot the way the game did, opening empty areas after zero-hint misses.
+     *
+     * @param grid The grid fired at.
+     * @param x    The x-coordinate of the shot.
+     * @param y    The y-coordinate of the shot.
+     */
+    private void resolve(final Grid<GameObject> grid,
+                         final int x,
+                         final int y) {
+
+        final MoveResult result;
+        try {
+            result = shooter.shoot(grid, x, y);
+        } catch (final GameException e) {
+            throw new IllegalStateException("Logged shot could not be replayed", e);
+        }
+
+        if (result.getOutcome() == MoveOutcome.MISS && result.getHint() == 0) {
+            grid.revealEmptyArea(x, y);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/**
+ * The result of a shot: its {@link MoveOutcome} and, for a miss, how many mines are next to the cell.
+ * Every possible result is created once up front, so resolving a move never allocates.
+ */
+final class MoveResult {
+    private static final int MAX_HINT = 8;  // A cell has at most eight neighbors
+
+    /** A shot that hit a ship. */
+    static final MoveResult HIT = new MoveResult(MoveOutcome.HIT, 0);
+    /** A shot that hit a mine. */
+    static final MoveResult MINE = new MoveResult(MoveOutcome.MINE, 0);
+    /** A shot at a cell that was already revealed. */
+    static final MoveResult REPEAT = new MoveResult(MoveOutcome.REPEAT, 0);
+    /** A shot outside the grid. */
+    static final MoveResult OUT_OF_BOUNDS = new MoveResult(MoveOutcome.OUT_OF_BOUNDS, 0);
+
+    private static final MoveResult[] MISSES = new MoveResult[MAX_HINT + 1];
+
+    static {
+        for (int hint = 0; hint <= MAX_HINT; hint++) {
+            MISSES[hint] = new MoveResult(MoveOutcome.MISS, hint);
+        }
+    }
+
+    private final MoveOutcome outcome;
+    private final int hint;
+
+    /**
+     * Constructs a result; only used to build the shared instances.
+     *
+     * @param outcome The outcome of the shot.
+     * @param hint    The number of mines next to the target cell, for a miss.
+     */
+    private MoveResult(final MoveOutcome outcome,
+                       final int hint) {
+
+        this.outcome = outcome;
+        this.hint = hint;
+    }
+
+    /**
+     * Returns the shared result for a miss next to the given number of mines.
+     *
+     * @param hint The number of mines next to the target cell.
+     * @return The result for the miss.
+     * @throws IllegalArgumentException If the hint is not between 0 and 8.
+     */
+    static MoveResult miss(final int hint) {
+        if (hint < 0 || hint > MAX_HINT) {
+            throw new IllegalArgumentException("A hint must be between 0 and " + MAX_HINT + ": " + hint);
+        }
+        return MISSES[hint];
+    }
+
+    /**
+     * Returns the outcome of the shot.
+     *
+     * @return The outcome.
+     */
+    MoveOutcome getOutcome() {
+        return outcome;
+    }
+
+    /**
+     * Returns the number of mines next to the target cell. This is only meaningful for a miss.
+     *
+     * @return The number of nearby mines, or 0 for any other outcome.
+     */
+    int getHint() {
+        return hint;
+    }
+
+    @Override
+    public String toString() {
+        return outcome == MoveOutcome.MISS ? outcome + "(" + hint + ")" : outcome.toString();
+    }
+}
@@ -0,0 +1,46 @@
+/**
+ * Where the coordinates and answers that players type come from.
+ * All player input goes through a source instead of each reader wrapping standard input on its own,
+ * so input that one reader has buffered is never lost to another. By default that source is
+ * {@link #console()}, a single buffered reader over standard input shared by the whole game.
+ * <p>
+ * Reads follow {@link java.util.Scanner}'s conventions: tokens are separated by whitespace, a token
+ * that is not a number makes {@link #nextInt()} throw {@link java.util.InputMismatchException} after
+ * consuming it, and running out of input throws {@link java.util.NoSuchElementException}.
+ * Sources are not thread-safe.
+ */
+interface MoveSource {
+
+    /**
+     * Reads the next token as a number.
+     *
+     * @return The number.
+     * @throws java.util.InputMismatchException If the token is not a number; the token is skipped.
+     * @throws java.util.NoSuchElementException If there is no more input.
+     */
+    int nextInt();
+
+    /**
+     * Reads the next token.
+     *
+     * @return The token.
+     * @throws java.util.NoSuchElementException If there is no more input.
+     */
+    String next();
+
+    /**
+     * Returns whether there is another token, waiting for input if necessary.
+     *
+     * @return {@code true} if another token can be read; {@code false} at the end of the input.
+     */
+    boolean hasNext();
+
+    /**
+     * Returns the source shared by everything that reads from standard input.
+     *
+     * @return The console source.
+     */
+    static MoveSource console() {
+        return ReaderMoveSource.CONSOLE;
+    }
+}
@@ -1,6 +1,11 @@
 /**
  * A functional interface for validating player moves on the grid.
  * This interface defines a single method to check if a move is valid based on the coordinates.
+ * <p>
+ * Validators are built from small rules joined with {@link #and(MoveValidator)}, such as
+ * {@link #inBounds(int)} followed by {@link #notRevealed(Grid)}. Besides checking one move at a time,
+ * a validator can filter a whole batch of candidate moves held in plain arrays with
+ * {@link #filterValid(int[], int[], int)}, which allocates nothing however many candidates there are.
  */
 @FunctionalInterface
 interface MoveValidator {
@@ -14,4 +19,118 @@ interface MoveValidator {
      * @return true if the move is valid, false otherwise.
      */
     boolean isValidMove(int x, int y);
+
+    /**
+     * Keeps only the valid moves of a batch, moving them to the front of the arrays in their original order.
+     *
+     * @param xs    The x-coordinates of the candidates.
+     * @param ys    The y-coordinates of the candidates.
+     * @param count The number of candidates, from the start of the arrays.
+     * @return The number of valid moves now at the front of the arrays.
+     */
+    default int filterValid(final int[] xs,
+                            final int[] ys,
+                            final int count) {
+
+        int kept = 0;
+        for (int i = 0; i < count; i++) {
+            if (isValidMove(xs[i], ys[i])) {
+                xs[kept] = xs[i];
+                ys[kept] = ys[i];
+                kept++;
+            }
+        }
+        return kept;
+    }
+
+    /**
+     * Keeps only the valid moves of a batch given as flat cell indices, moving them to the front of the array
+     * in their original order.
+     *
+     * @param cells The flat indices ({@code x * size + y}) of the candidates.
+     * @param count The number of candidates, from the start of the array.
+     * @param size  The size of the grid the indices refer to.
+     * @return The number of valid moves now at the front of the array.
+     */
+    default int filterValid(final int[] cells,
+                            final int count,
+                            final int size) {
+
+        int kept = 0;
+        for (int i = 0; i < count; i++) {
+            if (isValidMove(cells[i] / size, cells[i] % size)) {
+                cells[kept++] = cells[i];
+            }
+        }
+        return kept;
+    }
+
+    /**
+     * Returns a validator that accepts a move only if this one and another both do.
+     * The other is only asked about moves this one accepts, so cheap rules such as bounds should come first,
+     * and rules that assume the move is on the grid can safely follow them.
+     *
+     * @param next The rule to check after this one.
+     * @return The combined validator.
+     */
+    default MoveValidator and(final MoveValidator next) {
+        final MoveValidator first = this;
+
+        return new MoveValidator() {
+            @Override
+            public boolean isValidMove(final int x,
+                                       final int y) {
+
+                return first.isValidMove(x, y) && next.isValidMove(x, y);
+            }
+
+            @Override
+            public int filterValid(final int[] xs,
+                                   final int[] ys,
+                                   final int count) {
+
+                return next.filterValid(xs, ys, first.filterValid(xs, ys, count));
+            }
+
+            @Override
+            public int filterValid(final int[] cells,
+                                   final int count,
+                                   final int size) {
+
+                return next.filterValid(cells, first.filterValid(cells, count, size), size);
+            }
+        };
+    }
+
+    /**
+     * Returns a rule that accepts coordinates on a grid of a given size.
+     *
+     * @param size The size of the grid.
+     * @return The bounds rule.
+     */
+    static MoveValidator inBounds(final int size) {
+        return (x, y) -> x >= 0 && x < size && y >= 0 && y < size;
+    }
+
+    /**
+     * Returns a rule that accepts cells of a grid that have not been revealed yet, read from the grid's
+     * revealed bitset in O(1). The coordinates must be on the grid, so put a bounds rule first.
+     *
+     * @param grid The grid being fired at.
+     * @return The "not already targeted" rule.
+     */
+    static MoveValidator notRevealed(final Grid<?> grid) {
+        return (x, y) -> !grid.isRevealedAt(x * grid.getSize() + y);
+    }
+
+    /**
+     * Returns a rule that accepts cells of a grid that hold nothing.
+     * The coordinates must be on the grid, so put a bounds rule first.
+     *
+     * @param grid The grid objects are placed on.
+     * @return The occupancy rule.
+     */
+    static MoveValidator emptyCell(final Grid<?> grid) {
+        return (x, y) -> grid.isEmptyAt(x * grid.getSize() + y);
+    }
 }
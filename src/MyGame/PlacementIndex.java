@@ -0,0 +1,306 @@
+import java.util.SplittableRandom;
+
+/**
+ * Which cells of a grid are closed to ship placement, kept twice as bitmasks: once row by row and once
+ * column by column. A ship of length L fits wherever L consecutive bits of a row or column are clear,
+ * and a few shifted ANDs over a line's words find every such start at once. Listing every legal placement
+ * therefore costs O(log L) passes over O(size / 64) words per line, rather than L cell checks per start.
+ */
+final class PlacementIndex {
+    private final int size;
+    private final int words;  // Words per row or column
+    private final long tailMask;  // Bits of a line's last word that lie inside the grid
+    private final long[] rows;  // Row-major: bit y of row x is set where (x, y) is closed
+    private final long[] columns;  // Column-major: bit x of column y is set where (x, y) is closed
+    private final long[] open;  // Scratch: the legal starts of one line
+
+    /**
+     * Constructs an index for a grid with every cell open.
+     *
+     * @param size The size of the grid.
+     */
+    PlacementIndex(final int size) {
+        this.size = size;
+        this.words = (size + 63) >>> 6;
+        this.tailMask = (size & 63) == 0 ? -1L : (1L << size) - 1;
+        this.rows = new long[size * words];
+        this.columns = new long[size * words];
+        this.open = new long[words];
+    }
+
+    /**
+     * Builds the index for placing new ships on a grid: every cell that already holds something is closed.
+     *
+     * @param grid The grid ships will be placed on.
+     * @return The index.
+     */
+    static PlacementIndex forPlacement(final Grid<?> grid) {
+        final int size = grid.getSize();
+        final PlacementIndex index = new PlacementIndex(size);
+
+        for (int i = 0; i < size * size; i++) {
+            if (!grid.isEmptyAt(i)) {
+                index.close(i / size, i % size);
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Builds the index of where the ships still afloat on an opponent's grid could lie, using only what has
+     * been revealed: revealed empty cells, revealed mines and the segments of sunk ships are closed.
+     * Segments hit on ships that are still afloat stay open, since the rest of such a ship runs through them.
+     *
+     * @param grid The opponent's grid.
+     * @return The index.
+     */
+    static PlacementIndex forTargeting(final Grid<GameObject> grid) {
+        final int size = grid.getSize();
+        final PlacementIndex index = new PlacementIndex(size);
+
+        for (int i = 0; i < size * size; i++) {
+            if (grid.isRevealedAt(i)
+                    && (grid.isEmptyAt(i) || grid.isMineAt(i) || grid.valueAt(i) instanceof Ship ship && ship.isSunk())) {
+                index.close(i / size, i % size);
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Closes a cell to placement.
+     *
+     * @param x The row of the cell.
+     * @param y The column of the cell.
+     */
+    void close(final int x,
+               final int y) {
+
+        rows[x * words + (y >>> 6)] |= 1L << y;
+        columns[y * words + (x >>> 6)] |= 1L << x;
+    }
+
+    /**
+     * Returns whether a cell is closed to placement.
+     *
+     * @param x The row of the cell.
+     * @param y The column of the cell.
+     * @return {@code true} if the cell is closed; {@code false} if a ship may cover it.
+     */
+    boolean isClosed(final int x,
+                     final int y) {
+
+        return (rows[x * words + (y >>> 6)] & (1L << y)) != 0;
+    }
+
+    /**
+     * Returns whether a ship fits with its first segment at a cell.
+     *
+     * @param x          The row of the first segment.
+     * @param y          The column of the first segment.
+     * @param length     The length of the ship.
+     * @param horizontal {@code true} to run along the row; {@code false} to run down the column.
+     * @return {@code true} if every cell the ship would cover is on the grid and open.
+     */
+    boolean fits(final int x,
+                 final int y,
+                 final int length,
+                 final boolean horizontal) {
+
+        final int endX = horizontal ? x : x + length - 1;
+        final int endY = horizontal ? y + length - 1 : y;
+
+        if (length < 1 || x < 0 || y < 0 || endX >= size || endY >= size) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (horizontal ? isClosed(x, y + i) : isClosed(x + i, y)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Counts the legal placements of a ship, in both directions.
+     * A ship of length 1 is counted once per cell rather than once per direction.
+     *
+     * @param length The length of the ship.
+     * @return The number of legal placements.
+     */
+    int countPlacements(final int length) {
+        int count = 0;
+
+        for (int direction = 0; direction < directions(length); direction++) {
+            final long[] lines = direction == 0 ? rows : columns;
+            for (int line = 0; line < size; line++) {
+                openStarts(lines, line, length);
+                for (int w = 0; w < words; w++) {
+                    count += Long.bitCount(open[w]);
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Lists every legal placement of a ship in one direction.
+     *
+     * @param length     The length of the ship.
+     * @param horizontal {@code true} for ships along a row; {@code false} for ships down a column.
+     * @return One bit per cell, indexed like {@link Grid#copyRevealedBits()}, set where the ship's first
+     *         segment can go.
+     */
+    long[] legalStarts(final int length,
+                       final boolean horizontal) {
+
+        final long[] starts = new long[(size * size + 63) >>> 6];
+
+        for (int line = 0; line < size; line++) {
+            openStarts(horizontal ? rows : columns, line, length);
+            for (int w = 0; w < words; w++) {
+                for (long rest = open[w]; rest != 0; rest &= rest - 1) {
+                    final int along = (w << 6) + Long.numberOfTrailingZeros(rest);
+                    final int index = horizontal ? line * size + along : along * size + line;
+                    starts[index >>> 6] |= 1L << index;
+                }
+            }
+        }
+        return starts;
+    }
+
+    /**
+     * Counts, for every cell, how many legal placements of a ship cover it.
+     * Cells covered by many placements are the likeliest to hold the ship.
+     *
+     * @param length The length of the ship.
+     * @return The number of covering placements per cell, by flat index.
+     */
+    int[] coverage(final int length) {
+        final int[] counts = new int[size * size];
+
+        for (int direction = 0; direction < directions(length); direction++) {
+            final boolean horizontal = direction == 0;
+            for (int line = 0; line < size; line++) {
+                openStarts(horizontal ? rows : columns, line, length);
+
+                // A cell is covered by the placements that start up to length - 1 cells before it
+                int window = 0;
+                for (int along = 0; along < size; along++) {
+                    if (isOpenStart(along)) {
+                        window++;
+                    }
+                    if (along >= length && isOpenStart(along - length)) {
+                        window--;
+                    }
+                    counts[horizontal ? line * size + along : along * size + line] += window;
+                }
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Picks one of the legal placements of a ship uniformly at random.
+     *
+     * @param length The length of the ship.
+     * @param random The generator used to pick.
+     * @return The flat index of the first segment shifted left by one, with the low bit set for a vertical
+     *         ship; or -1 if the ship fits nowhere.
+     */
+    long randomPlacement(final int length,
+                         final SplittableRandom random) {
+
+        final int total = countPlacements(length);
+        if (total == 0) {
+            return -1L;
+        }
+
+        int rank = random.nextInt(total);
+        for (int direction = 0; direction < directions(length); direction++) {
+            final long[] lines = direction == 0 ? rows : columns;
+            for (int line = 0; line < size; line++) {
+                openStarts(lines, line, length);
+                for (int w = 0; w < words; w++) {
+                    final int count = Long.bitCount(open[w]);
+                    if (rank >= count) {
+                        rank -= count;
+                        continue;
+                    }
+
+                    long rest = open[w];
+                    for (; rank > 0; rank--) {
+                        rest &= rest - 1;
+                    }
+                    final int along = (w << 6) + Long.numberOfTrailingZeros(rest);
+                    final long index = direction == 0 ? (long) line * size + along : (long) along * size + line;
+                    return index << 1 | direction;
+                }
+            }
+        }
+        throw new IllegalStateException("Placement count changed while picking");
+    }
+
+    /**
+     * Returns how many directions a ship of a length can be placed in without counting a placement twice.
+     *
+     * @param length The length of the ship.
+     * @return 1 for a single cell; 2 otherwise.
+     */
+    private static int directions(final int length) {
+        return length == 1 ? 1 : 2;
+    }
+
+    /**
+     * Fills the scratch line with the legal starts of a ship along one row or column.
+     * Starting from the open cells, each pass ANDs the line with itself shifted, doubling the run of open
+     * cells every set bit stands for until it reaches the ship's length.
+     *
+     * @param lines  The row-major or column-major closed bits.
+     * @param line   The row or column.
+     * @param length The length of the ship.
+     */
+    private void openStarts(final long[] lines,
+                            final int line,
+                            final int length) {
+
+        final int base = line * words;
+        for (int w = 0; w < words; w++) {
+            open[w] = ~lines[base + w];
+        }
+        open[words - 1] &= tailMask;
+
+        for (int covered = 1; covered < length; ) {
+            final int shift = Math.min(covered, length - covered);
+            andShifted(shift);
+            covered += shift;
+        }
+    }
+
+    /**
+     * ANDs the scratch line with itself shifted towards bit 0, so bit i keeps its value only if bit i + shift
+     * is set too. Words are updated in increasing order, so each reads only words it has not changed yet.
+     *
+     * @param shift How many bits to shift by.
+     */
+    private void andShifted(final int shift) {
+        final int wordShift = shift >>> 6;
+        final int bitShift = shift & 63;
+
+        for (int w = 0; w < words; w++) {
+            final long low = w + wordShift < words ? open[w + wordShift] : 0L;
+            final long high = w + wordShift + 1 < words ? open[w + wordShift + 1] : 0L;
+            open[w] &= bitShift == 0 ? low : low >>> bitShift | high << (64 - bitShift);
+        }
+    }
+
+    /**
+     * Returns whether a position of the scratch line is a legal start.
+     *
+     * @param along The position along the line.
+     * @return {@code true} if the bit is set.
+     */
+    private boolean isOpenStart(final int along) {
+        return (open[along >>> 6] & (1L << along)) != 0;
+    }
+}
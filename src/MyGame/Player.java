@@ -1,13 +1,19 @@
-import java.util.Scanner;
+import java.io.PrintStream;
+import java.util.SplittableRandom;
 
 /**
  * Represents a player in the game. Each player has a name, a grid for placing ships and mines,
  * and a method to make moves against an opponent.
+ * Opponents fire at the player's {@link Board}, which is the grid unless another board, such as an
+ * {@link InfiniteGrid}, is set with {@link #setBoard(Board)}.
  */
 class Player {
     protected final  String name;
     protected final Grid<GameObject> grid;
-    private int[] lastMove = null;  // Store last move coordinates
+    private Board<GameObject> board;  // The board opponents fire at: the grid, or one set in its place
+    private int[] lastMove = null;  // Store last move coordinates, reused from move to move
+    protected PrintStream out = System.out;  // Where messages for this player are printed
+    protected MoveSource input = MoveSource.console();  // Where this player's typed moves come from
 
     /**
      * Constructs a Player with a name and a grid of the given size.
@@ -20,6 +26,7 @@ class Player {
 
         this.name = name;
         this.grid = new Grid<>(gridSize);
+        this.board = grid;
     }
 
     /**
@@ -31,6 +38,24 @@ class Player {
         return lastMove;  // Return the last move's coordinates
     }
 
+    /**
+     * Sets where messages for this player are printed.
+     *
+     * @param out The stream for this player's messages.
+     */
+    public void setOutput(final PrintStream out) {
+        this.out = out;
+    }
+
+    /**
+     * Sets where this player's typed moves come from.
+     *
+     * @param input The source of moves, such as a script.
+     */
+    public void setMoveSource(final MoveSource input) {
+        this.input = input;
+    }
+
     /**
      * Getter for the player's name.
      *
@@ -41,63 +66,119 @@ class Player {
     }
 
     /**
-     * Allows the player to make a move against the opponent's grid.
+     * Allows the player to make a move against the opponent's board.
      * Validates the move, reveals the target cell, and handles interactions with mines and ships.
      *
-     * @param opponentGrid The opponent's grid where the player will make a move.
-     * @throws GameException If the player hits a mine or makes an invalid move.
+     * @param opponentBoard The opponent's board where the player will make a move.
+     * @return The result of the move.
+     * @throws GameException If the move could not be made.
      */
-    public void makeMove(final Grid<GameObject> opponentGrid) throws GameException {
-        final Scanner scanner;
-        scanner = new Scanner(System.in);
+    public MoveResult makeMove(final Board<GameObject> opponentBoard) throws GameException {
+        out.print("Enter x-coordinate for your attack: ");
+        int x = readInt(opponentBoard.getSize());
 
-        System.out.print("Enter x-coordinate for your attack: ");
-        int x = scanner.nextInt();
+        out.print("Enter y-coordinate for your attack: ");
+        int y = readInt(opponentBoard.getSize());
 
-        System.out.print("Enter y-coordinate for your attack: ");
-        int y = scanner.nextInt();
+        return fireAt(opponentBoard, x, y);
+    }
 
-        // Check if the move is within bounds
-        if (x < 0 || x >= opponentGrid.getSize() || y < 0 || y >= opponentGrid.getSize()) {
-            System.out.println("Out of bounds! Try again.");
-            return;
+    /**
+     * Reads a number typed by this player, recording the wait as a flight recorder event.
+     *
+     * @param boardSize The size of the board the number is for, or 0 if it has no edges.
+     * @return The number.
+     */
+    protected int readInt(final int boardSize) {
+        final FlightEvents.InputWait event = new FlightEvents.InputWait();
+        event.begin();
+
+        final int value = input.nextInt();
+
+        if (event.shouldCommit()) {
+            event.boardSize = boardSize;
+            event.value = value;
+            event.commit();
         }
+        return value;
+    }
 
-        // Save the move coordinates to lastMove
-        lastMove = new int[] {x, y};
+    /**
+     * Fires a shot at the given coordinates of the opponent's board and tells the player what happened.
+     *
+     * @param opponentBoard The opponent's board where the shot lands.
+     * @param x The x-coordinate of the shot.
+     * @param y The y-coordinate of the shot.
+     * @return The result of the shot.
+     * @throws GameException If the target object could not be interacted with.
+     */
+    protected MoveResult fireAt(final Board<GameObject> opponentBoard,
+                                final int x,
+                                final int y) throws GameException {
 
-        // Get the target cell in the opponent's grid
-        Cell<GameObject> targetCell = opponentGrid.getCell(x, y);
+        final MoveResult result = shoot(opponentBoard, x, y);
 
-        // Check if the cell has already been revealed
-        if (targetCell.isRevealed()) {
-            System.out.println("You've already targeted this cell! Try again.");
-            return;
-        }
+        switch (result.getOutcome()) {
+            case OUT_OF_BOUNDS -> out.println("Out of bounds! Try again.");
+            case REPEAT -> out.println("You've already targeted this cell! Try again.");
+            case MINE -> out.println("Boom! You hit a mine.");
+            case HIT -> {
+                out.println("HIT! You've hit a part of the ship.");
 
-        // Reveal the target cell
-        targetCell.reveal();
+                if (opponentBoard.objectAt(x, y) instanceof Ship ship
+                        && ship.getVessel() != null && ship.isSunk()) {
+                    out.println("You sank a ship of length " + ship.getVessel().getLength() + "!");
+                }
+            }
+            case MISS -> {
+                out.println("Miss! There are " + result.getHint() + " mines nearby.");
 
-        // Get the object in the target cell
-        GameObject target = targetCell.getValue();
+                // With no mines nearby, open up the whole connected empty area
+                if (result.getHint() == 0) {
+                    final int opened = opponentBoard.revealEmptyArea(x, y);
+                    if (opened > 0) {
+                        out.println("Cleared " + opened + " more empty cells around your shot.");
+                    }
+                }
+            }
+        }
+        return result;
+    }
 
-        // If it's a mine, the player loses and the turn is over
-        if (target instanceof Mine) {
+    /**
+     * Resolves a shot at the given coordinates of the opponent's board without printing anything.
+     * Validates the move, reveals the target cell, and lets any object in it interact with the player.
+     * Misses do not open up the surrounding empty area; callers decide whether to do that.
+     *
+     * @param opponentBoard The opponent's board where the shot lands.
+     * @param x The x-coordinate of the shot.
+     * @param y The y-coordinate of the shot.
+     * @return The result of the shot.
+     * @throws GameException If the target object could not be interacted with.
+     */
+    MoveResult shoot(final Board<GameObject> opponentBoard,
+                     final int x,
+                     final int y) throws GameException {
 
-            System.out.println("Boom! You hit a mine.");
-            throw new GameException("You hit a mine and forfeited your turn.");
+        // Check if the move is within bounds
+        if (!opponentBoard.contains(x, y)) {
+            return MoveResult.OUT_OF_BOUNDS;
         }
 
-        // If it's a ship, interact with the ship
-        else if (target instanceof Ship ship) {
-            ship.interact(this);  // Handle ship interaction (e.g., damaging or sinking)
+        // Save the move coordinates to lastMove, reusing the array after the first move
+        if (lastMove == null) {
+            lastMove = new int[2];
         }
+        lastMove[0] = x;
+        lastMove[1] = y;
 
-        // If it's a blank space, the player missed
-        else {
-            int adjacentMines = opponentGrid.countNearbyMines(x, y);
-            System.out.println("Miss! There are " + adjacentMines + " mines nearby.");
+        // Cells that have already been revealed cannot be fired at again
+        if (!opponentBoard.shotValidator().isValidMove(x, y)) {
+            return MoveResult.REPEAT;
         }
+
+        // Reveal the target cell and let whatever is in it decide what happens (e.g., a mine or a ship being hit)
+        return opponentBoard.resolveShot(this, x, y);
     }
 
     /**
@@ -112,20 +193,86 @@ class Player {
                             final int y,
                             final GameObject object) throws Exception {
 
-        // Ensure the coordinates are within bounds
-        if (x < 0 || x >= grid.getSize() || y < 0 || y >= grid.getSize()) {
-            throw new Exception("Coordinates out of bounds.");
-        }
-
-        // Check if the cell is already occupied
-        if (grid.getCell(x, y).getValue() != null) {
-            throw new Exception("Cell is already occupied.");
+        // Check that the cell is on the grid and not already occupied
+        if (!grid.placementValidator().isValidMove(x, y)) {
+            throw new Exception(grid.contains(x, y) ? "Cell is already occupied." : "Coordinates out of bounds.");
         }
 
         // Place the object on the grid
         grid.setCell(x, y, object);
     }
 
+    /**
+     * Places this player's ships without asking anyone, if the player knows how to.
+     * Players that need to be asked where to put their ships return {@code false}.
+     *
+     * @param count The number of ships to place.
+     * @return {@code true} if the ships were placed; {@code false} if the player must be prompted.
+     */
+    public boolean placeShipsAutomatically(final int count) {
+        return false;
+    }
+
+    /**
+     * Places ships on this player's grid at random empty cells.
+     *
+     * @param count  The number of ships to place.
+     * @param random The generator used to choose the cells.
+     * @throws IllegalArgumentException If there are not enough empty cells.
+     */
+    protected void placeShipsRandomly(final int count,
+                                      final SplittableRandom random) {
+
+        final int size = grid.getSize();
+        int free = 0;
+
+        for (int i = 0; i < size * size; i++) {
+            if (grid.isEmptyAt(i)) {
+                free++;
+            }
+        }
+        if (count > free) {
+            throw new IllegalArgumentException("Cannot place " + count + " ships on " + free + " empty cells");
+        }
+
+        for (int placed = 0; placed < count; ) {
+            final int x = random.nextInt(size);
+            final int y = random.nextInt(size);
+
+            if (grid.getCell(x, y).getValue() == null) {
+                grid.setCell(x, y, new Ship());
+                placed++;
+            }
+        }
+    }
+
+    /**
+     * Places a fleet of multi-cell ships on this player's grid, each at a random legal placement.
+     *
+     * @param lengths The length of each ship.
+     * @param random  The generator used to choose the placements.
+     * @return The placed fleet.
+     * @throws IllegalArgumentException If the ships do not all fit.
+     */
+    protected Fleet placeFleetRandomly(final int[] lengths,
+                                       final SplittableRandom random) {
+
+        return Fleet.placeRandomly(grid, lengths, random);
+    }
+
+    /**
+     * Called after the opponent fires at this player's grid. Players that need to be told
+     * about incoming shots, such as remote players, override this; by default it does nothing.
+     *
+     * @param x      The x-coordinate of the opponent's shot.
+     * @param y      The y-coordinate of the opponent's shot.
+     * @param result The result of the opponent's shot.
+     */
+    public void opponentMoved(final int x,
+                              final int y,
+                              final MoveResult result) {
+    }
+
     /**
      * Displays the player's grid, optionally showing hidden objects based on the reveal flag.
      *
@@ -133,32 +280,28 @@ class Player {
      */
     public void displayGrid(boolean showObjects) {
 
-        System.out.println(name + "'s Grid:");
-        grid.display(showObjects);  // Display the grid with or without hidden objects
+        out.println(name + "'s Grid:");
+        grid.display(showObjects, out);  // Display the grid with or without hidden objects
     }
 
     /**
-     * Checks if all ships have been sunk on the opponent's grid.
+     * Checks if all ships have been sunk on the opponent's board.
      *
-     * @param grid The opponent's grid to check.
+     * @param board The opponent's board to check.
      * @return true if all ships have been sunk, false otherwise.
      */
-    public boolean allShipsSunk(final Grid<GameObject> grid) {
+    public boolean allShipsSunk(final Board<GameObject> board) {
+        final FlightEvents.AllShipsSunk event = new FlightEvents.AllShipsSunk();
+        event.begin();
 
-        for (int x = 0; x < grid.getSize(); x++) {
+        final boolean sunk = board.allShipsSunk();  // A grid keeps a live count of unrevealed ships
 
-            for (int y = 0; y < grid.getSize(); y++) {
-                GameObject obj = grid.getCell(x, y).getValue();
-
-                if (obj instanceof Ship ship) {
-
-                    if (!ship.isRevealed()) {
-                        return false;  // There is at least one ship remaining
-                    }
-                }
-            }
+        if (event.shouldCommit()) {
+            event.boardSize = board.getSize();
+            event.sunk = sunk;
+            event.commit();
         }
-        return true;  // All ships are sunk
+        return sunk;
     }
 
     /**
@@ -169,4 +312,23 @@ class Player {
     public Grid<GameObject> getGrid() {
         return grid;
     }
+
+    /**
+     * Getter for the board opponents fire at.
+     *
+     * @return The player's grid, or the board set in its place.
+     */
+    public Board<GameObject> getBoard() {
+        return board;
+    }
+
+    /**
+     * Sets the board opponents fire at in place of the player's grid, such as an {@link InfiniteGrid}.
+     * Such a board is generated rather than set up, so the player places nothing on it.
+     *
+     * @param board The board to play on.
+     */
+    public void setBoard(final Board<GameObject> board) {
+        this.board = board;
+    }
 }
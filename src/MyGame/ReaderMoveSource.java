@@ -0,0 +1,110 @@
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.InputMismatchException;
+import java.util.NoSuchElementException;
+
+/**
+ * A {@link MoveSource} that reads tokens from a character stream through its own buffer.
+ * Numbers are parsed straight out of the buffer, so reading one allocates nothing.
+ */
+final class ReaderMoveSource implements MoveSource {
+    private static final int BUFFER_SIZE = 8192;  // Characters read from the stream at a time
+
+    static final ReaderMoveSource CONSOLE = new ReaderMoveSource(new InputStreamReader(System.in));
+
+    private final Reader reader;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position;  // Next character to read
+    private int limit;  // One past the last character read into the buffer
+
+    /**
+     * Constructs a source over a character stream.
+     *
+     * @param reader The stream to read; the source owns it from now on.
+     */
+    ReaderMoveSource(final Reader reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    public int nextInt() {
+        skipWhitespace();
+        if (position == limit) {
+            throw new NoSuchElementException("No more input");
+        }
+
+        final boolean negative = buffer[position] == '-';
+        if (negative || buffer[position] == '+') {
+            position++;
+        }
+
+        long value = 0;
+        int digits = 0;
+        while (fill() && !Character.isWhitespace(buffer[position])) {
+            final int digit = buffer[position] - '0';
+            if (digit < 0 || digit > 9 || value > Integer.MAX_VALUE) {
+                next();  // Skip the rest of the token, as Scanner would not
+                throw new InputMismatchException("Expected a number");
+            }
+            value = value * 10 + digit;
+            digits++;
+            position++;
+        }
+
+        final long signed = negative ? -value : value;
+        if (digits == 0 || signed < Integer.MIN_VALUE || signed > Integer.MAX_VALUE) {
+            throw new InputMismatchException("Expected a number");
+        }
+        return (int) signed;
+    }
+
+    @Override
+    public String next() {
+        skipWhitespace();
+        if (position == limit) {
+            throw new NoSuchElementException("No more input");
+        }
+
+        final StringBuilder token = new StringBuilder();
+        while (fill() && !Character.isWhitespace(buffer[position])) {
+            token.append(buffer[position++]);
+        }
+        return token.toString();
+    }
+
+    @Override
+    public boolean hasNext() {
+        skipWhitespace();
+        return position < limit;
+    }
+
+    /**
+     * Moves past any whitespace, stopping at the next token or the end of the input.
+     */
+    private void skipWhitespace() {
+        while (fill() && Character.isWhitespace(buffer[position])) {
+            position++;
+        }
+    }
+
+    /**
+     * Makes sure the buffer holds at least one unread character, reading more from the stream if it is empty.
+     *
+     * @return {@code true} if a character is available; {@code false} at the end of the stream.
+     */
+    private boolean fill() {
+        if (position < limit) {
+            return true;
+        }
+        try {
+            final int read = reader.read(buffer, 0, BUFFER_SIZE);
+            position = 0;
+            limit = Math.max(read, 0);
+            return read > 0;
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,187 @@
+import java.io.BufferedReader;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.SplittableRandom;
+
+/**
+ * Represents a player whose moves arrive over a network connection.
+ * The player talks to its client with one short line of text per message:
+ * <ul>
+ *     <li>{@code TURN} asks the client for a move, which it answers with {@code FIRE x y}
+ *         (or {@code QUIT} to leave).</li>
+ *     <li>{@code SHOT outcome hint} reports the result of the client's shot.</li>
+ *     <li>{@code INCOMING x y outcome hint} reports a shot the opponent fired at the client's grid.</li>
+ *     <li>{@code ERROR message} rejects a line that could not be understood; a new {@code TURN} follows.</li>
+ * </ul>
+ * Output is buffered and only flushed when the player is about to wait for the client,
+ * so a whole round costs one write on the connection.
+ */
+class RemotePlayer extends Player {
+    private final BufferedReader in;
+    private final Writer toClient;
+    private final long seed;
+    private Runnable activityListener = () -> { };  // Told whenever the client sends a line
+
+    /**
+     * Constructs a remote player talking over the given reader and writer.
+     *
+     * @param name     The name of the player.
+     * @param gridSize The size of the player's grid.
+     * @param in       Lines sent by the client.
+     * @param toClient Where lines for the client are written; should be buffered.
+     * @param seed     The seed used to place the player's ships.
+     */
+    RemotePlayer(final String name,
+                 final int gridSize,
+                 final BufferedReader in,
+                 final Writer toClient,
+                 final long seed) {
+
+        super(name, gridSize);
+        this.in = in;
+        this.toClient = toClient;
+        this.seed = seed;
+    }
+
+    /**
+     * Asks the client for a move until it sends one that can be parsed, then fires it.
+     *
+     * @param opponentBoard The opponent's board where the shot lands.
+     * @return The result of the move.
+     * @throws GameException If the target object could not be interacted with.
+     * @throws UncheckedIOException If the client disconnects or quits.
+     */
+    @Override
+    public MoveResult makeMove(final Board<GameObject> opponentBoard) throws GameException {
+        while (true) {
+            send("TURN");
+            flush();
+
+            final String line = readLine();
+            if (line.equals("QUIT")) {
+                throw new UncheckedIOException(new EOFException(name + " quit the game"));
+            }
+
+            final int[] move = parseFire(line);
+            if (move == null) {
+                send("ERROR expected FIRE x y");
+                continue;
+            }
+
+            final MoveResult result = shoot(opponentBoard, move[0], move[1]);
+            if (result.getOutcome() == MoveOutcome.MISS && result.getHint() == 0) {
+                opponentBoard.revealEmptyArea(move[0], move[1]);
+            }
+            send("SHOT " + result.getOutcome() + " " + result.getHint());
+            return result;
+        }
+    }
+
+    /**
+     * Tells the client where the opponent's shot landed.
+     *
+     * @param x      The x-coordinate of the opponent's shot.
+     * @param y      The y-coordinate of the opponent's shot.
+     * @param result The result of the opponent's shot.
+     */
+    @Override
+    public void opponentMoved(final int x,
+                              final int y,
+                              final MoveResult result) {
+
+        send("INCOMING " + x + " " + y + " " + result.getOutcome() + " " + result.getHint());
+    }
+
+    /**
+     * Remote players have their ships placed for them at random.
+     *
+     * @param count The number of ships to place.
+     * @return {@code true}.
+     */
+    @Override
+    public boolean placeShipsAutomatically(final int count) {
+        placeShipsRandomly(count, new SplittableRandom(seed));
+        return true;
+    }
+
+    /**
+     * Sets what to call whenever the client sends a line, such as a session's idle timer.
+     *
+     * @param activityListener Called after every line received from the client.
+     */
+    void setActivityListener(final Runnable activityListener) {
+        this.activityListener = activityListener;
+    }
+
+    /**
+     * Writes one line for the client. The line is not sent until the next {@link #flush()}.
+     *
+     * @param line The line to send, without its line break.
+     * @throws UncheckedIOException If the connection fails.
+     */
+    void send(final String line) {
+        try {
+            toClient.write(line);
+            toClient.write('\n');
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Sends every line written so far.
+     *
+     * @throws UncheckedIOException If the connection fails.
+     */
+    void flush() {
+        try {
+            toClient.flush();
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reads the next line from the client.
+     *
+     * @return The line, without its line break.
+     * @throws UncheckedIOException If the connection fails or the client has disconnected.
+     */
+    private String readLine() {
+        try {
+            final String line = in.readLine();
+            if (line == null) {
+                throw new EOFException(name + " disconnected");
+            }
+            activityListener.run();
+            return line.trim();
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Parses a {@code FIRE x y} line.
+     *
+     * @param line The line sent by the client.
+     * @return The x and y coordinates, or null if the line is not a valid move.
+     */
+    static int[] parseFire(final String line) {
+        if (!line.startsWith("FIRE ")) {
+            return null;
+        }
+
+        final int space = line.indexOf(' ', 5);
+        if (space < 0) {
+            return null;
+        }
+        try {
+            return new int[] {Integer.parseInt(line, 5, space, 10),
+                              Integer.parseInt(line, space + 1, line.length(), 10)};
+        } catch (final NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+import java.util.InputMismatchException;
+import java.util.Scanner;
+
+/**
+ * A {@link MoveSource} that reads from a {@link Scanner} the caller already owns, so a program that
+ * reads its own answers from a scanner can hand the same input to a game without a second reader
+ * buffering part of it away.
+ */
+final class ScannerMoveSource implements MoveSource {
+    private final Scanner scanner;
+
+    /**
+     * Constructs a source over a scanner. The scanner stays usable by its owner between reads.
+     *
+     * @param scanner The scanner to read tokens from.
+     */
+    ScannerMoveSource(final Scanner scanner) {
+        this.scanner = scanner;
+    }
+
+    @Override
+    public int nextInt() {
+        try {
+            return scanner.nextInt();
+        } catch (final InputMismatchException e) {
+            scanner.next();  // Skip the token, as the other sources do
+            throw e;
+        }
+    }
+
+    @Override
+    public String next() {
+        return scanner.next();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return scanner.hasNext();
+    }
+}
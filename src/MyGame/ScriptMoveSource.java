@@ -0,0 +1,131 @@
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.InputMismatchException;
+import java.util.NoSuchElementException;
+
+/**
+ * A {@link MoveSource} that plays back a pre-recorded script, for regression and throughput tests.
+ * A script holds exactly what players would type: ship coordinates during setup, the x and y of each shot,
+ * and the answer to "play again?", separated by whitespace. A {@code #} starts a comment that runs to the
+ * end of the line.
+ * <p>
+ * The whole script is loaded into memory up front and numbers are parsed straight from its bytes, so a
+ * script can feed millions of moves per second; {@link #rewind()} starts it over without reloading.
+ */
+final class ScriptMoveSource implements MoveSource {
+    private final byte[] script;
+    private int position;  // Next byte to read
+    private long tokensRead;
+
+    /**
+     * Constructs a source over a script held in memory.
+     *
+     * @param script The script, as ASCII text.
+     */
+    ScriptMoveSource(final byte[] script) {
+        this.script = script;
+    }
+
+    /**
+     * Loads a script file.
+     *
+     * @param path The script file.
+     * @return A source that plays the script from the start.
+     * @throws IOException If the file cannot be read.
+     */
+    static ScriptMoveSource load(final Path path) throws IOException {
+        return new ScriptMoveSource(Files.readAllBytes(path));
+    }
+
+    @Override
+    public int nextInt() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("Script ended after " + tokensRead + " tokens");
+        }
+        tokensRead++;
+
+        final boolean negative = script[position] == '-';
+        if (negative || script[position] == '+') {
+            position++;
+        }
+
+        final int start = position;
+        long value = 0;
+        while (position < script.length && !isSeparator(script[position])) {
+            final int digit = script[position] - '0';
+            if (digit < 0 || digit > 9 || value > Integer.MAX_VALUE) {
+                while (position < script.length && !isSeparator(script[position])) {
+                    position++;
+                }
+                throw new InputMismatchException("Not a number at byte " + start);
+            }
+            value = value * 10 + digit;
+            position++;
+        }
+
+        final long signed = negative ? -value : value;
+        if (position == start || signed < Integer.MIN_VALUE || signed > Integer.MAX_VALUE) {
+            throw new InputMismatchException("Not a number at byte " + start);
+        }
+        return (int) signed;
+    }
+
+    @Override
+    public String next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("Script ended after " + tokensRead + " tokens");
+        }
+        tokensRead++;
+
+        final int start = position;
+        while (position < script.length && !isSeparator(script[position])) {
+            position++;
+        }
+        return new String(script, start, position - start, StandardCharsets.US_ASCII);
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (position < script.length) {
+            final byte b = script[position];
+            if (b == '#') {
+                while (position < script.length && script[position] != '\n') {
+                    position++;
+                }
+            } else if (b <= ' ') {
+                position++;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Starts the script over from the beginning.
+     */
+    void rewind() {
+        position = 0;
+    }
+
+    /**
+     * Returns the number of tokens read since the source was created, across rewinds.
+     *
+     * @return The token count.
+     */
+    long getTokensRead() {
+        return tokensRead;
+    }
+
+    /**
+     * Returns whether a byte ends a token.
+     *
+     * @param b The byte.
+     * @return {@code true} for whitespace and the start of a comment.
+     */
+    private static boolean isSeparator(final byte b) {
+        return b <= ' ' || b == '#';
+    }
+}
@@ -1,26 +1,71 @@
 final class Ship extends GameObject {
     private boolean revealed;
+    private Grid<?> grid;  // The grid this ship is placed on, told when the ship is revealed
+    private final Vessel vessel;  // The ship this segment belongs to, or null for a single-cell ship
 
     public Ship() {
+        this(null);
+    }
+
+    /**
+     * Constructs one segment of a longer ship.
+     *
+     * @param vessel The ship the segment belongs to, which counts its hits; null for a single-cell ship.
+     */
+    Ship(final Vessel vessel) {
         this.type = "Ship";
         this.revealed = false;
+        this.vessel = vessel;
     }
 
     public boolean isRevealed() {
         return revealed;
     }
 
+    /**
+     * Returns whether the whole ship this segment belongs to has been hit.
+     *
+     * @return {@code true} if every segment of the ship is revealed; {@code false} otherwise.
+     */
+    public boolean isSunk() {
+        return vessel == null ? revealed : vessel.isSunk();
+    }
+
+    /**
+     * Returns the ship this segment belongs to.
+     *
+     * @return The ship, or null for a single-cell ship.
+     */
+    Vessel getVessel() {
+        return vessel;
+    }
+
     public void reveal() {
-        this.revealed = true;
+        if (!revealed) {
+            this.revealed = true;
+            if (vessel != null) {
+                vessel.segmentHit();
+            }
+            if (grid != null) {
+                grid.shipRevealed();
+            }
+        }
+    }
+
+    Grid<?> getGrid() {
+        return grid;
+    }
+
+    void setGrid(final Grid<?> grid) {
+        this.grid = grid;
     }
 
     @Override
-    public void interact(Player player) {
+    public MoveResult interact(Player player) {
         if (revealed) {
-            System.out.println("You've already hit this part of the ship!");
-        } else {
-            System.out.println("HIT! You've hit a part of the ship.");
-            reveal(); // Mark the ship as revealed
+            return MoveResult.REPEAT; // This part of the ship was already hit
         }
+        reveal(); // Mark the ship as revealed
+        return MoveResult.HIT;
     }
 }
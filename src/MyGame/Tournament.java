@@ -0,0 +1,632 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+/**
+ * Plays a round-robin tournament between AI strategies: every pair of entrants plays the same number of games,
+ * taking turns at shooting first, and the entrants are rated from the results.
+ * <p>
+ * Every game's seed is derived from the base seed, the pairing and the game's number, so a tournament gives the
+ * same results however many cores play it and in whatever order the games finish, as long as each strategy is
+ * itself deterministic for a given seed (an {@link AIPlayer} with a generous time budget is). Games are played in
+ * rounds of {@link #ROUND_GAMES} per pairing, in parallel on every core. After each round its results are
+ * appended to a text log and handed to a listener as fresh {@link Standings}, so results stream out while the
+ * tournament runs. Running again over the same log skips the rounds it already holds, which resumes an
+ * interrupted tournament or extends a finished one with more games.
+ * <p>
+ * Log format: a header line naming the settings and the entrants, then one line per round holding the number of
+ * the round's first game and its game count per pairing, followed by wins, draws and losses for each pairing.
+ */
+final class Tournament {
+    static final int ROUND_GAMES = 256;  // Games per pairing in each round; a round is also a Glicko rating period
+    private static final long TIME_BUDGET_NANOS = 1_000_000_000L;  // Generous, so the default AIs are never cut short
+    private static final int DEFAULT_GAMES = 10_000;  // Games per pairing when none is given
+    private static final int DEFAULT_GRID_SIZE = 10;  // Board size when none is given
+    private static final int DEFAULT_MINES = 3;  // Mines per grid, as in GameManager
+    private static final int DEFAULT_SHIPS = 3;  // Ships per grid, as in GameManager
+    private static final long REPORT_INTERVAL_NANOS = 5_000_000_000L;  // How often main prints the standings
+    private static final String LOG_VERSION = "battlesweeper-tournament 1";
+
+    private final int gridSize;
+    private final int mines;
+    private final int ships;
+    private final List<String> names = new ArrayList<>();
+    private final List<Strategy> strategies = new ArrayList<>();
+
+    /**
+     * Builds the AI player of one entrant for one game.
+     */
+    @FunctionalInterface
+    interface Strategy {
+        /**
+         * Creates a fresh player.
+         *
+         * @param name     The name of the player.
+         * @param gridSize The size of the game grid.
+         * @param mines    The number of mines on each grid; hitting this many loses the game.
+         * @param seed     The seed for the player's ship placement and choices.
+         * @return The player.
+         */
+        AIPlayer create(String name, int gridSize, int mines, long seed);
+    }
+
+    /**
+     * Constructs a tournament for boards of the given shape.
+     *
+     * @param gridSize The size of each player's grid.
+     * @param mines    The number of mines placed on each grid; hitting this many loses the game.
+     * @param ships    The number of ships placed on each grid.
+     * @throws IllegalArgumentException If the mines and ships do not fit on the grid.
+     */
+    Tournament(final int gridSize,
+               final int mines,
+               final int ships) {
+
+        if (gridSize <= 0 || mines < 1 || ships < 1 || mines + ships > gridSize * gridSize) {
+            throw new IllegalArgumentException("Cannot fit " + mines + " mines and " + ships
+                                               + " ships on a grid of size " + gridSize);
+        }
+        this.gridSize = gridSize;
+        this.mines = mines;
+        this.ships = ships;
+    }
+
+    /**
+     * Enters a strategy into the tournament.
+     *
+     * @param name     A unique name for the entrant, without spaces or commas.
+     * @param strategy How to build the entrant's player for each game.
+     * @throws IllegalArgumentException If the name is empty, taken, or holds a space or comma.
+     */
+    void add(final String name,
+             final Strategy strategy) {
+
+        if (name.isEmpty() || name.chars().anyMatch(c -> Character.isWhitespace(c) || c == ',')) {
+            throw new IllegalArgumentException("Entrant names must be non-empty, without spaces or commas: " + name);
+        }
+        if (names.contains(name)) {
+            throw new IllegalArgumentException("Entrant already entered: " + name);
+        }
+        names.add(name);
+        strategies.add(strategy);
+    }
+
+    /**
+     * Plays every pairing until it has played a number of games, continuing from whatever the log already holds.
+     *
+     * @param gamesPerPairing The number of games each pair of entrants plays in total.
+     * @param baseSeed        The seed every game's own seed is derived from.
+     * @param log             Where round results are appended, created if missing.
+     * @param listener        Receives the standings after each round, or null.
+     * @return The standings after the last round.
+     * @throws IOException If the log cannot be read or written, or belongs to a different tournament.
+     * @throws IllegalStateException If fewer than two entrants have been entered.
+     */
+    Standings run(final int gamesPerPairing,
+                  final long baseSeed,
+                  final Path log,
+                  final Consumer<Standings> listener) throws IOException {
+
+        if (names.size() < 2) {
+            throw new IllegalStateException("A tournament needs at least two entrants");
+        }
+
+        final Ratings ratings = new Ratings(names.size());
+        final String header = header(baseSeed);
+        final int played = replay(log, header, ratings);
+
+        try (BufferedWriter writer = Files.newBufferedWriter(log, StandardCharsets.UTF_8,
+                                                             StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            if (played < 0) {
+                writer.write(header + '\n');
+                writer.flush();
+            }
+
+            final ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+            try {
+                for (int first = Math.max(played, 0); first < gamesPerPairing; first += ROUND_GAMES) {
+                    final int count = Math.min(ROUND_GAMES, gamesPerPairing - first);
+                    final int[] results = playRound(pool, baseSeed, first, count);
+
+                    writer.write(roundLine(first, count, results) + '\n');
+                    writer.flush();
+                    ratings.addRound(results);
+                    if (listener != null) {
+                        listener.accept(ratings.standings(names));
+                    }
+                }
+            } finally {
+                pool.shutdown();
+            }
+        }
+        return ratings.standings(names);
+    }
+
+    /**
+     * Plays one round: the same range of games for every pairing, in parallel.
+     *
+     * @param pool     The pool to play on.
+     * @param baseSeed The seed of the tournament.
+     * @param first    The number of the round's first game within each pairing.
+     * @param count    The number of games per pairing.
+     * @return Wins, draws and losses of the first entrant of each pairing, three entries per pairing.
+     */
+    private int[] playRound(final ForkJoinPool pool,
+                            final long baseSeed,
+                            final int first,
+                            final int count) {
+
+        final int pairings = pairingCount(names.size());
+        final byte[] winners = new byte[pairings * count];
+
+        pool.submit(() -> IntStream.range(0, winners.length).parallel().forEach(task -> {
+            final int pairing = task / count;
+            final int game = first + task % count;
+            winners[task] = (byte) playGame(pairing, game, baseSeed);
+        })).join();
+
+        final int[] results = new int[3 * pairings];
+        for (int task = 0; task < winners.length; task++) {
+            results[3 * (task / count) + winners[task]]++;
+        }
+        return results;
+    }
+
+    /**
+     * Plays one game of a pairing. The entrants take turns at shooting first from game to game.
+     *
+     * @param pairing  The index of the pairing.
+     * @param game     The number of the game within the pairing.
+     * @param baseSeed The seed of the tournament.
+     * @return 0 if the pairing's first entrant won, 1 for a draw, or 2 if the second entrant won.
+     */
+    private int playGame(final int pairing,
+                         final int game,
+                         final long baseSeed) {
+
+        final int[] entrants = pairingAt(pairing, names.size());
+        final boolean swapped = (game & 1) != 0;
+        final int firstShooter = entrants[swapped ? 1 : 0];
+        final int secondShooter = entrants[swapped ? 0 : 1];
+
+        final SplittableRandom random = new SplittableRandom(
+                BattleSimulator.gameSeed(baseSeed + pairing * 0xD1B54A32D192ED03L, game));
+        final AIPlayer player1 = strategies.get(firstShooter).create(names.get(firstShooter), gridSize, mines,
+                                                                     random.nextLong());
+        final AIPlayer player2 = strategies.get(secondShooter).create(names.get(secondShooter), gridSize, mines,
+                                                                      random.nextLong());
+
+        final int winner = BattleSimulator.duel(player1, player2, mines, ships, random, null);
+        if (winner == 0) {
+            return 1;
+        }
+        return (winner == 1) != swapped ? 0 : 2;
+    }
+
+    /**
+     * Returns the line that starts a log, so a resumed tournament can check it is the same tournament.
+     *
+     * @param baseSeed The seed of the tournament.
+     * @return The header line.
+     */
+    private String header(final long baseSeed) {
+        return LOG_VERSION + " grid=" + gridSize + " mines=" + mines + " ships=" + ships + " seed=" + baseSeed
+               + " entrants=" + String.join(",", names);
+    }
+
+    /**
+     * Formats the results of one round as a log line.
+     */
+    private static String roundLine(final int first,
+                                    final int count,
+                                    final int[] results) {
+
+        final StringBuilder line = new StringBuilder().append(first).append(' ').append(count);
+        for (final int result : results) {
+            line.append(' ').append(result);
+        }
+        return line.toString();
+    }
+
+    /**
+     * Reads the rounds already in a log into the ratings. A line cut short by an interrupted write is removed.
+     *
+     * @param log     The log.
+     * @param header  The header the log must start with.
+     * @param ratings Receives the logged rounds.
+     * @return The number of games per pairing already played, or -1 if the log is missing or empty.
+     * @throws IOException If the log cannot be read, or belongs to a different tournament.
+     */
+    private int replay(final Path log,
+                       final String header,
+                       final Ratings ratings) throws IOException {
+
+        if (!Files.exists(log) || Files.size(log) == 0) {
+            return -1;
+        }
+
+        final byte[] bytes = Files.readAllBytes(log);
+        int end = bytes.length;
+        while (end > 0 && bytes[end - 1] != '\n') {
+            end--;
+        }
+        if (end < bytes.length) {
+            try (FileChannel channel = FileChannel.open(log, StandardOpenOption.WRITE)) {
+                channel.truncate(end);
+            }
+        }
+
+        if (end == 0) {
+            return -1;  // Only a torn header was written
+        }
+        final String[] lines = new String(bytes, 0, end, StandardCharsets.UTF_8).split("\n");
+        if (!lines[0].equals(header)) {
+            throw new IOException(log + " belongs to a different tournament: " + lines[0]);
+        }
+
+        final int fields = 2 + 3 * pairingCount(names.size());
+        int played = 0;
+        for (int i = 1; i < lines.length; i++) {
+            final String[] parts = lines[i].trim().split(" ");
+            if (parts.length != fields || Integer.parseInt(parts[0]) != played) {
+                throw new IOException(log + " has a malformed round on line " + (i + 1));
+            }
+
+            final int[] results = new int[fields - 2];
+            for (int k = 0; k < results.length; k++) {
+                results[k] = Integer.parseInt(parts[k + 2]);
+            }
+            ratings.addRound(results);
+            played += Integer.parseInt(parts[1]);
+        }
+        return played;
+    }
+
+    /**
+     * Returns the number of pairings among a number of entrants.
+     */
+    private static int pairingCount(final int entrants) {
+        return entrants * (entrants - 1) / 2;
+    }
+
+    /**
+     * Returns the two entrants of a pairing; pairings are numbered (0, 1), (0, 2), ..., (1, 2), ...
+     *
+     * @param pairing  The index of the pairing.
+     * @param entrants The number of entrants.
+     * @return The lower and the higher entrant index.
+     */
+    private static int[] pairingAt(final int pairing,
+                                   final int entrants) {
+
+        int rest = pairing;
+        for (int i = 0; i < entrants; i++) {
+            final int opponents = entrants - 1 - i;
+            if (rest < opponents) {
+                return new int[] {i, i + 1 + rest};
+            }
+            rest -= opponents;
+        }
+        throw new IndexOutOfBoundsException("No pairing " + pairing + " among " + entrants + " entrants");
+    }
+
+    /**
+     * The running results of a tournament, and the Glicko ratings built up round by round.
+     */
+    private static final class Ratings {
+        private static final double Q = Math.log(10) / 400;
+        private static final double START_RATING = 1500;
+        private static final double START_DEVIATION = 350;
+        private static final int FIT_ITERATIONS = 200;  // Rounds of the Elo fit; it converges well before this
+
+        private final int entrants;
+        private final long[][] points;  // Half-points scored by each entrant against each other one
+        private final long[][] games;  // Games played between each pair of entrants
+        private final double[] glicko;
+        private final double[] deviation;
+
+        /**
+         * Constructs empty ratings for a number of entrants.
+         */
+        private Ratings(final int entrants) {
+            this.entrants = entrants;
+            this.points = new long[entrants][entrants];
+            this.games = new long[entrants][entrants];
+            this.glicko = new double[entrants];
+            this.deviation = new double[entrants];
+            Arrays.fill(glicko, START_RATING);
+            Arrays.fill(deviation, START_DEVIATION);
+        }
+
+        /**
+         * Adds a round's results and runs one Glicko rating period over them. Strategies do not change strength
+         * between rounds, so deviations are never widened between periods.
+         *
+         * @param results Wins, draws and losses of the first entrant of each pairing, three entries per pairing.
+         */
+        private void addRound(final int[] results) {
+            final double[] sums = new double[entrants];  // Sum of g * (score - expected) over each entrant's games
+            final double[] information = new double[entrants];  // Sum of g^2 * E * (1 - E)
+
+            for (int pairing = 0; 3 * pairing < results.length; pairing++) {
+                final int[] pair = pairingAt(pairing, entrants);
+                final int a = pair[0];
+                final int b = pair[1];
+                final int wins = results[3 * pairing];
+                final int draws = results[3 * pairing + 1];
+                final int losses = results[3 * pairing + 2];
+                final int n = wins + draws + losses;
+
+                rate(a, b, n, wins + 0.5 * draws, sums, information);
+                rate(b, a, n, losses + 0.5 * draws, sums, information);
+                points[a][b] += 2L * wins + draws;
+                points[b][a] += 2L * losses + draws;
+                games[a][b] += n;
+                games[b][a] += n;
+            }
+
+            for (int i = 0; i < entrants; i++) {
+                final double precision = 1 / (deviation[i] * deviation[i]) + Q * Q * information[i];
+                glicko[i] += Q / precision * sums[i];
+                deviation[i] = Math.sqrt(1 / precision);
+            }
+        }
+
+        /**
+         * Adds one entrant's games against one opponent in a rating period to the Glicko sums,
+         * using both players' ratings from before the period.
+         *
+         * @param player      The entrant being rated.
+         * @param opponent    The opponent.
+         * @param n           The number of games.
+         * @param score       The entrant's score: 1 per win and a half per draw.
+         * @param sums        Per entrant: the sum of g * (score - expected score).
+         * @param information Per entrant: the sum of g^2 * expected * (1 - expected).
+         */
+        private void rate(final int player,
+                          final int opponent,
+                          final int n,
+                          final double score,
+                          final double[] sums,
+                          final double[] information) {
+
+            final double spread = deviation[opponent];
+            final double g = 1 / Math.sqrt(1 + 3 * Q * Q * spread * spread / (Math.PI * Math.PI));
+            final double expected = 1 / (1 + Math.pow(10, -g * (glicko[player] - glicko[opponent]) / 400));
+
+            sums[player] += g * (score - n * expected);
+            information[player] += n * g * g * expected * (1 - expected);
+        }
+
+        /**
+         * Returns a snapshot of the ratings, with Elo ratings fitted to every game so far.
+         *
+         * @param names The names of the entrants.
+         * @return The standings.
+         */
+        private Standings standings(final List<String> names) {
+            final double[] strength = new double[entrants];  // Bradley-Terry strength, 10^(Elo / 400)
+            Arrays.fill(strength, 1.0);
+
+            // Minorization-maximization fit; one virtual draw against every opponent keeps a perfect record finite
+            for (int iteration = 0; iteration < FIT_ITERATIONS; iteration++) {
+                double logSum = 0;
+                for (int i = 0; i < entrants; i++) {
+                    double scored = 0;
+                    double expected = 0;
+                    for (int j = 0; j < entrants; j++) {
+                        if (j != i) {
+                            scored += points[i][j] / 2.0 + 0.5;
+                            expected += (games[i][j] + 1) / (strength[i] + strength[j]);
+                        }
+                    }
+                    strength[i] = scored / expected;
+                    logSum += Math.log(strength[i]);
+                }
+                final double mean = Math.exp(logSum / entrants);
+                for (int i = 0; i < entrants; i++) {
+                    strength[i] /= mean;
+                }
+            }
+
+            final double[] elo = new double[entrants];
+            final double[] eloError = new double[entrants];
+            long played = 0;
+            for (int i = 0; i < entrants; i++) {
+                double information = 0;
+                for (int j = 0; j < entrants; j++) {
+                    if (j != i) {
+                        final double p = strength[i] / (strength[i] + strength[j]);
+                        information += (games[i][j] + 1) * p * (1 - p);
+                        played += games[i][j];
+                    }
+                }
+                elo[i] = START_RATING + Math.log(strength[i]) / Q;
+                eloError[i] = 1 / (Q * Math.sqrt(information));
+            }
+            return new Standings(names.toArray(new String[0]), played / 2, elo, eloError,
+                                 glicko.clone(), deviation.clone(), points);
+        }
+    }
+
+    /**
+     * The ratings of every entrant after some number of rounds.
+     * Elo ratings are fitted to all games at once, so they do not depend on the order the games were played in;
+     * Glicko ratings are built up one round at a time. Both are anchored at 1500 and come with a 95% interval.
+     */
+    static final class Standings {
+        private static final double Z95 = 1.96;  // Standard errors on each side of a 95% interval
+
+        private final String[] names;
+        private final long games;
+        private final double[] elo;
+        private final double[] eloError;  // Standard error of each Elo rating
+        private final double[] glicko;
+        private final double[] deviation;  // Glicko rating deviation
+        private final long[][] points;  // Half-points scored by each entrant against each other one
+
+        /**
+         * Constructs standings from finished ratings, copying the points table.
+         */
+        private Standings(final String[] names,
+                          final long games,
+                          final double[] elo,
+                          final double[] eloError,
+                          final double[] glicko,
+                          final double[] deviation,
+                          final long[][] points) {
+
+            this.names = names;
+            this.games = games;
+            this.elo = elo;
+            this.eloError = eloError;
+            this.glicko = glicko;
+            this.deviation = deviation;
+            this.points = new long[points.length][];
+            for (int i = 0; i < points.length; i++) {
+                this.points[i] = points[i].clone();
+            }
+        }
+
+        /**
+         * Returns the total number of games played.
+         *
+         * @return The number of games.
+         */
+        long getGames() {
+            return games;
+        }
+
+        /**
+         * Returns the index of an entrant by name.
+         *
+         * @param name The name of the entrant.
+         * @return Its index, in the order the entrants were added.
+         * @throws IllegalArgumentException If there is no such entrant.
+         */
+        int indexOf(final String name) {
+            for (int i = 0; i < names.length; i++) {
+                if (names[i].equals(name)) {
+                    return i;
+                }
+            }
+            throw new IllegalArgumentException("No such entrant: " + name);
+        }
+
+        /**
+         * Returns an entrant's Elo rating.
+         *
+         * @param entrant The index of the entrant.
+         * @return The rating.
+         */
+        double elo(final int entrant) {
+            return elo[entrant];
+        }
+
+        /**
+         * Returns the half-width of the 95% interval around an entrant's Elo rating.
+         *
+         * @param entrant The index of the entrant.
+         * @return The margin of error.
+         */
+        double eloMargin(final int entrant) {
+            return Z95 * eloError[entrant];
+        }
+
+        /**
+         * Returns an entrant's Glicko rating.
+         *
+         * @param entrant The index of the entrant.
+         * @return The rating.
+         */
+        double glicko(final int entrant) {
+            return glicko[entrant];
+        }
+
+        /**
+         * Returns the half-width of the 95% interval around an entrant's Glicko rating.
+         *
+         * @param entrant The index of the entrant.
+         * @return The margin of error.
+         */
+        double glickoMargin(final int entrant) {
+            return Z95 * deviation[entrant];
+        }
+
+        /**
+         * Returns the share of points one entrant scored against another, counting a draw as half a point.
+         *
+         * @param entrant  The index of the entrant.
+         * @param opponent The index of the opponent.
+         * @return The score, between 0 and 1, or 0.5 if they have not played.
+         */
+        double score(final int entrant,
+                     final int opponent) {
+
+            final long total = points[entrant][opponent] + points[opponent][entrant];
+            return total == 0 ? 0.5 : (double) points[entrant][opponent] / total;
+        }
+
+        @Override
+        public String toString() {
+            final Integer[] ranked = new Integer[names.length];
+            for (int i = 0; i < ranked.length; i++) {
+                ranked[i] = i;
+            }
+            Arrays.sort(ranked, (a, b) -> Double.compare(elo[b], elo[a]));
+
+            final StringBuilder table = new StringBuilder(String.format("%d games%n", games));
+            table.append(String.format("%-16s %13s %13s%n", "Entrant", "Elo", "Glicko"));
+            for (final int i : ranked) {
+                table.append(String.format("%-16s %7.0f +-%4.0f %7.0f +-%4.0f%n",
+                                           names[i], elo[i], eloMargin(i), glicko[i], glickoMargin(i)));
+            }
+            return table.toString().trim();
+        }
+    }
+
+    /**
+     * Runs a tournament between AI players that assume different numbers of mines.
+     * Arguments, all optional: games per pairing, grid size, base seed, log file.
+     * Running again with the same arguments resumes from the log.
+     *
+     * @param args The command-line arguments.
+     * @throws IOException If the log cannot be read or written.
+     */
+    public static void main(final String[] args) throws IOException {
+        final int games = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_GAMES;
+        final int size = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_GRID_SIZE;
+        final long seed = args.length > 2 ? Long.parseLong(args[2]) : 1L;
+        final Path log = Path.of(args.length > 3 ? args[3] : "tournament.log");
+
+        final Tournament tournament = new Tournament(size, DEFAULT_MINES, DEFAULT_SHIPS);
+        for (final int assumed : new int[] {1, DEFAULT_MINES, 2 * DEFAULT_MINES}) {
+            tournament.add("ai-" + assumed + "-mines", (name, gridSize, mines, playerSeed) ->
+                    new AIPlayer(name, gridSize, assumed, TIME_BUDGET_NANOS, playerSeed));
+        }
+
+        final long start = System.nanoTime();
+        final long[] lastReport = {start};
+        final Standings standings = tournament.run(games, seed, log, progress -> {
+            final long now = System.nanoTime();
+            if (now - lastReport[0] >= REPORT_INTERVAL_NANOS) {
+                lastReport[0] = now;
+                System.out.println(progress);
+                System.out.println();
+            }
+        });
+        System.out.println(standings);
+        System.out.printf("%.1f s%n", (System.nanoTime() - start) / 1.0e9);
+    }
+}
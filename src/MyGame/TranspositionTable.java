@@ -0,0 +1,162 @@
+import java.util.Arrays;
+
+/**
+ * A fixed-size cache of search evaluations keyed by the Zobrist hash of a board.
+ * Entries live in parallel primitive arrays, so the table allocates nothing after it is built.
+ * Each entry is the mean of some number of samples, such as rollouts from the board. Each hash maps to a bucket
+ * of two slots: the first keeps whichever entry averages the most samples, and the second always takes the newest
+ * entry, so well-sampled results survive while recent ones still get cached.
+ * <p>
+ * The table counts its probes and hits; {@link #hitRate()} shows whether it is big enough.
+ * It is not thread-safe; give each search thread its own table.
+ */
+final class TranspositionTable {
+    private static final int SLOTS = 2;  // Slots per bucket: most-sampled, then always-replace
+
+    private final long[] keys;
+    private final double[] values;
+    private final short[] samples;  // Sample count of each entry plus one, so 0 marks an empty slot
+    private final int bucketMask;
+    private long probes;
+    private long hits;
+
+    /**
+     * Constructs a table with room for at least the given number of entries, rounded up to a power of two.
+     *
+     * @param entries The number of evaluations to keep.
+     * @throws IllegalArgumentException If the number of entries is not between 2 and 2^30.
+     */
+    TranspositionTable(final int entries) {
+        if (entries < SLOTS || entries > 1 << 30) {
+            throw new IllegalArgumentException("Table size must be between " + SLOTS + " and 2^30: " + entries);
+        }
+
+        final int capacity = Integer.highestOneBit(entries - 1) << 1;
+        this.keys = new long[capacity];
+        this.values = new double[capacity];
+        this.samples = new short[capacity];
+        this.bucketMask = capacity / SLOTS - 1;
+    }
+
+    /**
+     * Looks up a board.
+     *
+     * @param hash The Zobrist hash of the board.
+     * @return The slot holding the board's entry, for {@link #valueAt(int)} and {@link #samplesAt(int)}, or -1 if
+     *         the board is not in the table.
+     */
+    int find(final long hash) {
+        probes++;
+        final int slot = bucket(hash);
+
+        for (int i = slot; i < slot + SLOTS; i++) {
+            if (samples[i] != 0 && keys[i] == hash) {
+                hits++;
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the evaluation held in a slot.
+     *
+     * @param slot A slot returned by {@link #find(long)}.
+     * @return The cached evaluation.
+     */
+    double valueAt(final int slot) {
+        return values[slot];
+    }
+
+    /**
+     * Returns how many samples the evaluation held in a slot averages.
+     *
+     * @param slot A slot returned by {@link #find(long)}.
+     * @return The sample count of the cached evaluation.
+     */
+    int samplesAt(final int slot) {
+        return samples[slot] - 1;
+    }
+
+    /**
+     * Caches the evaluation of a board.
+     * The most-sampled slot takes it if it is empty, holds the same board, or averages no more samples;
+     * otherwise the always-replace slot does.
+     *
+     * @param hash    The Zobrist hash of the board.
+     * @param samples How many samples the evaluation averages; counts above {@link Short#MAX_VALUE} - 1 are capped.
+     * @param value   The evaluation.
+     */
+    void store(final long hash,
+               final int samples,
+               final double value) {
+
+        final int slot = bucket(hash);
+        final int target = this.samples[slot] == 0 || keys[slot] == hash || this.samples[slot] - 1 <= samples
+                           ? slot : slot + 1;
+
+        keys[target] = hash;
+        values[target] = value;
+        this.samples[target] = (short) (Math.min(samples, Short.MAX_VALUE - 1) + 1);
+    }
+
+    /**
+     * Empties the table and its counters.
+     */
+    void clear() {
+        Arrays.fill(samples, (short) 0);
+        probes = 0;
+        hits = 0;
+    }
+
+    /**
+     * Returns the number of entries the table can hold.
+     *
+     * @return The capacity.
+     */
+    int capacity() {
+        return keys.length;
+    }
+
+    /**
+     * Returns the number of lookups since the table was built or cleared.
+     *
+     * @return The probe count.
+     */
+    long getProbes() {
+        return probes;
+    }
+
+    /**
+     * Returns the number of lookups that found an evaluation.
+     *
+     * @return The hit count.
+     */
+    long getHits() {
+        return hits;
+    }
+
+    /**
+     * Returns the share of lookups that found an evaluation.
+     *
+     * @return The hit rate, between 0 and 1.
+     */
+    double hitRate() {
+        return probes == 0 ? 0.0 : (double) hits / probes;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d entries, %d probes, %d hits (%.1f%%)", keys.length, probes, hits, 100 * hitRate());
+    }
+
+    /**
+     * Returns the first slot of the bucket a hash maps to.
+     *
+     * @param hash The Zobrist hash of a board.
+     * @return The index of the bucket's most-sampled slot.
+     */
+    private int bucket(final long hash) {
+        return ((int) (hash ^ (hash >>> 32)) & bucketMask) * SLOTS;
+    }
+}
@@ -0,0 +1,119 @@
+/**
+ * A ship that spans a straight line of cells. Each cell holds its own {@link Ship} segment,
+ * and every segment reports its first hit here, so whether the ship is sunk is a counter
+ * comparison rather than a walk over its cells.
+ */
+final class Vessel {
+    private final int x;  // Row of the first segment
+    private final int y;  // Column of the first segment
+    private final int length;
+    private final boolean horizontal;  // Whether the segments run along a row (increasing y)
+    private int hits;  // Segments revealed so far
+
+    /**
+     * Constructs a ship without placing it; use {@link #place(Grid, int, int, int, boolean)} to put one on a grid.
+     */
+    private Vessel(final int x,
+                   final int y,
+                   final int length,
+                   final boolean horizontal) {
+
+        this.x = x;
+        this.y = y;
+        this.length = length;
+        this.horizontal = horizontal;
+    }
+
+    /**
+     * Places a ship on a grid, one segment per cell.
+     *
+     * @param grid       The grid to place the ship on.
+     * @param x          The row of the first segment.
+     * @param y          The column of the first segment.
+     * @param length     The number of segments.
+     * @param horizontal {@code true} to run along the row; {@code false} to run down the column.
+     * @return The placed ship.
+     * @throws IllegalArgumentException If the ship does not fit on the grid or would cover an occupied cell.
+     */
+    static Vessel place(final Grid<GameObject> grid,
+                        final int x,
+                        final int y,
+                        final int length,
+                        final boolean horizontal) {
+
+        final int size = grid.getSize();
+        final int endX = horizontal ? x : x + length - 1;
+        final int endY = horizontal ? y + length - 1 : y;
+
+        if (length < 1 || x < 0 || y < 0 || endX >= size || endY >= size) {
+            throw new IllegalArgumentException("A ship of length " + length + " at (" + x + ", " + y + ") does not fit");
+        }
+
+        final Vessel vessel = new Vessel(x, y, length, horizontal);
+        for (int i = 0; i < length; i++) {
+            if (!grid.isEmptyAt(vessel.cellAt(i, size))) {
+                throw new IllegalArgumentException("Segment " + i + " of the ship would cover an occupied cell");
+            }
+        }
+        for (int i = 0; i < length; i++) {
+            grid.storeAt(vessel.cellAt(i, size), new Ship(vessel));
+        }
+        return vessel;
+    }
+
+    /**
+     * Called by a segment of this ship when it is revealed for the first time.
+     */
+    void segmentHit() {
+        hits++;
+    }
+
+    /**
+     * Returns whether every segment of the ship has been hit.
+     *
+     * @return {@code true} if the ship is sunk; {@code false} otherwise.
+     */
+    boolean isSunk() {
+        return hits == length;
+    }
+
+    /**
+     * Returns the number of segments hit so far.
+     *
+     * @return The hit count.
+     */
+    int getHits() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of segments.
+     *
+     * @return The length of the ship.
+     */
+    int getLength() {
+        return length;
+    }
+
+    /**
+     * Returns whether the ship runs along a row.
+     *
+     * @return {@code true} if horizontal; {@code false} if vertical.
+     */
+    boolean isHorizontal() {
+        return horizontal;
+    }
+
+    /**
+     * Returns the flat index of one segment.
+     *
+     * @param segment The segment, from 0 to the length minus one.
+     * @param size    The size of the grid the ship is on.
+     * @return The flat index of the segment's cell.
+     */
+    int cellAt(final int segment,
+               final int size) {
+
+        return horizontal ? x * size + y + segment : (x + segment) * size + y;
+    }
+}
@@ -1,6 +1,22 @@
 import static org.junit.jupiter.api.Assertions.*;
 import org.junit.jupiter.api.Test;
 
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Scanner;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
 class BattleSweeperTest {
 
     @Test
@@ -50,4 +66,971 @@ class BattleSweeperTest {
         assertTrue(count >= 0, "Nearby mines count should be non-negative.");
     }
 
+    @Test
+    void testSetCellAndReset() {
+        // Test that values and revealed flags survive the packed storage and are cleared by reset
+        Grid<GameObject> grid = new Grid<>(5);
+        Ship ship = new Ship();
+        grid.setCell(1, 2, ship);
+        grid.setCell(3, 4, new Mine());
+        grid.getCell(1, 2).reveal();
+
+        assertSame(ship, grid.getCell(1, 2).getValue(), "The ship should be returned from its cell.");
+        assertTrue(grid.getCell(3, 4).getValue() instanceof Mine, "The mine should be returned from its cell.");
+        assertTrue(grid.getCell(1, 2).isRevealed(), "The revealed flag should be stored.");
+        assertFalse(grid.getCell(3, 4).isRevealed(), "Other cells should stay hidden.");
+
+        grid.reset();
+
+        assertNull(grid.getCell(1, 2).getValue(), "Reset should clear the ship.");
+        assertNull(grid.getCell(3, 4).getValue(), "Reset should clear the mine.");
+        assertFalse(grid.getCell(1, 2).isRevealed(), "Reset should hide revealed cells.");
+    }
+
+    @Test
+    void testNearbyMineCountsFollowPlacement() {
+        // Test that neighbor counts are updated when mines are placed, replaced and cleared
+        Grid<GameObject> grid = new Grid<>(5);
+        grid.setCell(0, 0, new Mine());
+        grid.setCell(1, 1, new Mine());
+        grid.setCell(4, 4, new Mine());
+
+        assertEquals(2, grid.countNearbyMines(0, 1), "(0, 1) touches two mines.");
+        assertEquals(1, grid.countNearbyMines(0, 0), "A mine does not count itself.");
+        assertEquals(1, grid.countNearbyMines(3, 3), "(3, 3) touches the corner mine.");
+
+        grid.setCell(1, 1, new Ship());
+        assertEquals(1, grid.countNearbyMines(0, 1), "Replacing a mine should lower the count.");
+
+        grid.setCell(0, 0, null);
+        assertEquals(0, grid.countNearbyMines(0, 1), "Clearing a mine should lower the count.");
+
+        grid.reset();
+        assertEquals(0, grid.countNearbyMines(3, 3), "Reset should clear every count.");
+    }
+
+    @Test
+    void testAllShipsSunkTracksRemainingShips() {
+        // Test that the live ship counter agrees with a full scan as ships are placed, hit and removed
+        Grid<GameObject> grid = new Grid<>(5);
+        grid.setConsistencyChecks(true);
+        Player player = new Player("Tester", 5);
+        Ship first = new Ship();
+        Ship second = new Ship();
+
+        assertTrue(player.allShipsSunk(grid), "An empty grid has no ships left.");
+
+        grid.setCell(0, 0, first);
+        grid.setCell(2, 3, second);
+        assertEquals(2, grid.getRemainingShips(), "Two ships were placed.");
+
+        first.interact(player);
+        first.interact(player);
+        assertEquals(1, grid.getRemainingShips(), "A ship is only counted once when hit twice.");
+        assertFalse(player.allShipsSunk(grid), "One ship is still afloat.");
+
+        grid.setCell(2, 3, null);
+        assertTrue(player.allShipsSunk(grid), "Removing the last ship leaves none.");
+
+        grid.setCell(2, 3, second);
+        grid.reset();
+        second.reveal();
+        assertEquals(0, grid.getRemainingShips(), "Ships cleared by reset no longer count.");
+    }
+
+    @Test
+    void testSeededMinePlacement() {
+        // Test that a seed reproduces the same board and that a full board can be mined
+        Grid<GameObject> first = new Grid<>(10);
+        Grid<GameObject> second = new Grid<>(10);
+        first.placeRandomMines(40, 42L);
+        second.placeRandomMines(40, 42L);
+
+        int mineCount = 0;
+        for (int i = 0; i < first.getSize(); i++) {
+            for (int j = 0; j < first.getSize(); j++) {
+                boolean mine = first.getCell(i, j).getValue() instanceof Mine;
+                assertEquals(mine, second.getCell(i, j).getValue() instanceof Mine, "Same seed, same board.");
+                if (mine) {
+                    mineCount++;
+                }
+            }
+        }
+        assertEquals(40, mineCount, "Exactly 40 mines should be placed.");
+
+        Grid<GameObject> full = new Grid<>(4);
+        full.placeRandomMines(16, 7L);
+        assertEquals(3, full.countNearbyMines(0, 0), "Every cell of a full board is a mine.");
+        assertThrows(IllegalArgumentException.class, () -> full.placeRandomMines(17, 7L));
+
+        Grid<GameObject> sparse = new Grid<>(100);
+        sparse.placeRandomMines(20, 42L);  // Few enough mines to be tracked in a hash set
+        int sparseCount = 0;
+        for (int index = 0; index < 100 * 100; index++) {
+            if (sparse.isMineAt(index)) {
+                sparseCount++;
+            }
+        }
+        assertEquals(20, sparseCount, "Exactly 20 mines should be placed on a sparse board.");
+    }
+
+    @Test
+    void testRevealEmptyArea() {
+        // Test that a zero-hint miss opens the connected empty area and stops at hint cells
+        Grid<GameObject> grid = new Grid<>(5);
+        grid.setCell(0, 4, new Mine());
+        grid.setCell(4, 0, new Ship());
+
+        int opened = grid.revealEmptyArea(2, 2);
+
+        assertEquals(23, opened, "Every empty cell is connected to (2, 2).");
+        assertTrue(grid.getCell(1, 3).isRevealed(), "Hint cells on the edge are revealed.");
+        assertFalse(grid.getCell(0, 4).isRevealed(), "Mines are never revealed.");
+        assertFalse(grid.getCell(4, 0).isRevealed(), "Ships are never revealed.");
+        assertEquals(0, grid.revealEmptyArea(2, 2), "A second cascade reveals nothing new.");
+
+        Grid<GameObject> large = new Grid<>(4096);
+        assertEquals(4096 * 4096, large.revealEmptyArea(0, 0), "A fully empty board opens completely.");
+    }
+
+    @Test
+    void testDiffRendererRewritesOnlyChangedRows() {
+        // Test that diff mode draws the first frame in full and later frames only where they changed
+        Grid<GameObject> grid = new Grid<>(5);
+        Ship ship = new Ship();
+        grid.setCell(2, 3, ship);
+
+        GridRenderer renderer = new GridRenderer(true);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        PrintStream out = new PrintStream(bytes);
+
+        renderer.render(grid, false, out);
+        String first = bytes.toString();
+        assertEquals(12, first.split("\n").length, "The first frame is drawn in full.");
+
+        bytes.reset();
+        renderer.render(grid, false, out);
+        assertEquals("\u001B[12A\u001B[12B", bytes.toString(), "An unchanged frame only moves the cursor.");
+
+        bytes.reset();
+        ship.reveal();
+        renderer.render(grid, false, out);
+        String changed = bytes.toString();
+        assertTrue(changed.contains(" 2 |   |   |   | S |   |"), "The changed row is rewritten.");
+        assertFalse(changed.contains(" 1 |"), "Unchanged rows are skipped.");
+    }
+
+    @Test
+    void testAIPlayerAvoidsDeducedMine() {
+        // Test that the AI fires at the hidden cell a zero hint proves safe, not the one next to the mine
+        Grid<GameObject> grid = new Grid<>(3);
+        grid.setCell(0, 0, new Mine());
+        grid.setCell(2, 2, new Ship());
+        for (int i = 0; i < 3; i++) {
+            for (int j = 0; j < 3; j++) {
+                if ((i != 0 || j != 0) && (i != 2 || j != 2)) {
+                    grid.getCell(i, j).reveal();
+                }
+            }
+        }
+
+        AIPlayer ai = new AIPlayer("AI", 3, 1, 1_000_000_000L, 1L);
+        assertEquals(8, ai.chooseTarget(grid), "The AI should fire at (2, 2).");
+
+        grid.getCell(2, 2).reveal();
+        grid.getCell(0, 0).reveal();
+        assertEquals(-1, ai.chooseTarget(grid), "Nothing is left to fire at.");
+    }
+
+    @Test
+    void testAIPlayerSamplesCellsWhenOutOfTime() {
+        // Test that an AI with no time to scan still scores a random sample rather than firing along the first row
+        Grid<GameObject> grid = new Grid<>(30);
+        AIPlayer ai = new AIPlayer("AI", 30, 3, 1L, 1L);
+
+        int firstRow = 0;
+        for (int move = 0; move < 5; move++) {
+            int target = ai.chooseTarget(grid);
+            assertFalse(grid.isRevealedAt(target), "The AI fires at a hidden cell.");
+            if (target < 30) {
+                firstRow++;
+            }
+            grid.getCell(target / 30, target % 30).reveal();
+        }
+        assertTrue(firstRow < 5, "Targets are drawn from the whole board.");
+    }
+
+    @Test
+    void testSimulatorIsReproducible() {
+        // Test that the same base seed gives the same summary, and that every game has an outcome
+        BattleSimulator simulator = new BattleSimulator(6, 3, 3);
+        BattleSimulator.Report first = simulator.run(200, 99L);
+        BattleSimulator.Report second = simulator.run(200, 99L);
+
+        assertEquals(first.averageTurns(), second.averageTurns(), 0.0, "Same seed, same games.");
+        assertEquals(first.winRate(1), second.winRate(1), 0.0, "Same seed, same winners.");
+        assertEquals(1.0, first.winRate(0) + first.winRate(1) + first.winRate(2), 1e-9, "Every game is counted.");
+
+        long playerGames = 0;
+        for (long count : first.mineHitDistribution()) {
+            playerGames += count;
+        }
+        assertEquals(400, playerGames, "Each game counts once per player.");
+    }
+
+    @Test
+    void testShotOutcomes() throws GameException {
+        // Test that every kind of shot is reported through a shared result instead of an exception
+        Grid<GameObject> grid = new Grid<>(5);
+        grid.setCell(0, 0, new Mine());
+        grid.setCell(4, 4, new Ship());
+        Player player = new Player("Tester", 5);
+
+        assertSame(MoveResult.MINE, player.shoot(grid, 0, 0), "Hitting a mine is an ordinary outcome.");
+        assertSame(MoveResult.HIT, player.shoot(grid, 4, 4), "Hitting a ship is a hit.");
+        assertSame(MoveResult.REPEAT, player.shoot(grid, 4, 4), "A second shot at a cell is a repeat.");
+        assertSame(MoveResult.OUT_OF_BOUNDS, player.shoot(grid, 5, 0), "Shots off the grid are rejected.");
+
+        MoveResult miss = player.shoot(grid, 1, 1);
+        assertEquals(MoveOutcome.MISS, miss.getOutcome(), "An empty cell is a miss.");
+        assertEquals(1, miss.getHint(), "The miss carries the nearby mine count.");
+        assertSame(MoveResult.miss(1), miss, "Misses with the same hint share one instance.");
+        assertArrayEquals(new int[] {1, 1}, player.getLastMove(), "The last move is recorded.");
+    }
+
+    @Test
+    void testZeroHintMissReportsClearedCells() throws GameException {
+        // Test that a miss with no mines nearby only reports the area it opened when it opened any
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        Player player = new Player("Tester", 2);
+        player.setOutput(new PrintStream(bytes));
+
+        Grid<GameObject> open = new Grid<>(2);
+        player.fireAt(open, 0, 0);
+        assertTrue(bytes.toString().contains("Cleared 3 more empty cells around your shot."), "The area is reported.");
+
+        bytes.reset();
+        Grid<GameObject> cleared = new Grid<>(2);
+        cleared.getCell(0, 1).reveal();
+        cleared.getCell(1, 0).reveal();
+        cleared.getCell(1, 1).reveal();
+        player.fireAt(cleared, 0, 0);
+        assertTrue(bytes.toString().contains("Miss! There are 0 mines nearby."), "The miss is reported.");
+        assertFalse(bytes.toString().contains("Cleared"), "Nothing more was cleared, so nothing is reported.");
+    }
+
+    @Test
+    void testSessionRegistryCapsAndEvicts() throws InterruptedException {
+        // Test that the registry refuses sessions past its limit and closes idle ones
+        AtomicInteger closed = new AtomicInteger();
+        GameManager manager = new GameManager(new Player("One", 5), new Player("Two", 5));
+
+        try (GameSessionRegistry registry = new GameSessionRegistry(2, Duration.ofHours(1))) {
+            GameSession first = registry.open(manager, closed::incrementAndGet);
+            GameSession second = registry.open(manager, closed::incrementAndGet);
+
+            assertNotNull(second, "Two sessions fit.");
+            assertNull(registry.open(manager, closed::incrementAndGet), "A third session is refused.");
+            assertSame(first, registry.get(first.getId()), "Sessions are found by ID.");
+
+            registry.close(first.getId());
+            assertEquals(1, registry.size(), "Closing a session frees its slot.");
+            assertEquals(1, closed.get(), "Closing a session releases it.");
+            assertNotNull(registry.open(manager, closed::incrementAndGet), "The freed slot can be reused.");
+        }
+
+        try (GameSessionRegistry registry = new GameSessionRegistry(10, Duration.ofMillis(1))) {
+            GameSession idle = registry.open(manager, () -> { });
+            Thread.sleep(20);
+
+            assertNull(registry.get(idle.getId()), "Idle sessions are evicted.");
+            assertTrue(idle.isClosed(), "Evicted sessions are closed.");
+            assertThrows(IllegalStateException.class, () -> idle.withManager(m -> m), "A closed session cannot be used.");
+        }
+    }
+
+    @Test
+    void testMoveLogReplaysGame() throws Exception {
+        // Test that a recorded game replays to the same grids, whichever snapshot it starts from
+        AIPlayer player1 = new AIPlayer("AI 1", 6, 3, 1_000_000_000L, 1L);
+        AIPlayer player2 = new AIPlayer("AI 2", 6, 3, 1_000_000_000L, 2L);
+        GameManager manager = new GameManager(player1, player2, new PrintStream(new ByteArrayOutputStream()));
+        player1.setOutput(new PrintStream(new ByteArrayOutputStream()));
+        player2.setOutput(new PrintStream(new ByteArrayOutputStream()));
+        Path file = Files.createTempFile("battlesweeper", ".log");
+
+        try {
+            try (MoveLog log = MoveLog.create(file, 6, 3, 42L)) {
+                manager.setMoveLog(log);
+                manager.playGame();
+                assertThrows(IllegalStateException.class, manager::playGame, "A log holds only one game.");
+            }
+            Path otherFile = Files.createTempFile("battlesweeper", ".log");
+            try (MoveLog other = MoveLog.create(otherFile, 10, 3, 42L)) {
+                manager.setMoveLog(other);
+                assertThrows(IllegalStateException.class, manager::playGame, "A log for 10x10 grids is refused.");
+            } finally {
+                Files.deleteIfExists(otherFile);
+            }
+
+            try (MoveLog log = MoveLog.open(file)) {
+                MoveReplay replay = new MoveReplay(log, 4);
+                MoveReplay everyTurn = new MoveReplay(log, 1);
+                int turns = replay.turnCount();
+
+                assertTrue(turns > 0, "Shots were recorded.");
+                assertArrayEquals(player1.getGrid().copyRevealedBits(), replay.gridAt(0, turns).copyRevealedBits(),
+                                  "Player 1's grid replays to the end.");
+                assertArrayEquals(player2.getGrid().copyRevealedBits(), replay.gridAt(1, turns).copyRevealedBits(),
+                                  "Player 2's grid replays to the end.");
+                assertEquals(player2.getGrid().getRemainingShips(), replay.gridAt(1, turns).getRemainingShips(),
+                             "Sunk ships are replayed.");
+                Grid<GameObject> start = replay.gridAt(1, 0);
+                for (int i = 0; i < 36; i++) {
+                    assertEquals(player2.getGrid().valueAt(i) == null, start.valueAt(i) == null, "Layout at " + i);
+                    assertEquals(player2.getGrid().isMineAt(i), start.isMineAt(i), "Mine at " + i);
+                }
+
+                for (int turn = 0; turn <= turns; turn++) {
+                    assertArrayEquals(everyTurn.gridAt(0, turn).copyRevealedBits(),
+                                      replay.gridAt(0, turn).copyRevealedBits(), "Snapshots agree at turn " + turn);
+                }
+                assertThrows(IndexOutOfBoundsException.class, () -> replay.gridAt(0, turns + 1), "No turns past the end.");
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void testSnapshotsFollowShotsWithoutChangingTheGrid() throws GameException {
+        // Test that shots applied to snapshots match shots on the grid, and that forks do not share reveals
+        Grid<GameObject> grid = new Grid<>(8);
+        grid.placeRandomMines(6, 5L);
+        grid.setCell(7, 7, null);
+        grid.setCell(7, 7, new Ship());
+        Player player = new Player("Tester", 8);
+
+        GridSnapshot start = grid.snapshot();
+        GridSnapshot snapshot = start;
+        for (int index = 0; index < 64; index += 5) {
+            assertEquals(player.shoot(grid, index / 8, index % 8), snapshot.resultOf(index), "Same result at " + index);
+            if (grid.isEmptyAt(index) && grid.nearbyMinesAt(index) == 0) {
+                grid.revealEmptyArea(index / 8, index % 8);
+            }
+            snapshot = snapshot.afterShot(index);
+            assertArrayEquals(grid.copyRevealedBits(), snapshot.copyRevealedBits(), "Same reveals after " + index);
+        }
+
+        assertFalse(start.isRevealedAt(0), "The first snapshot is unchanged.");
+        assertEquals(1, start.getRemainingShips(), "The first snapshot still has its ship.");
+        assertSame(snapshot, snapshot.afterShot(0), "A repeat shot changes nothing.");
+        assertEquals(0, snapshot.afterShot(63).getRemainingShips(), "Hitting the ship sinks it in the fork.");
+        assertEquals(1, snapshot.getRemainingShips(), "But not in the snapshot it was forked from.");
+    }
+
+    @Test
+    void testMCTSPlayerAvoidsDeducedMineAndReportsRollouts() {
+        // Test that sampled layouts respect the hints, so the search never fires at the proven mine
+        Grid<GameObject> grid = new Grid<>(3);
+        grid.setCell(0, 0, new Mine());
+        grid.setCell(2, 2, new Ship());
+        for (int i = 0; i < 3; i++) {
+            for (int j = 0; j < 3; j++) {
+                if ((i != 0 || j != 0) && (i != 2 || j != 2)) {
+                    grid.getCell(i, j).reveal();
+                }
+            }
+        }
+
+        MCTSPlayer mcts = new MCTSPlayer("MCTS", 3, 1, 20_000_000L, 1L, 2);
+        assertEquals(8, mcts.chooseTarget(grid), "The search should fire at (2, 2).");
+        assertTrue(mcts.getRollouts() > 0, "Rollouts were run.");
+        assertTrue(mcts.rolloutsPerSecond() > 0.0, "Throughput is reported.");
+        assertTrue(mcts.getRollouts() < 1000, "Leaves answered from the table are not counted as rollouts.");
+
+        // Told there are no mines, the search can find no layout for the hint and gives up early
+        MCTSPlayer misled = new MCTSPlayer("MCTS", 3, 0, 10_000_000_000L, 1L, 2);
+        long start = System.nanoTime();
+        int target = misled.chooseTarget(grid);
+        assertTrue(System.nanoTime() - start < 5_000_000_000L, "The search stops instead of using the whole budget.");
+        assertFalse(grid.isRevealedAt(target), "The fallback still fires at a hidden cell.");
+        assertEquals(0, misled.getRollouts(), "No layout was sampled, so nothing was played.");
+    }
+
+    @Test
+    void testZobristHashIgnoresMoveOrder() throws GameException {
+        // Test that the same board reached in a different order hashes the same, on grids and snapshots
+        Grid<GameObject> first = new Grid<>(6);
+        Grid<GameObject> second = new Grid<>(6);
+        first.setCell(1, 1, new Mine());
+        first.setCell(4, 4, new Ship());
+        second.setCell(4, 4, new Ship());
+        second.setCell(1, 1, new Mine());
+        assertEquals(first.zobristHash(), second.zobristHash(), "Placement order does not matter.");
+
+        GridSnapshot snapshot = first.snapshot();
+        Player player = new Player("Tester", 6);
+        player.shoot(first, 0, 5);
+        first.revealEmptyArea(0, 5);
+        player.shoot(first, 4, 4);
+        player.shoot(second, 4, 4);
+        player.shoot(second, 0, 5);
+        second.revealEmptyArea(0, 5);
+
+        assertEquals(first.zobristHash(), second.zobristHash(), "Shot order does not matter.");
+        assertNotEquals(first.zobristHash(), snapshot.zobristHash(), "Reveals change the hash.");
+        assertEquals(first.zobristHash(), snapshot.afterShot(28).afterShot(5).zobristHash(),
+                     "Snapshots hash like grids in the same state.");
+
+        first.reset();
+        assertEquals(new Grid<GameObject>(6).zobristHash(), first.zobristHash(), "A reset grid hashes as empty.");
+    }
+
+    @Test
+    void testTranspositionTableKeepsWellSampledEntries() {
+        // Test that a thinly sampled entry colliding with a well-sampled one goes to the always-replace slot
+        TranspositionTable table = new TranspositionTable(4);
+        long wellSampled = 1L;
+        long thin = 1L + (1L << 40);  // Same bucket as the well-sampled entry
+        long newest = 1L + (2L << 40);
+
+        table.store(wellSampled, 5, 0.5);
+        table.store(thin, 1, 0.25);
+        table.store(newest, 2, 0.75);
+
+        int slot = table.find(wellSampled);
+        assertTrue(slot >= 0, "The well-sampled entry survives.");
+        assertEquals(5, table.samplesAt(slot), "Its sample count is kept.");
+        assertEquals(0.5, table.valueAt(slot), 0.0, "Its value is kept.");
+        assertEquals(-1, table.find(thin), "The thinly sampled entry was replaced.");
+        assertEquals(0.75, table.valueAt(table.find(newest)), 0.0, "The newest entry is cached.");
+        assertEquals(2.0 / 3.0, table.hitRate(), 1e-9, "Two of three lookups hit.");
+    }
+
+    @Test
+    void testInfiniteGridHintsMatchDerivedMines() {
+        // Test that hints agree with the hashed mines everywhere, across chunk edges and negative coordinates
+        InfiniteGrid grid = new InfiniteGrid(7L, 0.2, 0.05);
+        InfiniteGrid same = new InfiniteGrid(7L, 0.2, 0.05);
+
+        for (int x = -40; x < 40; x += 3) {
+            for (int y = -40; y < 40; y++) {
+                int mines = 0;
+                for (int i = x - 1; i <= x + 1; i++) {
+                    for (int j = y - 1; j <= y + 1; j++) {
+                        if ((i != x || j != y) && grid.isMineAt(i, j)) {
+                            mines++;
+                        }
+                    }
+                }
+                assertEquals(mines, grid.nearbyMinesAt(x, y), "Hint at (" + x + ", " + y + ")");
+                assertEquals(grid.isShipAt(x, y), same.isShipAt(x, y), "The same seed gives the same board.");
+            }
+        }
+        int corner = grid.nearbyMinesAt(Integer.MAX_VALUE, Integer.MAX_VALUE);
+        assertTrue(corner >= 0 && corner <= 3, "The far corner has at most three neighbors.");
+    }
+
+    @Test
+    void testInfiniteGridKeepsRevealedCellsOfDroppedChunks() {
+        // Test that chunks dropped from a tiny cache keep their revealed cells, and memory follows what was explored
+        InfiniteGrid grid = new InfiniteGrid(3L, 0.1, 0.1, 2);
+
+        grid.shoot(0, 0);
+        grid.shoot(1_000_000, -1_000_000);
+        grid.shoot(-5_000, 7);
+        grid.isMineAt(123_456_789, 987_654_321);  // Looking at a cell builds nothing
+
+        assertEquals(2, grid.cachedChunks(), "The cache stays at its limit.");
+        assertEquals(1, grid.storedChunks(), "The dropped chunk keeps its revealed cell.");
+        assertTrue(grid.isRevealedAt(0, 0), "The revealed cell is still revealed.");
+        assertSame(MoveResult.REPEAT, grid.shoot(0, 0), "And cannot be shot again.");
+        assertEquals(3, grid.getRevealedCells(), "Three cells were revealed.");
+    }
+
+
+    @Test
+    void testVesselSinksWhenEverySegmentIsHit() throws GameException {
+        Grid<GameObject> grid = new Grid<>(6);
+        Player shooter = new Player("Shooter", 6);
+        Vessel vessel = Vessel.place(grid, 1, 2, 3, true);
+
+        assertEquals(3, grid.getRemainingShips(), "Every segment counts as an unrevealed ship cell.");
+        assertThrows(IllegalArgumentException.class, () -> Vessel.place(grid, 0, 3, 2, false),
+                     "A ship cannot cross another one.");
+
+        assertEquals(MoveResult.HIT, shooter.shoot(grid, 1, 2));
+        assertEquals(MoveResult.HIT, shooter.shoot(grid, 1, 4));
+        assertFalse(vessel.isSunk(), "One segment is still afloat.");
+        assertEquals(MoveResult.HIT, shooter.shoot(grid, 1, 3));
+        assertTrue(vessel.isSunk(), "All three segments have been hit.");
+        assertTrue(((Ship) grid.getCell(1, 2).getValue()).isSunk(), "Segments report the state of their ship.");
+        assertEquals(0, grid.getRemainingShips());
+    }
+
+    @Test
+    void testPlacementIndexMatchesCellByCellCheck() {
+        Grid<GameObject> grid = new Grid<>(70);  // Wider than one word, so runs cross word boundaries
+        grid.placeRandomMines(400, 7L);
+        Fleet fleet = Fleet.placeRandomly(grid, new int[] {5, 4, 3, 3, 2}, new java.util.SplittableRandom(7L));
+        PlacementIndex index = PlacementIndex.forPlacement(grid);
+
+        assertEquals(17, grid.getRemainingShips(), "The fleet covers 17 cells.");
+        assertEquals(5, fleet.get(0).getLength(), "The longest ship is placed first.");
+        for (int length = 1; length <= 6; length++) {
+            long[] across = index.legalStarts(length, true);
+            long[] down = index.legalStarts(length, false);
+            int expected = 0;
+
+            for (int x = 0; x < 70; x++) {
+                for (int y = 0; y < 70; y++) {
+                    int cell = x * 70 + y;
+                    boolean fitsAcross = y + length <= 70;
+                    boolean fitsDown = x + length <= 70;
+                    for (int i = 0; i < length; i++) {
+                        fitsAcross &= fitsAcross && grid.isEmptyAt(cell + i);
+                        fitsDown &= fitsDown && grid.isEmptyAt(cell + i * 70);
+                    }
+                    assertEquals(fitsAcross, (across[cell >>> 6] & (1L << cell)) != 0, "Across at " + cell);
+                    assertEquals(fitsDown, (down[cell >>> 6] & (1L << cell)) != 0, "Down at " + cell);
+                    expected += (fitsAcross ? 1 : 0) + (length > 1 && fitsDown ? 1 : 0);
+                }
+            }
+            assertEquals(expected, index.countPlacements(length), "Placements of length " + length);
+        }
+    }
+
+    @Test
+    void testScriptMoveSourceReadsLikeScanner() {
+        ScriptMoveSource script = new ScriptMoveSource("# Setup\n1 x 2\n  -3  # Trailing comment\ny".getBytes());
+
+        assertEquals(1, script.nextInt());
+        assertThrows(java.util.InputMismatchException.class, script::nextInt, "Words are not numbers.");
+        assertEquals(2, script.nextInt(), "A bad token is skipped.");
+        assertEquals(-3, script.nextInt());
+        assertEquals("y", script.next(), "Comments are skipped.");
+        assertFalse(script.hasNext());
+        assertThrows(java.util.NoSuchElementException.class, script::nextInt, "The script has ended.");
+
+        script.rewind();
+        assertEquals(1, script.nextInt(), "Rewinding starts the script over.");
+        assertEquals(6, script.getTokensRead());
+    }
+
+    @Test
+    void testScriptDrivesWholeGame() throws GameException {
+        // Every pair of numbers is a cell, so the script stays in step however many setup tries fail
+        StringBuilder cells = new StringBuilder();
+        for (int round = 0; round < 8; round++) {
+            for (int x = 0; x < 5; x++) {
+                for (int y = 0; y < 5; y++) {
+                    cells.append(x).append(' ').append(y).append('\n');
+                }
+            }
+        }
+        PrintStream silent = new PrintStream(new ByteArrayOutputStream());
+        Player human = new Player("Scripted", 5);
+        AIPlayer ai = new AIPlayer("AI", 5, 3, 1_000_000L, 5L);
+        GameManager manager = new GameManager(human, ai, silent);
+        ScriptMoveSource script = new ScriptMoveSource(cells.toString().getBytes());
+
+        human.setOutput(silent);
+        ai.setOutput(silent);
+        manager.setMoveSource(script);
+
+        assertNotNull(manager.playGame(), "The game is played to the end from the script.");
+        assertTrue(script.getTokensRead() > 6, "Setup and shots were read from the script.");
+        assertEquals(0, script.getTokensRead() % 2, "Coordinates are read in pairs.");
+    }
+
+    @Test
+    void testConsoleGameSharesOneReader() throws GameException {
+        // Test that the size, setup, shots and replay answer of a piped game all come from the one scanner
+        StringBuilder script = new StringBuilder("5\n");
+        for (int round = 0; round < 20; round++) {
+            for (int x = 0; x < 5; x++) {
+                for (int y = 0; y < 5; y++) {
+                    script.append(x).append(' ').append(y).append('\n');
+                }
+            }
+        }
+        script.append("Q\n");
+        Scanner sc = new Scanner(new java.io.ByteArrayInputStream(script.toString().getBytes()));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        GameManager.forHumans(sc, new PrintStream(bytes)).startGame();
+
+        String output = bytes.toString();
+        assertTrue(output.contains("Player 1, place your ships!"), "Setup is read from the script.");
+        assertTrue(output.contains("Player 2, enter your move"), "Both players' moves are read from the script.");
+        assertTrue(output.endsWith("Thanks for playing!" + System.lineSeparator()), "The game ends normally.");
+        assertTrue(sc.hasNext(), "Input after the game is left for the menu to read.");
+    }
+
+    @Test
+    void testUnboundedBoardsPlayThroughGameManager() throws GameException {
+        // Test that a board size of 0 puts both players on infinite grids and the game ends on mine hits
+        StringBuilder script = new StringBuilder("0\n");
+        for (int x = -50; x < 50; x++) {
+            for (int y = -50; y < 50; y++) {
+                script.append(x).append(' ').append(y).append('\n');
+            }
+        }
+        script.append("n\n");
+        Scanner sc = new Scanner(new java.io.ByteArrayInputStream(script.toString().getBytes()));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        GameManager manager = GameManager.forHumans(sc, new PrintStream(bytes));
+        Player winner = manager.playGame();
+
+        String output = bytes.toString();
+        assertFalse(output.contains("place your ships"), "Generated boards are not set up.");
+        assertTrue(output.contains("of an unbounded board\n"), "The window of an infinite grid is shown.");
+        assertTrue(output.contains("loses! You hit too many mines."), "The game ends on mine hits.");
+        assertTrue(winner.getBoard() instanceof InfiniteGrid, "Players fire at infinite grids.");
+
+        InfiniteGrid board = new InfiniteGrid(3L, 0.0, 1.0);
+        Player player = new Player("Tester", 0);
+        assertEquals(MoveOutcome.HIT, player.shoot(board, -7, Integer.MAX_VALUE).getOutcome(), "Any cell can be hit.");
+        assertEquals(MoveOutcome.REPEAT, player.shoot(board, -7, Integer.MAX_VALUE).getOutcome());
+        assertFalse(player.allShipsSunk(board), "The ships never run out.");
+        board.reset();
+        assertFalse(board.isRevealedAt(-7, Integer.MAX_VALUE), "A reset hides every cell again.");
+    }
+
+    @Test
+    void testEventBusNeverWaitsForSlowSubscriber() throws InterruptedException {
+        GameEventBus bus = new GameEventBus(8);
+        CountDownLatch released = new CountDownLatch(1);
+        java.util.List<Long> seen = new java.util.ArrayList<>();
+        AtomicInteger torn = new AtomicInteger();
+
+        GameEventBus.Subscription slow = bus.subscribe("slow-subscriber", (event, endOfBatch) -> {
+            try {
+                released.await();  // Hold up the subscriber until everything is published
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (event.getX() != (int) event.getSequence() || event.getValue() != -event.getX()) {
+                torn.incrementAndGet();
+            }
+            seen.add(event.getSequence());
+        });
+
+        for (int i = 0; i < 1000; i++) {
+            bus.publish(GameEventType.MISS, i & 1, i, 0, -i);
+        }
+        assertEquals(1000, bus.getPublished(), "Publishing did not wait for the stalled subscriber.");
+        released.countDown();
+        bus.close();
+
+        assertEquals(1000, slow.getDelivered() + slow.getMissed(), "Every event was either delivered or counted as missed.");
+        assertTrue(slow.getMissed() > 0, "A subscriber a whole ring behind misses events.");
+        assertEquals(0, torn.get(), "No event is delivered half overwritten.");
+        for (int i = 1; i < seen.size(); i++) {
+            assertTrue(seen.get(i) > seen.get(i - 1), "Events arrive in order.");
+        }
+        assertEquals(999L, (long) seen.get(seen.size() - 1), "The newest event is delivered.");
+    }
+
+    @Test
+    void testGamePublishesEventsToStatistics() throws GameException {
+        PrintStream silent = new PrintStream(new ByteArrayOutputStream());
+        AIPlayer player1 = new AIPlayer("AI 1", 6, 3, 1_000_000L, 3L);
+        AIPlayer player2 = new AIPlayer("AI 2", 6, 3, 1_000_000L, 4L);
+        GameManager manager = new GameManager(player1, player2, silent);
+        GameStatistics statistics = new GameStatistics();
+        GameEventBus bus = new GameEventBus(1024);
+        ByteArrayOutputStream log = new ByteArrayOutputStream();
+
+        player1.setOutput(silent);
+        player2.setOutput(silent);
+        GameEventBus.Subscription subscription = bus.subscribe("statistics", statistics);
+        bus.subscribe("log", new GameEventLog(new PrintStream(log)));
+        manager.setEventBus(bus);
+        Player winner = manager.playGame();
+        bus.close();
+
+        int index = winner == player1 ? 0 : 1;
+        assertEquals(0, subscription.getMissed(), "A large enough ring loses nothing.");
+        assertEquals(1, statistics.count(index, GameEventType.GAME_OVER), "The winner is published.");
+        String[] lines = log.toString().split(System.lineSeparator());
+        assertEquals(bus.getPublished(), lines.length, "The log writes one line per event.");
+        assertEquals("Player " + (index + 1) + " wins", lines[lines.length - 1], "The log ends with the winner.");
+        assertTrue(lines[0].matches("Player [12] fires at \\(\\d, \\d\\)"), "Shots are logged: " + lines[0]);
+        for (int player = 0; player < 2; player++) {
+            assertEquals(statistics.count(player, GameEventType.SHOT),
+                         statistics.count(player, GameEventType.HIT) + statistics.count(player, GameEventType.MISS)
+                         + statistics.count(player, GameEventType.MINE), "Every AI shot has one result.");
+            assertEquals(statistics.count(player, GameEventType.HIT), statistics.count(player, GameEventType.SUNK),
+                         "Every hit sinks a single-cell ship.");
+        }
+        assertTrue(statistics.count(index, GameEventType.SUNK) == 3 || statistics.count(1 - index, GameEventType.MINE) == 3,
+                   "The game ends on three sunk ships or three mines.");
+    }
+
+    @Test
+    void testFlightRecorderTimesTurnPhases() throws Exception {
+        PrintStream silent = new PrintStream(new ByteArrayOutputStream());
+        AIPlayer player1 = new AIPlayer("AI 1", 6, 3, 1_000_000L, 5L);
+        AIPlayer player2 = new AIPlayer("AI 2", 6, 3, 1_000_000L, 6L);
+        GameManager manager = new GameManager(player1, player2, silent);
+        Path file = Files.createTempFile("battlesweeper", ".jfr");
+        java.util.Set<String> recorded = new java.util.HashSet<>();
+
+        player1.setOutput(silent);
+        player2.setOutput(silent);
+        try (jdk.jfr.Recording recording = new jdk.jfr.Recording()) {
+            recording.start();
+            manager.playGame();
+            player1.getGrid().reset();
+            recording.stop();
+            recording.dump(file);
+
+            for (jdk.jfr.consumer.RecordedEvent event : jdk.jfr.consumer.RecordingFile.readAllEvents(file)) {
+                assertEquals(6, event.getInt("boardSize"), "Every event carries the board size.");
+                recorded.add(event.getEventType().getName());
+                if (event.getEventType().getName().equals("battlesweeper.MakeMove")) {
+                    assertNotNull(event.getString("outcome"), "Moves carry their outcome.");
+                }
+            }
+        } finally {
+            Files.delete(file);
+        }
+        assertTrue(recorded.containsAll(java.util.Set.of("battlesweeper.MakeMove", "battlesweeper.AllShipsSunk",
+                                                         "battlesweeper.Display", "battlesweeper.Placement",
+                                                         "battlesweeper.Reset")),
+                   "Every phase the game went through is recorded: " + recorded);
+    }
+
+    @Test
+    void testMoveValidatorFiltersBatches() throws Exception {
+        Grid<GameObject> grid = new Grid<>(4);
+        grid.setCell(0, 1, new Ship());
+        grid.revealAt(2 * 4 + 2);
+        grid.revealEmptyArea(3, 3);
+        MoveValidator shots = grid.shotValidator();
+
+        int[] xs = {-1, 0, 0, 2, 3, 4, 1};
+        int[] ys = {0, 0, 1, 2, 3, 0, 1};
+        boolean[] expected = new boolean[xs.length];
+        for (int i = 0; i < xs.length; i++) {
+            expected[i] = xs[i] >= 0 && xs[i] < 4 && ys[i] >= 0 && ys[i] < 4 && !grid.isRevealedAt(xs[i] * 4 + ys[i]);
+        }
+
+        int kept = shots.filterValid(xs, ys, xs.length);
+        int next = 0;
+        for (int i = 0; i < expected.length; i++) {
+            if (expected[i]) {
+                assertTrue(shots.isValidMove(xs[next], ys[next]), "Kept moves are valid, in their original order.");
+                next++;
+            }
+        }
+        assertEquals(next, kept, "Exactly the valid moves are kept.");
+        assertFalse(shots.isValidMove(4, 0), "Rules after the bounds check never see cells off the grid.");
+
+        int[] cells = {0, 1, 10, 5};
+        assertEquals(3, grid.placementValidator().filterValid(cells, cells.length, 4),
+                     "Only the ship's cell is occupied.");
+        assertArrayEquals(new int[] {0, 10, 5}, java.util.Arrays.copyOf(cells, 3), "Empty cells pass, in order.");
+
+        Player player = new Player("Tester", 4);
+        Exception offGrid = assertThrows(Exception.class, () -> player.placeObject(4, 0, new Ship()));
+        assertEquals("Coordinates out of bounds.", offGrid.getMessage());
+        player.placeObject(1, 1, new Ship());
+        Exception taken = assertThrows(Exception.class, () -> player.placeObject(1, 1, new Mine()));
+        assertEquals("Cell is already occupied.", taken.getMessage());
+    }
+
+    @Test
+    void testMineSolverSettlesWhatTheHintsProve() {
+        Grid<GameObject> grid = new Grid<>(3);
+        grid.setCell(0, 0, new Mine());
+        for (int i = 0; i < 9; i++) {
+            if (i != 0 && i != 1 && i != 3) {
+                grid.revealAt(i);
+            }
+        }
+
+        MineSolver.Solution solution = new MineSolver().solve(grid);
+        assertTrue(solution.isSafe(1) && solution.isSafe(3), "Cells next to a satisfied hint are safe.");
+        assertTrue(solution.isMine(0), "The last hidden cell of the centre hint must be its mine.");
+        assertEquals(2, solution.getSafeCount());
+        assertEquals(1, solution.getMineCount());
+        assertEquals(3, solution.nextSafe(2));
+
+        AIPlayer ai = new AIPlayer("AI", 3, 1, 10_000_000L, 7L);
+        ai.setOutput(new PrintStream(new ByteArrayOutputStream()));
+        assertNotEquals(0, ai.chooseTarget(grid), "The AI never fires at a proven mine.");
+    }
+
+    @Test
+    void testTournamentResumesFromItsLog() throws Exception {
+        Path dir = Files.createTempDirectory("tournament");
+        Tournament tournament = new Tournament(5, 2, 2);
+        tournament.add("bold", (name, size, mines, seed) -> new AIPlayer(name, size, 1, 1_000_000_000L, seed));
+        tournament.add("even", (name, size, mines, seed) -> new AIPlayer(name, size, mines, 1_000_000_000L, seed));
+        tournament.add("wary", (name, size, mines, seed) -> new AIPlayer(name, size, 8, 1_000_000_000L, seed));
+
+        Tournament.Standings whole = tournament.run(300, 5L, dir.resolve("whole.log"), null);
+
+        Path split = dir.resolve("split.log");
+        AtomicInteger rounds = new AtomicInteger();
+        tournament.run(100, 5L, split, standings -> rounds.incrementAndGet());
+        Files.write(split, "100 7 1".getBytes(), java.nio.file.StandardOpenOption.APPEND);  // An interrupted write
+        Tournament.Standings resumed = tournament.run(300, 5L, split, standings -> rounds.incrementAndGet());
+
+        assertEquals(2, rounds.get(), "The resumed run only plays the games the log does not hold.");
+        assertEquals(900L, resumed.getGames());
+        for (int i = 0; i < 3; i++) {
+            assertEquals(whole.elo(i), resumed.elo(i), 1e-9, "Game seeds do not depend on how the run was split.");
+            assertTrue(resumed.eloMargin(i) > 0 && resumed.glickoMargin(i) > 0);
+            for (int j = 0; j < 3; j++) {
+                assertEquals(whole.score(i, j), resumed.score(i, j));
+            }
+        }
+        assertEquals(1.0, whole.score(0, 1) + whole.score(1, 0), 1e-12);
+        assertThrows(java.io.IOException.class, () -> tournament.run(300, 6L, split, null),
+                     "A log from another tournament is not mixed in.");
+    }
+
+    @Test
+    void testLargeBoardIsDrawnAsWindowAroundLastShot() throws GameException {
+        Grid<GameObject> grid = new Grid<>(200);
+        grid.setCell(150, 60, new Ship());
+        grid.setViewport(10);
+        new HumanPlayer("Player", 200).shoot(grid, 150, 60);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        grid.display(false, new PrintStream(bytes));
+        String frame = bytes.toString();
+        assertTrue(frame.startsWith("Rows 145-154, columns 55-64 of 200\n"), "The window is centred on the shot.");
+        assertTrue(frame.contains(" 150 |   |   |   |   |   | S |"), "The hit ship is drawn in its row.");
+        assertFalse(frame.contains(" 144 |"), "Rows outside the window are not drawn.");
+        assertTrue(frame.contains(" |.S.....| <"), "The minimap marks the hit and the rows in view.");
+
+        bytes.reset();
+        grid.scrollViewport(-1000, 1000);
+        grid.display(false, new PrintStream(bytes));
+        assertTrue(bytes.toString().startsWith("Rows 0-9, columns 190-199 of 200\n"), "Scrolling stops at the edge.");
+    }
+
+    @Test
+    void testHumanPlayerScrollsLargeBoard() throws GameException {
+        // Test that w/a/s/d typed before a move scroll the window, and the move is still read after them
+        Grid<GameObject> grid = new Grid<>(200);
+        grid.setViewport(10);
+        HumanPlayer player = new HumanPlayer("Player", 200);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        player.setOutput(new PrintStream(bytes));
+        player.shoot(grid, 150, 60);
+
+        player.setMoveSource(new ScriptMoveSource("s d\n100 101".getBytes()));
+        player.makeMove(grid);
+        String output = bytes.toString();
+        assertTrue(output.contains("w/a/s/d"), "Scrolling is offered on a board larger than the view.");
+        assertTrue(output.contains("Rows 150-159, columns 55-64 of 200\n"), "s scrolls down half a window.");
+        assertTrue(output.contains("Rows 150-159, columns 60-69 of 200\n"), "d scrolls right half a window.");
+        assertTrue(grid.getCell(100, 101).isRevealed(), "The move typed after scrolling is fired.");
+
+        player.setMoveSource(new ScriptMoveSource("up 1".getBytes()));
+        assertThrows(java.util.InputMismatchException.class, () -> player.makeMove(grid), "Unknown keys are rejected.");
+    }
+
+    @Test
+    void testAIPlayerKeepsToBudgetOnHugeBoard() {
+        // Test that the first scoring pass stops at the deadline instead of reading the whole board
+        Grid<GameObject> grid = new Grid<>(2000);
+        for (int i = 0; i < 2000 * 2000; i += 7) {
+            grid.revealAt(i);
+        }
+        AIPlayer ai = new AIPlayer("AI", 2000, 3, 1_000_000L, 7L);
+        ai.chooseTarget(grid);  // Warm up
+
+        long start = System.nanoTime();
+        int target = ai.chooseTarget(grid);
+        long elapsed = System.nanoTime() - start;
+        assertFalse(grid.isRevealedAt(target), "The AI still picks a hidden cell.");
+        assertTrue(elapsed < 50_000_000L, "A 1 ms budget is not overrun by a full-board pass: " + elapsed);
+    }
+
+    @Test
+    void testGameReportsRealMoveErrors() {
+        // Test that an error in a move reaches the caller instead of being retried as a repeated shot
+        PrintStream silent = new PrintStream(new ByteArrayOutputStream());
+        Player broken = new AIPlayer("Broken", 5, 3, 1_000_000L, 1L) {
+            @Override
+            public MoveResult makeMove(final Board<GameObject> opponentBoard) throws GameException {
+                throw new GameException("Internal fault");
+            }
+        };
+        AIPlayer ai = new AIPlayer("AI", 5, 3, 1_000_000L, 2L);
+        broken.setOutput(silent);
+        ai.setOutput(silent);
+
+        GameException error = assertThrows(GameException.class, () -> new GameManager(broken, ai, silent).playGame());
+        assertEquals("Internal fault", error.getMessage());
+    }
+
+    @Test
+    void testServerPlaysOverLoopback() throws IOException, InterruptedException {
+        // Test that the server plays whole games over real sockets and forgets them once the client leaves
+        try (GameServer server = new GameServer(0, 5)) {
+            server.start();
+
+            try (Socket socket = new Socket("localhost", server.getPort());
+                 BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(),
+                                                                              StandardCharsets.US_ASCII));
+                 Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII)) {
+
+                assertTrue(in.readLine().startsWith("WELCOME 5 "), "The server greets with the grid size.");
+                assertEquals("TURN", in.readLine());
+                out.write("FIRE one two\n");
+                out.flush();
+                assertEquals("ERROR expected FIRE x y", in.readLine(), "Malformed moves are rejected.");
+                assertEquals("TURN", in.readLine(), "The move is asked for again.");
+
+                // Fire at every cell in order until the game ends
+                int next = 0;
+                String line = "TURN";
+                while (!line.equals("WIN") && !line.equals("LOSE")) {
+                    if (line.equals("TURN")) {
+                        out.write("FIRE " + next / 5 + " " + next % 5 + "\n");
+                        out.flush();
+                        next++;
+                    }
+                    line = in.readLine();
+                    assertNotNull(line, "The server ends the game before closing the connection.");
+                }
+            }
+            awaitNoActiveGames(server);
+            assertEquals(1, server.getFinishedGames(), "The finished game is counted.");
+
+            // A client that hangs up mid-game is dropped from the registry
+            try (Socket socket = new Socket("localhost", server.getPort());
+                 BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(),
+                                                                              StandardCharsets.US_ASCII))) {
+                assertTrue(in.readLine().startsWith("WELCOME "));
+                assertEquals(1, server.getActiveGames(), "The open game is registered.");
+            }
+            awaitNoActiveGames(server);
+
+            GameLoadClient.Report report = GameLoadClient.run("localhost", server.getPort(), 4, 11L);
+            assertEquals(0, report.failures(), "Every load client game completes.");
+            assertTrue(report.moves() > 0, "Load client moves are timed.");
+            awaitNoActiveGames(server);
+        }
+    }
+
+    /**
+     * Waits up to five seconds for the server to close every session.
+     */
+    private static void awaitNoActiveGames(final GameServer server) throws InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (server.getActiveGames() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(0, server.getActiveGames(), "Closed games leave the registry.");
+    }
 }